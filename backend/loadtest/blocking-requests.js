@@ -0,0 +1,52 @@
+// k6 load test for comparing the platform-thread and virtual-thread modes
+// (see "Virtual threads" in DOCUMENTATION.md). Every request here blocks a
+// request thread on JDBC, the path nearly every endpoint takes.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 loadtest/blocking-requests.js
+//
+// Run it once per mode against the same database and compare http_reqs/s and
+// the http_req_duration percentiles k6 prints at the end.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+  scenarios: {
+    blocking: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: Number(__ENV.VUS || 400) },
+        { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 400) },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+export function setup() {
+  const email = `loadtest-${Date.now()}@example.com`;
+  const res = http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+    email,
+    password: 'LoadTest123!',
+    firstName: 'Load',
+    lastName: 'Test',
+    role: 'USER',
+  }), { headers: { 'Content-Type': 'application/json' } });
+  check(res, { registered: (r) => r.status === 200 || r.status === 201 });
+  return { token: res.json('accessToken') };
+}
+
+export default function (data) {
+  const auth = { headers: { Authorization: `Bearer ${data.token}` } };
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/notifications/my?size=20`, null, auth],
+    ['GET', `${BASE_URL}/api/payments/my?size=20`, null, auth],
+    ['GET', `${BASE_URL}/api/public/categories`],
+  ]);
+  responses.forEach((r) => check(r, { ok: (res) => res.status === 200 }));
+}
@@ -5,6 +5,7 @@ import com.techiefinder.model.user.User;
 import com.techiefinder.model.user.UserProfile;
 import com.techiefinder.repository.technician.ServiceCategoryRepository;
 import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.messaging.MessagingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
@@ -26,6 +27,9 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MessagingService messagingService;
+
     @Value("${admin.default.email}")
     private String defaultAdminEmail;
 
@@ -36,6 +40,11 @@ public class DataInitializer implements CommandLineRunner {
     public void run(String... args) throws Exception {
         seedDefaultAdmin();
 
+        int backfilled = messagingService.backfillInboxColumns();
+        if (backfilled > 0) {
+            System.out.println("Backfilled inbox columns on " + backfilled + " conversation rows");
+        }
+
         if (serviceCategoryRepository.count() == 0) {
             List<ServiceCategory> categories = Arrays.asList(
                     ServiceCategory.builder()
@@ -0,0 +1,122 @@
+package com.techiefinder.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A circuit breaker per outbound host. After http.client.circuit.failure-threshold
+ * consecutive failures (an I/O error or a 5xx), calls to that host fail at once
+ * with CircuitOpenException -- which RestTemplate surfaces as a
+ * ResourceAccessException, a 503 to API clients -- instead of each waiting out
+ * the timeouts. After http.client.circuit.open-ms one trial call is let through;
+ * its success closes the circuit, its failure opens it again.
+ *
+ * Every host gets an http.client.circuit.open gauge (1 while open) and an
+ * http.client.circuit.rejected counter.
+ */
+public class HostCircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(HostCircuitBreakerInterceptor.class);
+
+    private final int failureThreshold;
+    private final long openMs;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public HostCircuitBreakerInterceptor(int failureThreshold, long openMs, MeterRegistry meterRegistry) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = openMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+        Circuit circuit = circuits.computeIfAbsent(host, this::newCircuit);
+        if (!circuit.tryAcquire(System.currentTimeMillis())) {
+            meterRegistry.counter("http.client.circuit.rejected", "host", host).increment();
+            throw new CircuitOpenException(host);
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            circuit.onFailure(host, System.currentTimeMillis());
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            circuit.onFailure(host, System.currentTimeMillis());
+        } else {
+            circuit.onSuccess();
+        }
+        return response;
+    }
+
+    /** Whether calls to the host are currently being refused. */
+    public boolean isOpen(String host) {
+        Circuit circuit = circuits.get(host);
+        return circuit != null && circuit.isOpen(System.currentTimeMillis());
+    }
+
+    private Circuit newCircuit(String host) {
+        Circuit circuit = new Circuit();
+        meterRegistry.gauge("http.client.circuit.open", Tags.of("host", host), circuit,
+                c -> c.isOpen(System.currentTimeMillis()) ? 1 : 0);
+        return circuit;
+    }
+
+    public static class CircuitOpenException extends IOException {
+        public CircuitOpenException(String host) {
+            super("Circuit open for " + host + " after repeated failures");
+        }
+    }
+
+    private final class Circuit {
+        private int consecutiveFailures;
+        private long openUntilMs;
+        private boolean trialInFlight;
+
+        private synchronized boolean tryAcquire(long now) {
+            if (consecutiveFailures < failureThreshold) {
+                return true;
+            }
+            if (now < openUntilMs || trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+
+        private synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        private synchronized void onFailure(String host, long now) {
+            consecutiveFailures++;
+            trialInFlight = false;
+            if (consecutiveFailures >= failureThreshold) {
+                if (consecutiveFailures == failureThreshold) {
+                    log.warn("Opening circuit for {} after {} consecutive failures", host, consecutiveFailures);
+                }
+                openUntilMs = now + openMs;
+            }
+        }
+
+        private synchronized boolean isOpen(long now) {
+            return consecutiveFailures >= failureThreshold && (now < openUntilMs || trialInFlight);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.techiefinder.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves each entity's id sequence past the ids already in its table, before
+ * the application serves anything. Tables that predate pooled sequences got
+ * their ids from AUTO_INCREMENT, and on MySQL the schema update creates each
+ * sequence's table (bookings_seq, ...) starting at 1 -- handing those ids out
+ * again would collide with existing rows.
+ *
+ * Only table-backed sequences (MySQL) are touched, and only ever raised: one
+ * "UPDATE ... WHERE next_val < ?" per table, which is a no-op on every start
+ * after the first and safe with several instances starting at once. Native
+ * sequences (H2 here) are created with the schema and need nothing.
+ */
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignAll() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .forEachEntityDescriptor(persister -> {
+                    if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                            && persister instanceof AbstractEntityPersister entityPersister) {
+                        DatabaseStructure structure = generator.getDatabaseStructure();
+                        if (!structure.isPhysicalSequence()) {
+                            align(structure.getPhysicalName().render(), entityPersister.getRootTableName());
+                        }
+                    }
+                });
+    }
+
+    /** Raises sequenceTable's next value above the largest id in entityTable; returns the new value, or 0 if unchanged. */
+    long align(String sequenceTable, String entityTable) {
+        long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + entityTable, Long.class);
+        String valueColumn = SequenceStyleGenerator.DEF_VALUE_COLUMN;
+        int raised = jdbcTemplate.update(
+                "UPDATE " + sequenceTable + " SET " + valueColumn + " = ? WHERE " + valueColumn + " < ?", next, next);
+        if (raised == 0) {
+            Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + sequenceTable, Long.class);
+            if (rows == null || rows > 0) {
+                return 0;
+            }
+            jdbcTemplate.update("INSERT INTO " + sequenceTable + " (" + valueColumn + ") VALUES (?)", next);
+        }
+        log.info("Id sequence {} now starts at {}, past the ids already in {}", sequenceTable, next, entityTable);
+        return next;
+    }
+}
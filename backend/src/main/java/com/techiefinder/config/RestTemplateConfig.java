@@ -1,20 +1,92 @@
 package com.techiefinder.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
+/**
+ * The one RestTemplate every outbound integration (Paystack, Flutterwave,
+ * Termii) shares. It runs on a pool of keep-alive connections, capped overall
+ * and per host, so repeat calls skip the TCP/TLS handshake and one provider
+ * can't take every connection. Waiting for a free connection is bounded by
+ * http.client.pool-wait-ms, and HostCircuitBreakerInterceptor fails calls to a
+ * host that keeps failing straight away: a provider brownout costs a request
+ * thread milliseconds, not the full connect + read timeout.
+ *
+ * Latency per provider is recorded by Spring Boot's RestTemplate observation as
+ * the http.client.requests metric, tagged client.name=host.
+ */
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${http.client.max-total:50}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:10}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${http.client.pool-wait-ms:1000}")
+    private long poolWaitMs;
+
+    @Value("${http.client.idle-timeout-ms:30000}")
+    private long idleTimeoutMs;
+
+    @Value("${http.client.circuit.failure-threshold:5}")
+    private int circuitFailureThreshold;
+
+    @Value("${http.client.circuit.open-ms:30000}")
+    private long circuitOpenMs;
+
+    @Bean
+    public CloseableHttpClient outboundHttpClient() {
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxTotal)
+                        .setMaxConnPerRoute(maxPerRoute)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                                // Re-check a pooled connection the provider may have dropped.
+                                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeoutMs))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public HostCircuitBreakerInterceptor hostCircuitBreakerInterceptor(MeterRegistry meterRegistry) {
+        return new HostCircuitBreakerInterceptor(circuitFailureThreshold, circuitOpenMs, meterRegistry);
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient,
+                                     HostCircuitBreakerInterceptor hostCircuitBreakerInterceptor) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(10))
-                .setReadTimeout(Duration.ofSeconds(15))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .additionalInterceptors(hostCircuitBreakerInterceptor)
                 .build();
     }
 }
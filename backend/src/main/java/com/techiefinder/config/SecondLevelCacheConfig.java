@@ -0,0 +1,112 @@
+package com.techiefinder.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate's second-level cache, in process on Caffeine through JCache, for
+ * what is read far more often than it's written: service categories (fixed
+ * once DataInitializer has seeded them) in the "reference" region, technicians
+ * and their offerings in "technicians", and the results of the repository
+ * queries marked cacheable (the category list and slug lookup, category
+ * search, the technician profile and offerings reads).
+ *
+ * Each region is created here with its own bound and time-to-live
+ * (cache.second-level.*), and Hibernate fails at startup on an entity or query
+ * naming a region that isn't -- nothing ends up in an unbounded default. Writes
+ * through Hibernate keep the cache right: a saved entity replaces its entry,
+ * and any insert, update or delete on a table (bulk JPQL included) drops the
+ * cached query results that read it. Another instance's writes are only seen
+ * once the entries expire, so the TTLs are the staleness bound when scaled out.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${cache.second-level.reference.max-entries:1000}")
+    private long referenceMaxEntries;
+
+    @Value("${cache.second-level.reference.ttl-seconds:3600}")
+    private long referenceTtlSeconds;
+
+    @Value("${cache.second-level.technicians.max-entries:20000}")
+    private long technicianMaxEntries;
+
+    @Value("${cache.second-level.technicians.ttl-seconds:300}")
+    private long technicianTtlSeconds;
+
+    @Value("${cache.second-level.queries.max-entries:5000}")
+    private long queryMaxEntries;
+
+    @Value("${cache.second-level.queries.ttl-seconds:60}")
+    private long queryTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "cache.second-level.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager secondLevelCacheManager() {
+        // A manager of this context's own: the provider's default one is shared
+        // JVM-wide, and would serve one context rows cached from another's database.
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("techiefinder:second-level:" + UUID.randomUUID()),
+                        getClass().getClassLoader());
+        cacheManager.createCache("reference", bounded(referenceMaxEntries, referenceTtlSeconds));
+        cacheManager.createCache("technicians", bounded(technicianMaxEntries, technicianTtlSeconds));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(queryMaxEntries, queryTtlSeconds));
+        // Hibernate checks cached query results against these last-write times, so
+        // they must outlive every result: never evicted, never expired.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new MutableConfiguration<>().setStoreByValue(false));
+        return cacheManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.second-level.enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Switched off, it has to be said explicitly: with hibernate-jcache on the
+    // classpath Hibernate otherwise picks JCache by itself and fills unbounded
+    // default caches for every @Cache entity.
+    @Bean
+    @ConditionalOnProperty(name = "cache.second-level.enabled", havingValue = "false")
+    public HibernatePropertiesCustomizer secondLevelCacheDisabled() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate only ever caches its own immutable disassembled state, so the
+        // JCache default of copying each entry (by Java serialization) on every put
+        // and get would buy nothing.
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return configuration;
+    }
+}
@@ -1,6 +1,8 @@
 package com.techiefinder.config;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -64,6 +66,9 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // A finished SSE stream is re-dispatched without its bearer token; the
+                        // original request was already authorized.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/auth/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/api/public/**")).permitAll()
                         .requestMatchers(new AntPathRequestMatcher("/h2-console/**")).permitAll()
@@ -103,6 +108,8 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList(corsAllowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        // Browsers hide non-standard response headers from scripts unless exposed.
+        configuration.setExposedHeaders(List.of(CursorPageResponse.NEXT_CURSOR_HEADER, CursorPageResponse.HAS_MORE_HEADER));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,95 @@
+package com.techiefinder.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode (spring.threads.virtual.enabled=true, the switch
+ * Spring Boot 3.2 itself uses): on JDK 21+, Tomcat runs each request on its own
+ * virtual thread instead of a pooled platform thread, and so does @Async work.
+ * A request blocked on JDBC or a payment/SMS call then parks its virtual
+ * thread rather than holding one of server.tomcat.threads.max, so that pool
+ * stops being the ceiling on concurrent checkouts (the JDBC pool and
+ * http.client.max-per-route still are, deliberately).
+ *
+ * The code is compiled for Java 17, so the JDK 21 factory is looked up
+ * reflectively. On an older JDK the switch only logs that it is ignored.
+ * VirtualThreadPinningMonitor reports carrier-thread pinning while it's on.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /** Whether this JVM can create virtual threads (JDK 21+). */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or later", e);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+    static class Enabled {
+
+        @Value("${spring.threads.virtual.pinned-threshold-ms:20}")
+        private long pinnedThresholdMs;
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+            log.info("Serving requests on virtual threads");
+            return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+        }
+
+        // Takes the place of Boot's pooled applicationTaskExecutor for @Async.
+        @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+        public AsyncTaskExecutor applicationTaskExecutor() {
+            return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+        }
+
+        @Bean
+        public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+            return new VirtualThreadPinningMonitor(pinnedThresholdMs, meterRegistry);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+    static class Unsupported {
+
+        @PostConstruct
+        void warn() {
+            log.warn("spring.threads.virtual.enabled is set but this JVM ({}) has no virtual threads; "
+                    + "staying on platform threads", System.getProperty("java.version"));
+        }
+    }
+}
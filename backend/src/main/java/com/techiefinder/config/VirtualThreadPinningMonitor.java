@@ -0,0 +1,103 @@
+package com.techiefinder.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier -- blocking inside a
+ * synchronized block or a native frame -- for longer than
+ * spring.threads.virtual.pinned-threshold-ms, from the JDK's own
+ * jdk.VirtualThreadPinned JFR event streamed in-process. A pinned virtual
+ * thread holds a carrier (there are only as many as CPU cores) for the whole
+ * block, so a few of them on a hot path quietly bring back the old thread
+ * ceiling.
+ *
+ * Each pinning site (the first frame in our own code, else the top frame) is
+ * logged with its stack the first time it is seen and counted in
+ * jvm.threads.virtual.pinned (tagged site) every time.
+ */
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.techiefinder.";
+
+    private final long thresholdMs;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LongAdder> pinsBySite = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(long thresholdMs, MeterRegistry meterRegistry) {
+        this.thresholdMs = thresholdMs;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for over {} ms", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /** How often each site has pinned a carrier since startup. */
+    public Map<String, Long> getPinsBySite() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        pinsBySite.forEach((site, count) -> counts.put(site, count.sum()));
+        return counts;
+    }
+
+    void report(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = siteOf(frames);
+        meterRegistry.counter("jvm.threads.virtual.pinned", "site", site).increment();
+
+        LongAdder seen = pinsBySite.putIfAbsent(site, new LongAdder());
+        pinsBySite.get(site).increment();
+        if (seen == null) {
+            RecordedThread thread = event.getThread();
+            StringBuilder stack = new StringBuilder();
+            for (int i = 0; i < Math.min(frames.size(), 12); i++) {
+                stack.append("\n\tat ").append(describe(frames.get(i)));
+            }
+            log.warn("Virtual thread {} pinned its carrier for {} ms at {} (further pins here are only counted):{}",
+                    thread != null ? thread.getJavaName() : "?", event.getDuration().toMillis(), site, stack);
+        }
+    }
+
+    static String siteOf(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
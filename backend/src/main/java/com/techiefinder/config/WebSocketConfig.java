@@ -0,0 +1,84 @@
+package com.techiefinder.config;
+
+import com.techiefinder.security.StompAuthChannelInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.messaging.StompSubProtocolErrorHandler;
+
+/**
+ * STOMP over a plain WebSocket at /ws (no SockJS fallback; browsers and React
+ * Native both speak WebSocket). Clients subscribe to
+ * /topic/conversations/{id} for an open chat and /user/queue/unread for their
+ * counters; MessagingService publishes through ChatEventPublisher. The broker
+ * is Spring's in-memory one, which is enough for a single instance.
+ *
+ * Heartbeats every 10s in both directions let the broker notice dead mobile
+ * connections, so their sessions drop out of ChatSessionRegistry.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+    private static final long HEARTBEAT_MS = 10_000;
+
+    @Value("${cors.allowed.origins}")
+    private String corsAllowedOrigins;
+
+    @Autowired
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Autowired
+    @Lazy
+    @Qualifier("messageBrokerTaskScheduler")
+    private TaskScheduler messageBrokerTaskScheduler;
+
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws").setAllowedOriginPatterns(corsAllowedOrigins.split(","));
+        registry.setErrorHandler(new AccessDeniedErrorHandler());
+    }
+
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic", "/queue")
+                .setHeartbeatValue(new long[]{HEARTBEAT_MS, HEARTBEAT_MS})
+                .setTaskScheduler(messageBrokerTaskScheduler);
+        registry.setApplicationDestinationPrefixes(StompAuthChannelInterceptor.APPLICATION_PREFIX);
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(stompAuthChannelInterceptor);
+    }
+
+    // The broker registers its own TaskScheduler, which would otherwise stop Boot
+    // creating this one and leave @Scheduled jobs running on the broker's threads.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(TaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    // The interceptor's SecurityException arrives wrapped in a MessageDeliveryException;
+    // put its own message in the ERROR frame so clients can tell why they were refused.
+    private static class AccessDeniedErrorHandler extends StompSubProtocolErrorHandler {
+        @Override
+        public Message<byte[]> handleClientMessageProcessingError(Message<byte[]> clientMessage, Throwable ex) {
+            Throwable reason = ex.getCause() instanceof SecurityException ? ex.getCause() : ex;
+            return super.handleClientMessageProcessingError(clientMessage, reason);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.techiefinder.controller.admin;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.dto.admin.AdminStatsDto;
 import com.techiefinder.dto.admin.CertificationVerificationUpdateRequest;
+import com.techiefinder.dto.admin.MetricPointDto;
 import com.techiefinder.dto.admin.TechnicianVerificationUpdateRequest;
 import com.techiefinder.dto.admin.UserStatusUpdateRequest;
 import com.techiefinder.dto.booking.BookingDto;
@@ -9,6 +11,8 @@ import com.techiefinder.dto.rating.RatingDto;
 import com.techiefinder.dto.technician.TechnicianCertificationDto;
 import com.techiefinder.dto.technician.TechnicianDto;
 import com.techiefinder.dto.user.UserDto;
+import com.techiefinder.model.admin.MetricRollup;
+import com.techiefinder.service.admin.AdminMetricsService;
 import com.techiefinder.service.admin.AdminStatsService;
 import com.techiefinder.service.booking.BookingService;
 import com.techiefinder.service.rating.RatingService;
@@ -17,10 +21,12 @@ import com.techiefinder.service.technician.TechnicianCertificationService;
 import com.techiefinder.service.user.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -35,6 +41,9 @@ public class AdminController {
     @Autowired
     private AdminStatsService adminStatsService;
 
+    @Autowired
+    private AdminMetricsService adminMetricsService;
+
     @Autowired
     private UserService userService;
 
@@ -55,9 +64,19 @@ public class AdminController {
         return ResponseEntity.ok(adminStatsService.getStats());
     }
 
+    @GetMapping("/metrics/timeseries")
+    public ResponseEntity<List<MetricPointDto>> getMetricTimeSeries(
+            @RequestParam MetricRollup.Metric metric,
+            @RequestParam(defaultValue = "DAY") MetricRollup.Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(adminMetricsService.getTimeSeries(metric, granularity, from, to));
+    }
+
     @GetMapping("/users")
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(userService.getAllUsers(cursor, size));
     }
 
     @PatchMapping("/users/{id}/status")
@@ -66,8 +85,9 @@ public class AdminController {
     }
 
     @GetMapping("/technicians")
-    public ResponseEntity<List<TechnicianDto>> getAllTechnicians() {
-        return ResponseEntity.ok(technicianAccountService.getAllTechnicians());
+    public ResponseEntity<List<TechnicianDto>> getAllTechnicians(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(technicianAccountService.getAllTechnicians(cursor, size));
     }
 
     @PatchMapping("/technicians/{id}/verification")
@@ -77,13 +97,15 @@ public class AdminController {
     }
 
     @GetMapping("/bookings")
-    public ResponseEntity<List<BookingDto>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<List<BookingDto>> getAllBookings(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(bookingService.getAllBookings(cursor, size));
     }
 
     @GetMapping("/ratings")
-    public ResponseEntity<List<RatingDto>> getAllRatings() {
-        return ResponseEntity.ok(ratingService.getAllRatings());
+    public ResponseEntity<List<RatingDto>> getAllRatings(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(ratingService.getAllRatings(cursor, size));
     }
 
     @DeleteMapping("/ratings/{id}")
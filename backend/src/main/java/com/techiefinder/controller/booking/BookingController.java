@@ -1,5 +1,6 @@
 package com.techiefinder.controller.booking;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.dto.booking.BookingDto;
 import com.techiefinder.dto.booking.BookingRequest;
 import com.techiefinder.dto.booking.BookingStatusUpdateRequest;
@@ -33,13 +34,17 @@ public class BookingController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<BookingDto>> getMyBookings(@AuthenticationPrincipal CustomUserDetails principal) {
-        return ResponseEntity.ok(bookingService.getMyBookings(principal.getId()));
+    public ResponseEntity<List<BookingDto>> getMyBookings(@AuthenticationPrincipal CustomUserDetails principal,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(bookingService.getMyBookings(principal.getId(), cursor, size));
     }
 
     @GetMapping("/technician/my")
-    public ResponseEntity<List<BookingDto>> getMyTechnicianBookings(@AuthenticationPrincipal CustomUserDetails principal) {
-        return ResponseEntity.ok(bookingService.getMyTechnicianBookings(principal.getId()));
+    public ResponseEntity<List<BookingDto>> getMyTechnicianBookings(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(bookingService.getMyTechnicianBookings(principal.getId(), cursor, size));
     }
 
     @PatchMapping("/{id}/status")
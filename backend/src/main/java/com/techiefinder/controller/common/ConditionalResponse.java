@@ -0,0 +1,24 @@
+package com.techiefinder.controller.common;
+
+import com.techiefinder.service.technician.PublicResponseCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Public read endpoints answer with the cached body and its ETag, and
+ * "Cache-Control: no-cache" so clients keep the copy but check it each time.
+ * Spring compares the ETag with the request's If-None-Match itself and sends
+ * a bodiless 304 when the client's copy is still current.
+ */
+public final class ConditionalResponse {
+
+    private ConditionalResponse() {
+    }
+
+    public static <T> ResponseEntity<T> ok(PublicResponseCache.Entry<T> entry) {
+        return ResponseEntity.ok()
+                .eTag(entry.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(entry.getBody());
+    }
+}
@@ -0,0 +1,41 @@
+package com.techiefinder.controller.common;
+
+import com.techiefinder.dto.common.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Paginated list endpoints keep returning a plain JSON array -- what the web
+ * and mobile clients already consume -- and carry the cursor for the next page
+ * in the X-Next-Cursor header, which is absent on the last page.
+ */
+public final class CursorPageResponse {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String HAS_MORE_HEADER = "X-Has-More";
+
+    private CursorPageResponse() {
+    }
+
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * For "newer than id" sync pages, where the client already knows where to
+     * continue (after the last item), so only whether to is sent: X-Has-More:
+     * true when the page was cut off at its size.
+     */
+    public static <T> ResponseEntity<List<T>> okIncremental(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(HAS_MORE_HEADER, "true");
+        }
+        return response.body(page.getItems());
+    }
+}
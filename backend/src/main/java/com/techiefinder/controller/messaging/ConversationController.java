@@ -1,8 +1,10 @@
 package com.techiefinder.controller.messaging;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.dto.messaging.ConversationDto;
 import com.techiefinder.dto.messaging.MessageDto;
 import com.techiefinder.dto.messaging.MessageRequest;
+import com.techiefinder.exception.ValidationException;
 import com.techiefinder.security.CustomUserDetails;
 import com.techiefinder.service.messaging.MessagingService;
 import jakarta.validation.Valid;
@@ -21,8 +23,10 @@ public class ConversationController {
     private MessagingService messagingService;
 
     @GetMapping("/my")
-    public ResponseEntity<List<ConversationDto>> getMyConversations(@AuthenticationPrincipal CustomUserDetails principal) {
-        return ResponseEntity.ok(messagingService.getMyConversations(principal.getId()));
+    public ResponseEntity<List<ConversationDto>> getMyConversations(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(messagingService.getMyConversations(principal.getId(), cursor, size));
     }
 
     @PostMapping("/with-technician/{technicianId}")
@@ -33,8 +37,17 @@ public class ConversationController {
 
     @GetMapping("/{id}/messages")
     public ResponseEntity<List<MessageDto>> getMessages(@AuthenticationPrincipal CustomUserDetails principal,
-                                                          @PathVariable Long id) {
-        return ResponseEntity.ok(messagingService.getMessages(id, principal.getId()));
+                                                          @PathVariable Long id,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer size) {
+        if (after != null) {
+            if (cursor != null) {
+                throw new ValidationException("Use either cursor or after, not both");
+            }
+            return CursorPageResponse.okIncremental(messagingService.getMessagesAfter(id, principal.getId(), after, size));
+        }
+        return CursorPageResponse.ok(messagingService.getMessages(id, principal.getId(), cursor, size));
     }
 
     @PostMapping("/{id}/messages")
@@ -43,4 +56,12 @@ public class ConversationController {
                                                     @Valid @RequestBody MessageRequest request) {
         return ResponseEntity.ok(messagingService.sendMessage(id, principal.getId(), request.getContent()));
     }
+
+    @PatchMapping("/{id}/read")
+    public ResponseEntity<Void> markRead(@AuthenticationPrincipal CustomUserDetails principal,
+                                         @PathVariable Long id,
+                                         @RequestParam(required = false) Long upTo) {
+        messagingService.markConversationRead(id, principal.getId(), upTo);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,12 +1,15 @@
 package com.techiefinder.controller.notification;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.dto.notification.NotificationDto;
 import com.techiefinder.security.CustomUserDetails;
 import com.techiefinder.service.notification.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -19,8 +22,19 @@ public class NotificationController {
     private NotificationService notificationService;
 
     @GetMapping("/my")
-    public ResponseEntity<List<NotificationDto>> getMyNotifications(@AuthenticationPrincipal CustomUserDetails principal) {
-        return ResponseEntity.ok(notificationService.getMyNotifications(principal.getId()));
+    public ResponseEntity<List<NotificationDto>> getMyNotifications(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(notificationService.getMyNotifications(principal.getId(), cursor, size));
+    }
+
+    /**
+     * Server-sent events: "notification" for each new notification and
+     * "unread-count" when the count changes (and once on connect).
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal CustomUserDetails principal) {
+        return notificationService.openStream(principal.getId());
     }
 
     @GetMapping("/my/unread-count")
@@ -28,6 +42,15 @@ public class NotificationController {
         return ResponseEntity.ok(Map.of("unreadCount", notificationService.getUnreadCount(principal.getId())));
     }
 
+    /** Marks all, or with upTo everything up to that notification, read in one go. */
+    @PatchMapping("/my/read")
+    public ResponseEntity<Map<String, Long>> markAllRead(@AuthenticationPrincipal CustomUserDetails principal,
+                                                         @RequestParam(required = false) Long upTo) {
+        long marked = notificationService.markAllRead(principal.getId(), upTo);
+        return ResponseEntity.ok(Map.of("marked", marked,
+                "unreadCount", notificationService.getUnreadCount(principal.getId())));
+    }
+
     @PatchMapping("/{id}/read")
     public ResponseEntity<NotificationDto> markRead(@AuthenticationPrincipal CustomUserDetails principal,
                                                       @PathVariable Long id) {
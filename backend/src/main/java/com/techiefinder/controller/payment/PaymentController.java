@@ -1,5 +1,6 @@
 package com.techiefinder.controller.payment;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.dto.payment.PaymentDto;
 import com.techiefinder.model.payment.Payment;
 import com.techiefinder.security.CustomUserDetails;
@@ -25,8 +26,10 @@ public class PaymentController {
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<PaymentDto>> getMyPayments(@AuthenticationPrincipal CustomUserDetails principal) {
-        return ResponseEntity.ok(paymentService.getMyPayments(principal.getId()));
+    public ResponseEntity<List<PaymentDto>> getMyPayments(@AuthenticationPrincipal CustomUserDetails principal,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(paymentService.getMyPayments(principal.getId(), cursor, size));
     }
 
     @GetMapping("/verify/{reference}")
@@ -1,8 +1,10 @@
 package com.techiefinder.controller.publicapi;
 
+import com.techiefinder.controller.common.ConditionalResponse;
 import com.techiefinder.dto.technician.ServiceCategoryDto;
 import com.techiefinder.model.technician.ServiceCategory;
 import com.techiefinder.repository.technician.ServiceCategoryRepository;
+import com.techiefinder.service.technician.PublicResponseCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,9 @@ public class PublicController {
     @Autowired
     private ServiceCategoryRepository serviceCategoryRepository;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("TechieFinder API is running");
@@ -24,11 +29,11 @@ public class PublicController {
 
     @GetMapping("/categories")
     public ResponseEntity<List<ServiceCategoryDto>> getAllCategories() {
-        List<ServiceCategoryDto> categories = serviceCategoryRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(categories);
+        return ConditionalResponse.ok(responseCache.get(PublicResponseCache.Resource.CATEGORIES, null,
+                () -> serviceCategoryRepository.findAll()
+                        .stream()
+                        .map(this::mapToDto)
+                        .collect(Collectors.toList())));
     }
 
     private ServiceCategoryDto mapToDto(ServiceCategory category) {
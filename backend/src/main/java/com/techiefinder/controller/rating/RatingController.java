@@ -1,5 +1,6 @@
 package com.techiefinder.controller.rating;
 
+import com.techiefinder.controller.common.CursorPageResponse;
 import com.techiefinder.dto.rating.RatingDto;
 import com.techiefinder.dto.rating.RatingRequest;
 import com.techiefinder.security.CustomUserDetails;
@@ -26,7 +27,9 @@ public class RatingController {
     }
 
     @GetMapping("/technician/{technicianId}")
-    public ResponseEntity<List<RatingDto>> getTechnicianRatings(@PathVariable Long technicianId) {
-        return ResponseEntity.ok(ratingService.getTechnicianRatings(technicianId));
+    public ResponseEntity<List<RatingDto>> getTechnicianRatings(@PathVariable Long technicianId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        return CursorPageResponse.ok(ratingService.getTechnicianRatings(technicianId, cursor, size));
     }
 }
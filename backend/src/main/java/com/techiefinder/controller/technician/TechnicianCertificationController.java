@@ -1,7 +1,9 @@
 package com.techiefinder.controller.technician;
 
+import com.techiefinder.controller.common.ConditionalResponse;
 import com.techiefinder.dto.technician.TechnicianCertificationDto;
 import com.techiefinder.security.CustomUserDetails;
+import com.techiefinder.service.technician.PublicResponseCache;
 import com.techiefinder.service.technician.TechnicianCertificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -21,6 +23,9 @@ public class TechnicianCertificationController {
     @Autowired
     private TechnicianCertificationService certificationService;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @PostMapping(value = "/me/certifications", consumes = "multipart/form-data")
     @PreAuthorize("hasRole('TECHNICIAN')")
     public ResponseEntity<TechnicianCertificationDto> addCertification(
@@ -45,6 +50,7 @@ public class TechnicianCertificationController {
 
     @GetMapping("/{id}/certifications")
     public ResponseEntity<List<TechnicianCertificationDto>> getCertifications(@PathVariable Long id) {
-        return ResponseEntity.ok(certificationService.getCertificationsForTechnician(id));
+        return ConditionalResponse.ok(responseCache.get(PublicResponseCache.Resource.CERTIFICATIONS, id,
+                () -> certificationService.getCertificationsForTechnician(id)));
     }
 }
@@ -1,11 +1,13 @@
 package com.techiefinder.controller.technician;
 
+import com.techiefinder.controller.common.ConditionalResponse;
 import com.techiefinder.dto.technician.ServiceOfferingDto;
 import com.techiefinder.dto.technician.ServiceOfferingRequest;
 import com.techiefinder.dto.technician.TechnicianDto;
 import com.techiefinder.dto.technician.TechnicianLocationDto;
 import com.techiefinder.dto.technician.TechnicianLocationRequest;
 import com.techiefinder.security.CustomUserDetails;
+import com.techiefinder.service.technician.PublicResponseCache;
 import com.techiefinder.service.technician.ServiceOfferingService;
 import com.techiefinder.service.technician.TechnicianAccountService;
 import com.techiefinder.service.technician.TechnicianRecommendationService;
@@ -31,6 +33,9 @@ public class TechnicianController {
     @Autowired
     private TechnicianRecommendationService technicianRecommendationService;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @PostMapping("/create/{userId}")
     @PreAuthorize("hasAnyRole('TECHNICIAN', 'ADMIN')")
     public ResponseEntity<TechnicianDto> createTechnician(@PathVariable Long userId) {
@@ -52,21 +57,26 @@ public class TechnicianController {
 
     @GetMapping("/{id}")
     public ResponseEntity<TechnicianDto> getTechnicianById(@PathVariable Long id) {
-        return ResponseEntity.ok(technicianAccountService.getTechnicianById(id));
+        return ConditionalResponse.ok(responseCache.get(PublicResponseCache.Resource.TECHNICIAN, id,
+                () -> technicianAccountService.getTechnicianById(id)));
     }
 
+    /** With `limit`, only the highest-rated `limit` technicians, best first. */
     @GetMapping("/available")
     public ResponseEntity<List<TechnicianDto>> getAvailableTechnicians(
-            @RequestParam(required = false) String category) {
-        return ResponseEntity.ok(technicianAccountService.searchAvailableTechnicians(category));
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(technicianAccountService.searchAvailableTechnicians(category, limit));
     }
 
+    /** Nearest first; with `limit`, only the nearest `limit` technicians. */
     @GetMapping("/nearby")
     public ResponseEntity<List<TechnicianDto>> getNearbyTechnicians(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "15") Double radiusKm) {
-        return ResponseEntity.ok(technicianAccountService.findNearby(latitude, longitude, radiusKm));
+            @RequestParam(defaultValue = "15") Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(technicianAccountService.findNearby(latitude, longitude, radiusKm, limit));
     }
 
     /**
@@ -101,6 +111,7 @@ public class TechnicianController {
 
     @GetMapping("/{id}/services")
     public ResponseEntity<List<ServiceOfferingDto>> getServiceOfferings(@PathVariable Long id) {
-        return ResponseEntity.ok(serviceOfferingService.getOfferingsForTechnician(id));
+        return ConditionalResponse.ok(responseCache.get(PublicResponseCache.Resource.OFFERINGS, id,
+                () -> serviceOfferingService.getOfferingsForTechnician(id)));
     }
 }
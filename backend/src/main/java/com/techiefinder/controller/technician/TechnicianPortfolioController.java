@@ -1,7 +1,9 @@
 package com.techiefinder.controller.technician;
 
+import com.techiefinder.controller.common.ConditionalResponse;
 import com.techiefinder.dto.technician.TechnicianPortfolioDto;
 import com.techiefinder.security.CustomUserDetails;
+import com.techiefinder.service.technician.PublicResponseCache;
 import com.techiefinder.service.technician.TechnicianPortfolioService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +21,9 @@ public class TechnicianPortfolioController {
     @Autowired
     private TechnicianPortfolioService portfolioService;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @PostMapping(value = "/me/portfolio", consumes = "multipart/form-data")
     @PreAuthorize("hasRole('TECHNICIAN')")
     public ResponseEntity<TechnicianPortfolioDto> addPortfolioItem(@AuthenticationPrincipal CustomUserDetails principal,
@@ -38,6 +43,7 @@ public class TechnicianPortfolioController {
 
     @GetMapping("/{id}/portfolio")
     public ResponseEntity<List<TechnicianPortfolioDto>> getPortfolio(@PathVariable Long id) {
-        return ResponseEntity.ok(portfolioService.getPortfolioForTechnician(id));
+        return ConditionalResponse.ok(responseCache.get(PublicResponseCache.Resource.PORTFOLIO, id,
+                () -> portfolioService.getPortfolioForTechnician(id)));
     }
 }
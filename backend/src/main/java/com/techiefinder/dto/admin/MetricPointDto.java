@@ -0,0 +1,17 @@
+package com.techiefinder.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricPointDto {
+    private LocalDateTime bucketStart;
+    private long count;
+    private BigDecimal amount;
+}
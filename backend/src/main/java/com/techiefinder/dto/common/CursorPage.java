@@ -0,0 +1,180 @@
+package com.techiefinder.dto.common;
+
+import com.techiefinder.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list, newest first. The cursor is an opaque
+ * token for the last row's position, and the next page is everything before
+ * it, which the database answers by seeking into an index rather than counting
+ * past an OFFSET, and which can't skip or repeat rows when new ones are
+ * inserted between requests.
+ *
+ * The position is the row's (createdAt, id) -- the (owner, createdAt, id)
+ * index -- for tables with pooled-sequence ids, since those don't follow
+ * creation order across instances (see BaseEntity); id only breaks ties. Lists
+ * of insert-ordered rows (see InsertOrderedEntity) page on the id alone, and
+ * lists ordered by some other number that rows can share on (sort key, id).
+ *
+ * Services fetch size + 1 rows (see pageRequest) so of() can tell whether
+ * another page exists without a separate count query.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    // After every row, for the first page; still within MySQL's DATETIME range.
+    private static final Position FIRST = new Position(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+    private static final KeyPosition FIRST_BY_KEY = new KeyPosition(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final List<T> items;
+    /** Null on the last page. */
+    private final String nextCursor;
+
+    /** The requested page size, defaulted and capped. */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_SIZE;
+        }
+        if (requested < 1) {
+            throw new ValidationException("size must be at least 1");
+        }
+        return Math.min(requested, MAX_SIZE);
+    }
+
+    /** The exclusive upper bound on id for the requested page; Long.MAX_VALUE for the first. */
+    public static long idBefore(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    /** Where the requested page of a (createdAt, id)-ordered list starts, exclusive; after every row for the first. */
+    public static Position positionBefore(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String[] parts = splitPosition(cursor);
+            return new Position(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    /** Same, for a list ordered by a numeric sort key that rows can share, then id. */
+    public static KeyPosition keyPositionBefore(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_BY_KEY;
+        }
+        try {
+            String[] parts = splitPosition(cursor);
+            return new KeyPosition(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    // The decoded cursor split at its last '_' into the sort key and the id.
+    private static String[] splitPosition(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = decoded.lastIndexOf('_');
+        if (separator < 0) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return new String[] {decoded.substring(0, separator), decoded.substring(separator + 1)};
+    }
+
+    /** One row more than the page, so of() can tell whether another page follows. */
+    public static Pageable pageRequest(int size) {
+        return PageRequest.ofSize(size + 1);
+    }
+
+    public static String encode(long id) {
+        return encode(Long.toString(id));
+    }
+
+    public static String encode(LocalDateTime createdAt, long id) {
+        return encode(createdAt + "_" + id);
+    }
+
+    public static String encodeKey(long key, long id) {
+        return encode(key + "_" + id);
+    }
+
+    private static String encode(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds the page from up to size + 1 rows fetched in descending id order,
+     * mapping only the rows that are actually returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, ToLongFunction<E> idOf, Function<E, T> mapper) {
+        return of(rows, size, mapper, last -> encode(idOf.applyAsLong(last)));
+    }
+
+    /** Same, for rows fetched in descending (createdAt, id) order. */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, LocalDateTime> createdAtOf,
+                                          ToLongFunction<E> idOf, Function<E, T> mapper) {
+        return of(rows, size, mapper, last -> encode(createdAtOf.apply(last), idOf.applyAsLong(last)));
+    }
+
+    /** Same, for rows fetched in descending (sort key, id) order. */
+    public static <E, T> CursorPage<T> ofKeyed(List<E> rows, int size, ToLongFunction<E> keyOf,
+                                               ToLongFunction<E> idOf, Function<E, T> mapper) {
+        return of(rows, size, mapper, last -> encodeKey(keyOf.applyAsLong(last), idOf.applyAsLong(last)));
+    }
+
+    private static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<E> pageRows = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+
+    /** Same page and cursor, items oldest first -- for lists read top to bottom, like a chat. */
+    public CursorPage<T> withItemsReversed() {
+        List<T> reversed = new ArrayList<>(items);
+        Collections.reverse(reversed);
+        return new CursorPage<>(reversed, nextCursor);
+    }
+
+    /** A row's place in a list ordered newest first by (createdAt, id). */
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+        private final LocalDateTime createdAt;
+        private final long id;
+    }
+
+    /** A row's place in a list ordered by (sort key, id), descending. */
+    @Getter
+    @AllArgsConstructor
+    public static class KeyPosition {
+        private final long key;
+        private final long id;
+    }
+}
@@ -0,0 +1,25 @@
+package com.techiefinder.dto.messaging;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * What subscribers of /topic/conversations/{id} receive: a new message, or a
+ * read receipt saying the reader has seen what the other side sent up to
+ * upToMessageId (everything, when that's null).
+ */
+@Data
+public class ChatEventDto {
+    private EventType type;
+    private Long conversationId;
+    private MessageDto message;
+    private Long readerId;
+    private Long upToMessageId;
+    private LocalDateTime readAt;
+
+    public enum EventType {
+        MESSAGE,
+        READ
+    }
+}
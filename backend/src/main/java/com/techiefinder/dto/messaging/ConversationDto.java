@@ -11,4 +11,9 @@ public class ConversationDto {
     private Long technicianId;
     private Long bookingId;
     private LocalDateTime lastMessageAt;
+    private Long lastMessageId;
+    private String lastMessagePreview;
+    private Long lastMessageSenderId;
+    // The caller's own unread count in this conversation.
+    private Integer unreadCount;
 }
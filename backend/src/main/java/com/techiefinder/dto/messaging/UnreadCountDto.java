@@ -0,0 +1,14 @@
+package com.techiefinder.dto.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A user's unread count for one conversation, pushed to /user/queue/unread. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountDto {
+    private Long conversationId;
+    private Integer unreadCount;
+}
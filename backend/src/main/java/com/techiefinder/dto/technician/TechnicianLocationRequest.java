@@ -1,5 +1,9 @@
 package com.techiefinder.dto.technician;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -16,11 +20,17 @@ public class TechnicianLocationRequest {
     private String state;
 
     @NotNull
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
     private Double latitude;
 
     @NotNull
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
     private Double longitude;
 
+    @Min(1)
+    @Max(500)
     private Integer serviceRadiusKm;
 
     private String landmark;
@@ -0,0 +1,75 @@
+package com.techiefinder.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.Hibernate;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Auditing columns, the soft-delete flag and id-based equality shared by every
+ * entity. The id itself comes from one of the two subclasses: BaseEntity (a
+ * pooled sequence, the default) or InsertOrderedEntity.
+ */
+@Data
+@MappedSuperclass
+@EntityListeners(AuditingEntityListener.class)
+public abstract class AbstractEntity {
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (active == null) {
+            active = true;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public abstract Long getId();
+
+    /**
+     * Identity-based equals/hashCode (id only), not Lombok's default field-by-field
+     * @Data behavior -- entities here have bidirectional relations (e.g. User <-> UserProfile),
+     * and a naive field-by-field hashCode/equals recurses through them infinitely
+     * the moment Hibernate needs to put one in a HashSet (a lazy-loaded @OneToMany
+     * collection is backed by one). hashCode is a constant per class, not id-derived,
+     * since id is null before the entity is first persisted but hashCode must stay
+     * stable across an object's lifetime.
+     *
+     * Associations are lazy, so either side may be an uninitialized proxy: its
+     * class is a generated subclass and its fields are unset until loaded, hence
+     * Hibernate.getClass and getId() rather than getClass() and the field.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AbstractEntity)) return false;
+        if (Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        Long otherId = ((AbstractEntity) o).getId();
+        return getId() != null && getId().equals(otherId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
+}
@@ -1,66 +1,40 @@
 package com.techiefinder.model;
 
-import jakarta.persistence.*;
-import lombok.Data;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
-
-import java.time.LocalDateTime;
-
-@Data
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * Ids come from a sequence per table (bookings_seq, users_seq, ...) -- a
+ * native sequence on H2, a one-row table of the same name on MySQL, which
+ * has no sequences -- 50 at a time: each instance reserves a block with one
+ * round trip and hands ids out of it in memory. Knowing the id before the
+ * INSERT is what lets Hibernate batch inserts (hibernate.jdbc.batch_size); with
+ * IDENTITY it has to run each INSERT on its own to read the id back.
+ *
+ * Ids are unique but, across instances, no longer in insert order; tables
+ * whose ids are read as a position extend InsertOrderedEntity instead.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
-public abstract class BaseEntity {
+public abstract class BaseEntity extends AbstractEntity {
+
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_sequence")
+    @GenericGenerator(name = "pooled_sequence", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.CONFIG_SEQUENCE_PER_ENTITY_SUFFIX, value = "_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "" + ID_ALLOCATION_SIZE),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
     private Long id;
-
-    @CreatedDate
-    @Column(nullable = false, updatable = false)
-    private LocalDateTime createdAt;
-
-    @LastModifiedDate
-    @Column(nullable = false)
-    private LocalDateTime updatedAt;
-
-    @Column(nullable = false)
-    private Boolean active = true;
-
-    @PrePersist
-    protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
-        if (active == null) {
-            active = true;
-        }
-    }
-
-    @PreUpdate
-    protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
-    }
-
-    /**
-     * Identity-based equals/hashCode (id only), not Lombok's default field-by-field
-     * @Data behavior -- entities here have bidirectional relations (e.g. User <-> UserProfile),
-     * and a naive field-by-field hashCode/equals recurses through them infinitely
-     * the moment Hibernate needs to put one in a HashSet (a lazy-loaded @OneToMany
-     * collection is backed by one). hashCode is a constant per class, not id-derived,
-     * since id is null before the entity is first persisted but hashCode must stay
-     * stable across an object's lifetime.
-     */
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof BaseEntity)) return false;
-        BaseEntity other = (BaseEntity) o;
-        return id != null && id.equals(other.id);
-    }
-
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
 }
@@ -0,0 +1,27 @@
+package com.techiefinder.model;
+
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * Ids assigned by the database on INSERT, so they follow insert order across
+ * every instance. For tables whose ids clients read as a position ("newer than
+ * message 120", "mark read up to notification 57"), where a row turning up
+ * later with a smaller id -- as pooled sequence blocks allow -- would be
+ * skipped or marked read unseen. Rows here are inserted one at a time anyway.
+ */
+@Getter
+@Setter
+@ToString(callSuper = true)
+@MappedSuperclass
+public abstract class InsertOrderedEntity extends AbstractEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+}
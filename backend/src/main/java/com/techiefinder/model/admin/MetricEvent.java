@@ -0,0 +1,34 @@
+package com.techiefinder.model.admin;
+
+import com.techiefinder.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One admin metric event waiting to be folded into its MetricRollup buckets.
+ * Inserted in the same transaction as the booking, payment or sign-up it
+ * counts, so it exists if and only if that committed; AdminMetricsService
+ * deletes it in the transaction that adds it to the rollups.
+ */
+@Entity
+@Table(name = "metric_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricEvent extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private MetricRollup.Metric metric;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+}
@@ -0,0 +1,64 @@
+package com.techiefinder.model.admin;
+
+import com.techiefinder.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One pre-aggregated bucket of an admin metric: how many times it happened in
+ * the hour (or day) starting at bucketStart, and the amount summed over those
+ * events (naira for REVENUE, stars for RATINGS, zero otherwise). Maintained
+ * incrementally by AdminMetricsService, never recomputed from the raw tables.
+ */
+@Entity
+@Table(name = "metric_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_metric_rollups_bucket", columnNames = {"metric", "granularity", "bucket_start"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricRollup extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private Metric metric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private Long eventCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+
+    public enum Metric {
+        BOOKINGS_CREATED,
+        BOOKINGS_CONFIRMED,
+        BOOKINGS_IN_PROGRESS,
+        BOOKINGS_COMPLETED,
+        BOOKINGS_CANCELLED,
+        BOOKINGS_REJECTED,
+        REVENUE,
+        NEW_USERS,
+        RATINGS,
+        TECHNICIANS_VERIFIED,
+        TECHNICIANS_REJECTED,
+        CERTIFICATIONS_VERIFIED,
+        CERTIFICATIONS_REJECTED
+    }
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+}
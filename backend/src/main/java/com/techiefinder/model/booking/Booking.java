@@ -10,7 +10,24 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+// Back the newest-first keyset pages of all, a customer's and a technician's bookings.
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_created", columnList = "createdAt, id"),
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, createdAt, id"),
+        @Index(name = "idx_bookings_technician_created", columnList = "technician_id, createdAt, id")
+})
+// Both parties, for the reads that check who's acting and notify the other side.
+// User.profile is the inverse side of a one-to-one, which Hibernate can't defer,
+// so it's joined here rather than selected once per user.
+@NamedEntityGraph(name = Booking.WITH_PARTIES,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "user"),
+                @NamedAttributeNode(value = "technician", subgraph = "technician")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("profile")),
+                @NamedSubgraph(name = "technician", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"))
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,14 +35,16 @@ import java.time.LocalDateTime;
 @Builder
 public class Booking extends BaseEntity {
 
+    public static final String WITH_PARTIES = "Booking.withParties";
+
     @Column(nullable = false, unique = true)
     private String bookingNumber; // e.g., BK-20240101-001234
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
@@ -75,7 +94,7 @@ public class Booking extends BaseEntity {
 
     private LocalDateTime cancelledAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cancelled_by_user_id")
     private User cancelledBy;
 
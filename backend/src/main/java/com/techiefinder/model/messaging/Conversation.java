@@ -12,7 +12,22 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "conversations")
+// The inbox is one query over both of a user's roles, newest conversation first:
+// each role's column leads its own index, with the sort key after it.
+@Table(name = "conversations", indexes = {
+        @Index(name = "idx_conversations_user_inbox", columnList = "user_id, lastMessageId"),
+        @Index(name = "idx_conversations_technician_user_inbox", columnList = "technicianUserId, lastMessageId")
+})
+// Both participants, for sending and reading -- see Booking.WITH_PARTIES.
+@NamedEntityGraph(name = Conversation.WITH_PARTICIPANTS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "user", subgraph = "user"),
+                @NamedAttributeNode(value = "technician", subgraph = "technician")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("profile")),
+                @NamedSubgraph(name = "technician", attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"))
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,15 +35,17 @@ import java.util.Set;
 @Builder
 public class Conversation extends BaseEntity {
 
-    @ManyToOne
+    public static final String WITH_PARTICIPANTS = "Conversation.withParticipants";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
@@ -36,8 +53,19 @@ public class Conversation extends BaseEntity {
     @Builder.Default
     private Set<Message> messages = new HashSet<>();
 
+    // The technician's user id, copied here so "my conversations" needs no join to technicians.
+    private Long technicianUserId;
+
     private LocalDateTime lastMessageAt;
 
+    // Denormalized from the latest message for the inbox; null until the first message.
+    private Long lastMessageId;
+
+    @Column(length = 200)
+    private String lastMessagePreview;
+
+    private Long lastMessageSenderId;
+
     @Column(nullable = false)
     @Builder.Default
     private Integer unreadCountUser = 0;
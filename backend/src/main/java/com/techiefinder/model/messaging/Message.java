@@ -1,6 +1,6 @@
 package com.techiefinder.model.messaging;
 
-import com.techiefinder.model.BaseEntity;
+import com.techiefinder.model.InsertOrderedEntity;
 import com.techiefinder.model.user.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -8,19 +8,23 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+// Every message read -- the latest page, older history, or newer than the client's
+// last message -- is a range over one conversation's ids, served from this index.
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_conversation_id", columnList = "conversation_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Message extends BaseEntity {
+public class Message extends InsertOrderedEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "conversation_id", nullable = false)
     private Conversation conversation;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", nullable = false)
     private User sender;
 
@@ -1,6 +1,6 @@
 package com.techiefinder.model.notification;
 
-import com.techiefinder.model.BaseEntity;
+import com.techiefinder.model.InsertOrderedEntity;
 import com.techiefinder.model.user.User;
 import jakarta.persistence.*;
 import lombok.*;
@@ -14,9 +14,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Notification extends BaseEntity {
+public class Notification extends InsertOrderedEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -0,0 +1,66 @@
+package com.techiefinder.model.notification;
+
+import com.techiefinder.model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for one channel (push, email or SMS) of one notification. Written
+ * in the same transaction as the Notification itself, so a delivery exists if
+ * and only if the notification committed; NotificationDispatcher sends it
+ * afterwards, outside any request.
+ */
+@Entity
+// Backs the dispatcher's per-channel "due deliveries" poll.
+@Table(name = "notification_deliveries", indexes = {
+        @Index(name = "idx_notification_deliveries_due", columnList = "channel, status, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDelivery extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "notification_id", nullable = false)
+    private Notification notification;
+
+    @Column(nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private Channel channel;
+
+    // The FCM token, email address or phone number at the time of notify().
+    @Column(nullable = false, length = 500)
+    private String recipient;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    // When a PENDING delivery is next due, or when an IN_PROGRESS claim lapses.
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime sentAt;
+
+    public enum Channel {
+        PUSH,
+        EMAIL,
+        SMS
+    }
+
+    public enum Status {
+        PENDING,
+        IN_PROGRESS,
+        SENT,
+        FAILED
+    }
+}
@@ -10,7 +10,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payments")
+// Backs the newest-first keyset pages of a user's payments.
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_user_created", columnList = "user_id, createdAt, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,11 +24,11 @@ public class Payment extends BaseEntity {
     @Column(nullable = false, unique = true)
     private String transactionReference; // e.g., TXN-20240101-001234
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
@@ -8,7 +8,11 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "ratings")
+// Back the newest-first keyset pages of all and of a technician's ratings.
+@Table(name = "ratings", indexes = {
+        @Index(name = "idx_ratings_created", columnList = "createdAt, id"),
+        @Index(name = "idx_ratings_technician_created", columnList = "technician_id, createdAt, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,15 +20,15 @@ import lombok.*;
 @Builder
 public class Rating extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false, unique = true)
     private Booking booking;
 
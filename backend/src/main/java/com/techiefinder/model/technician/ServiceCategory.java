@@ -3,9 +3,12 @@ package com.techiefinder.model.technician;
 import com.techiefinder.model.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "service_categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference")
 @Getter
 @Setter
 @NoArgsConstructor
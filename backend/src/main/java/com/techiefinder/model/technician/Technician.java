@@ -4,13 +4,24 @@ import com.techiefinder.model.BaseEntity;
 import com.techiefinder.model.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "technicians")
+// Backs the newest-first keyset pages of the admin technician list.
+@Table(name = "technicians", indexes = {
+        @Index(name = "idx_technicians_created", columnList = "createdAt, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "technicians")
+// The profile as shown: the technician with their user (and that user's profile,
+// which as the inverse of a one-to-one is never lazy) in one select.
+@NamedEntityGraph(name = Technician.WITH_USER,
+        attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user"),
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("profile")))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +29,9 @@ import java.util.Set;
 @Builder
 public class Technician extends BaseEntity {
 
-    @OneToOne
+    public static final String WITH_USER = "Technician.withUser";
+
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
@@ -74,9 +87,6 @@ public class Technician extends BaseEntity {
     @Builder.Default
     private Set<TechnicianAvailability> availability = new HashSet<>();
 
-    @OneToOne(mappedBy = "technician", cascade = CascadeType.ALL, orphanRemoval = true)
-    private TechnicianLocation location;
-
     @OneToMany(mappedBy = "technician", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private Set<TechnicianPortfolio> portfolio = new HashSet<>();
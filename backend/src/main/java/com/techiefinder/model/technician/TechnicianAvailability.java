@@ -16,7 +16,7 @@ import java.time.LocalTime;
 @Builder
 public class TechnicianAvailability extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
@@ -15,7 +15,7 @@ import java.time.LocalDate;
 @Builder
 public class TechnicianCertification extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
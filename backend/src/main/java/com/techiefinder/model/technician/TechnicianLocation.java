@@ -5,7 +5,12 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "technician_locations")
+// Composite lat/lng indexes back the bounding-box prefilter in
+// TechnicianLocationRepository.findWithinRadiusInBox.
+@Table(name = "technician_locations", indexes = {
+        @Index(name = "idx_technician_locations_lat_lng", columnList = "latitude, longitude"),
+        @Index(name = "idx_technician_locations_lng_lat", columnList = "longitude, latitude")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,7 +18,7 @@ import lombok.*;
 @Builder
 public class TechnicianLocation extends BaseEntity {
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false, unique = true)
     private Technician technician;
 
@@ -6,6 +6,7 @@ import lombok.*;
 
 @Entity
 @Table(name = "technician_portfolios")
+@NamedEntityGraph(name = TechnicianPortfolio.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -13,7 +14,9 @@ import lombok.*;
 @Builder
 public class TechnicianPortfolio extends BaseEntity {
 
-    @ManyToOne
+    public static final String WITH_CATEGORY = "TechnicianPortfolio.withCategory";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
@@ -28,7 +31,7 @@ public class TechnicianPortfolio extends BaseEntity {
 
     private String videoUrl;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private ServiceCategory category;
 
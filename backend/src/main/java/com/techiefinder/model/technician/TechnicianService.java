@@ -3,11 +3,15 @@ package com.techiefinder.model.technician;
 import com.techiefinder.model.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "technician_services")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "technicians")
+@NamedEntityGraph(name = TechnicianService.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,11 +19,13 @@ import java.math.BigDecimal;
 @Builder
 public class TechnicianService extends BaseEntity {
 
-    @ManyToOne
+    public static final String WITH_CATEGORY = "TechnicianService.withCategory";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id", nullable = false)
     private Technician technician;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private ServiceCategory category;
 
@@ -8,7 +8,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+// updated_at backs AccountVersionTracker's poll for recently changed accounts, and
+// (created_at, id) the newest-first keyset pages of the admin user list.
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_updated_at", columnList = "updatedAt"),
+        @Index(name = "idx_users_created", columnList = "createdAt, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -57,6 +62,13 @@ public class User extends BaseEntity {
     // Null for LOCAL accounts.
     private String providerId;
 
+    // Carried in access tokens as the "ver" claim and bumped whenever something
+    // a token vouches for changes (e.g. suspension), so tokens issued before the
+    // change are recognised as stale -- see AccountVersionTracker.
+    @Column(nullable = false)
+    @Builder.Default
+    private Long tokenVersion = 0L;
+
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private UserProfile profile;
 
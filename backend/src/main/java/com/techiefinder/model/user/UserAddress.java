@@ -13,7 +13,7 @@ import lombok.*;
 @Builder
 public class UserAddress extends BaseEntity {
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
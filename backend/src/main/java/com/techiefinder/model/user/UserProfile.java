@@ -15,7 +15,7 @@ import java.time.LocalDate;
 @Builder
 public class UserProfile extends BaseEntity {
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -0,0 +1,34 @@
+package com.techiefinder.repository.admin;
+
+import com.techiefinder.model.admin.MetricEvent;
+import com.techiefinder.model.admin.MetricRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MetricEventRepository extends JpaRepository<MetricEvent, Long> {
+
+    @Query("SELECT e FROM MetricEvent e")
+    List<MetricEvent> findBatch(Pageable pageable);
+
+    // Not yet folded, so a time series adds them on top of the rollups.
+    @Query("SELECT e FROM MetricEvent e WHERE e.metric = :metric AND e.occurredAt >= :from AND e.occurredAt < :to")
+    List<MetricEvent> findStaged(@Param("metric") MetricRollup.Metric metric, @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Deletes the given events; returns fewer than ids.size() if another
+     * instance folded (and deleted) some of them first.
+     */
+    @Modifying
+    @Query("DELETE FROM MetricEvent e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
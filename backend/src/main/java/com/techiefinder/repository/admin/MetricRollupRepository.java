@@ -0,0 +1,30 @@
+package com.techiefinder.repository.admin;
+
+import com.techiefinder.model.admin.MetricRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MetricRollupRepository extends JpaRepository<MetricRollup, Long> {
+
+    List<MetricRollup> findByMetricAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            MetricRollup.Metric metric, MetricRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    /** Adds to an existing bucket in place; returns 0 if the bucket has no row yet. */
+    @Modifying
+    @Query("UPDATE MetricRollup r SET r.eventCount = r.eventCount + :count, r.amount = r.amount + :amount, " +
+           "r.updatedAt = :now WHERE r.metric = :metric AND r.granularity = :granularity AND r.bucketStart = :bucketStart")
+    int addToBucket(@Param("metric") MetricRollup.Metric metric,
+                    @Param("granularity") MetricRollup.Granularity granularity,
+                    @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("count") long count,
+                    @Param("amount") BigDecimal amount,
+                    @Param("now") LocalDateTime now);
+}
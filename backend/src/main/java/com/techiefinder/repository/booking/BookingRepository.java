@@ -1,17 +1,59 @@
 package com.techiefinder.repository.booking;
 
 import com.techiefinder.model.booking.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findByBookingNumber(String bookingNumber);
+
+    @EntityGraph(Booking.WITH_PARTIES)
+    Optional<Booking> findWithPartiesById(Long id);
+
     List<Booking> findByUserId(Long userId);
     List<Booking> findByTechnicianId(Long technicianId);
     List<Booking> findByUserIdAndStatus(Long userId, Booking.BookingStatus status);
     List<Booking> findByTechnicianIdAndStatus(Long technicianId, Booking.BookingStatus status);
+
+    String SUMMARY_SELECT = "SELECT b.id AS id, b.bookingNumber AS bookingNumber, u.id AS userId, " +
+            "t.id AS technicianId, u.firstName AS customerFirstName, u.lastName AS customerLastName, " +
+            "tu.firstName AS technicianFirstName, tu.lastName AS technicianLastName, b.status AS status, " +
+            "b.scheduledDateTime AS scheduledDateTime, b.serviceDescription AS serviceDescription, " +
+            "b.serviceAddress AS serviceAddress, b.estimatedPrice AS estimatedPrice, b.finalPrice AS finalPrice, " +
+            "b.paymentStatus AS paymentStatus, b.createdAt AS createdAt FROM Booking b JOIN b.user u JOIN b.technician t JOIN t.user tu ";
+
+    // Keyset pages, newest first by (createdAt, id) -- see CursorPage.
+    @Query(SUMMARY_SELECT + "WHERE (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummaryRow> findSummaries(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE u.id = :userId AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummaryRow> findSummariesByUserId(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id = :technicianId AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummaryRow> findSummariesByTechnicianId(@Param("technicianId") Long technicianId,
+                                                        @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                        Pageable pageable);
+
+    /**
+     * Booking count and paid revenue per status in one pass over the table.
+     * Revenue is the final price, or the estimate where no final price was set.
+     */
+    @Query("SELECT b.status AS status, COUNT(b) AS bookings, " +
+           "SUM(CASE WHEN b.paymentStatus = :paid THEN COALESCE(b.finalPrice, b.estimatedPrice) END) AS paidRevenue " +
+           "FROM Booking b GROUP BY b.status")
+    List<BookingStatusTotals> findTotalsByStatus(@Param("paid") Booking.PaymentStatus paid);
+
+    @Query("SELECT DISTINCT b.technician.id FROM Booking b WHERE b.user.id = :userId")
+    List<Long> findDistinctTechnicianIdsByUserId(@Param("userId") Long userId);
 }
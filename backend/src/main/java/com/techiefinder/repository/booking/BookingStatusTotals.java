@@ -0,0 +1,15 @@
+package com.techiefinder.repository.booking;
+
+import com.techiefinder.model.booking.Booking;
+
+import java.math.BigDecimal;
+
+/** One row of BookingRepository.findTotalsByStatus. */
+public interface BookingStatusTotals {
+    Booking.BookingStatus getStatus();
+
+    Long getBookings();
+
+    /** Null when no booking in this status has been paid. */
+    BigDecimal getPaidRevenue();
+}
@@ -0,0 +1,45 @@
+package com.techiefinder.repository.booking;
+
+import com.techiefinder.model.booking.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * What a booking list shows of each booking, with both parties' names joined
+ * in -- one row per booking instead of a Booking plus its customer, technician
+ * and technician user (and their one-to-ones) loaded one by one.
+ */
+public interface BookingSummaryRow {
+    Long getId();
+
+    String getBookingNumber();
+
+    Long getUserId();
+
+    Long getTechnicianId();
+
+    String getCustomerFirstName();
+
+    String getCustomerLastName();
+
+    String getTechnicianFirstName();
+
+    String getTechnicianLastName();
+
+    Booking.BookingStatus getStatus();
+
+    LocalDateTime getScheduledDateTime();
+
+    String getServiceDescription();
+
+    String getServiceAddress();
+
+    BigDecimal getEstimatedPrice();
+
+    BigDecimal getFinalPrice();
+
+    Booking.PaymentStatus getPaymentStatus();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,26 @@
+package com.techiefinder.repository.messaging;
+
+import java.time.LocalDateTime;
+
+/** One inbox entry, read straight from the conversation's own columns. */
+public interface ConversationInboxRow {
+    Long getId();
+
+    Long getUserId();
+
+    Long getTechnicianId();
+
+    Long getBookingId();
+
+    LocalDateTime getLastMessageAt();
+
+    Long getLastMessageId();
+
+    String getLastMessagePreview();
+
+    Long getLastMessageSenderId();
+
+    Integer getUnreadCountUser();
+
+    Integer getUnreadCountTechnician();
+}
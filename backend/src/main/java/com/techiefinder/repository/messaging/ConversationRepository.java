@@ -1,17 +1,123 @@
 package com.techiefinder.repository.messaging;
 
 import com.techiefinder.model.messaging.Conversation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
-    List<Conversation> findByUserIdOrderByLastMessageAtDesc(Long userId);
+    Optional<Conversation> findByUserIdAndTechnicianId(Long userId, Long technicianId);
 
-    List<Conversation> findByTechnicianIdOrderByLastMessageAtDesc(Long technicianId);
+    @EntityGraph(Conversation.WITH_PARTICIPANTS)
+    Optional<Conversation> findWithParticipantsById(Long id);
 
-    Optional<Conversation> findByUserIdAndTechnicianId(Long userId, Long technicianId);
+    // Held from before a message is inserted until it commits, so a conversation's
+    // messages commit in id order: "everything after id N" never skips one, and
+    // "read up to id N" never covers one that commits later. Mark-read holds it too.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Conversation c WHERE c.id = :id")
+    Optional<Conversation> lockById(@Param("id") Long id);
+
+    // Checked on every STOMP subscription, so it doesn't load the conversation.
+    @Query("SELECT COUNT(c) > 0 FROM Conversation c WHERE c.id = :id "
+            + "AND (c.user.id = :userId OR c.technician.user.id = :userId)")
+    boolean isParticipant(@Param("id") Long id, @Param("userId") Long userId);
+
+    // The unread counters only ever change through these single statements, so a
+    // message arriving while the other side reads can't be lost to a stale entity save.
+    // Every message counts, but the last-message columns only move forward: of two
+    // messages committing at once, the older one mustn't overwrite the newer. The
+    // lastMessageId assignment comes last because MySQL applies SET left to right,
+    // so the other CASEs must still see the old value.
+    @Modifying
+    @Query("UPDATE Conversation c SET c.unreadCountTechnician = c.unreadCountTechnician + 1, "
+            + "c.lastMessageAt = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :now ELSE c.lastMessageAt END, "
+            + "c.lastMessagePreview = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :preview ELSE c.lastMessagePreview END, "
+            + "c.lastMessageSenderId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :senderId ELSE c.lastMessageSenderId END, "
+            + "c.lastMessageId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :messageId ELSE c.lastMessageId END, "
+            + "c.updatedAt = :now WHERE c.id = :id")
+    int recordMessageFromUser(@Param("id") Long id, @Param("messageId") Long messageId,
+                              @Param("preview") String preview, @Param("senderId") Long senderId,
+                              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.unreadCountUser = c.unreadCountUser + 1, "
+            + "c.lastMessageAt = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :now ELSE c.lastMessageAt END, "
+            + "c.lastMessagePreview = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :preview ELSE c.lastMessagePreview END, "
+            + "c.lastMessageSenderId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :senderId ELSE c.lastMessageSenderId END, "
+            + "c.lastMessageId = CASE WHEN c.lastMessageId IS NULL OR c.lastMessageId < :messageId "
+            + "THEN :messageId ELSE c.lastMessageId END, "
+            + "c.updatedAt = :now WHERE c.id = :id")
+    int recordMessageFromTechnician(@Param("id") Long id, @Param("messageId") Long messageId,
+                              @Param("preview") String preview, @Param("senderId") Long senderId,
+                              @Param("now") LocalDateTime now);
+
+    // Recounted rather than zeroed: reading up to a message leaves anything newer unread.
+    @Modifying
+    @Query("UPDATE Conversation c SET c.unreadCountUser = (SELECT COUNT(m) FROM Message m "
+            + "WHERE m.conversation.id = c.id AND m.sender.id <> :readerId AND m.read = false), "
+            + "c.updatedAt = :now WHERE c.id = :id")
+    int recountUnreadForUser(@Param("id") Long id, @Param("readerId") Long readerId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.unreadCountTechnician = (SELECT COUNT(m) FROM Message m "
+            + "WHERE m.conversation.id = c.id AND m.sender.id <> :readerId AND m.read = false), "
+            + "c.updatedAt = :now WHERE c.id = :id")
+    int recountUnreadForTechnician(@Param("id") Long id, @Param("readerId") Long readerId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT c.unreadCountUser AS unreadCountUser, c.unreadCountTechnician AS unreadCountTechnician "
+            + "FROM Conversation c WHERE c.id = :id")
+    ConversationUnreadCounts findUnreadCounts(@Param("id") Long id);
+
+    // Keyset pages of the inbox, newest message first -- see CursorPage. Conversations
+    // nobody has written in yet sort as lastMessageId 0, after the rest, newest first.
+    @Query("SELECT c.id AS id, c.user.id AS userId, c.technician.id AS technicianId, b.id AS bookingId, "
+            + "c.lastMessageAt AS lastMessageAt, c.lastMessageId AS lastMessageId, "
+            + "c.lastMessagePreview AS lastMessagePreview, c.lastMessageSenderId AS lastMessageSenderId, "
+            + "c.unreadCountUser AS unreadCountUser, c.unreadCountTechnician AS unreadCountTechnician "
+            + "FROM Conversation c LEFT JOIN c.booking b "
+            + "WHERE (c.user.id = :userId OR c.technicianUserId = :userId) "
+            + "AND (COALESCE(c.lastMessageId, 0) < :lastMessageId "
+            + "OR (COALESCE(c.lastMessageId, 0) = :lastMessageId AND c.id < :id)) "
+            + "ORDER BY COALESCE(c.lastMessageId, 0) DESC, c.id DESC")
+    List<ConversationInboxRow> findInbox(@Param("userId") Long userId, @Param("lastMessageId") Long lastMessageId,
+                                         @Param("id") Long id, Pageable pageable);
+
+    // Fill in the denormalized columns on conversations from before they existed; no-ops once
+    // done. Conversations with no messages keep a null lastMessageId, so they're skipped.
+    @Modifying
+    @Query("UPDATE Conversation c SET c.technicianUserId = "
+            + "(SELECT t.user.id FROM Technician t WHERE t.id = c.technician.id) WHERE c.technicianUserId IS NULL")
+    int backfillTechnicianUserIds();
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = "
+            + "(SELECT MAX(m.id) FROM Message m WHERE m.conversation.id = c.id) WHERE c.lastMessageId IS NULL "
+            + "AND EXISTS (SELECT m FROM Message m WHERE m.conversation = c)")
+    int backfillLastMessageIds();
+
+    @Modifying
+    @Query("UPDATE Conversation c SET "
+            + "c.lastMessagePreview = (SELECT SUBSTRING(m.content, 1, 200) FROM Message m WHERE m.id = c.lastMessageId), "
+            + "c.lastMessageSenderId = (SELECT m.sender.id FROM Message m WHERE m.id = c.lastMessageId) "
+            + "WHERE c.lastMessageId IS NOT NULL AND c.lastMessageSenderId IS NULL")
+    int backfillLastMessagePreviews();
 }
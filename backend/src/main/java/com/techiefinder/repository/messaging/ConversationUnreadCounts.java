@@ -0,0 +1,8 @@
+package com.techiefinder.repository.messaging;
+
+/** A conversation's two unread counters, without loading the Conversation and its participants. */
+public interface ConversationUnreadCounts {
+    Integer getUnreadCountUser();
+
+    Integer getUnreadCountTechnician();
+}
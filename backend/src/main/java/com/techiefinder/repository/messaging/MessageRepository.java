@@ -1,12 +1,30 @@
 package com.techiefinder.repository.messaging;
 
 import com.techiefinder.model.messaging.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    List<Message> findByConversationIdOrderByCreatedAtAsc(Long conversationId);
+    // Keyset pages, newest first -- see CursorPage.
+    List<Message> findByConversationIdAndIdLessThanOrderByIdDesc(Long conversationId, Long id, Pageable pageable);
+
+    // Incremental sync: what arrived after the client's newest message, oldest first.
+    // Sends commit in id order within a conversation (see ConversationRepository.lockById).
+    List<Message> findByConversationIdAndIdGreaterThanOrderByIdAsc(Long conversationId, Long id, Pageable pageable);
+
+    // Everything the other participant sent up to upToId that the reader hasn't seen yet, in one statement.
+    @Modifying
+    @Query("UPDATE Message m SET m.read = true, m.readAt = :readAt, m.updatedAt = :readAt "
+            + "WHERE m.conversation.id = :conversationId AND m.sender.id <> :readerId AND m.read = false "
+            + "AND m.id <= :upToId")
+    int markReadBy(@Param("conversationId") Long conversationId, @Param("readerId") Long readerId,
+                   @Param("upToId") Long upToId, @Param("readAt") LocalDateTime readAt);
 }
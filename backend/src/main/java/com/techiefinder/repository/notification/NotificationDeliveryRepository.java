@@ -0,0 +1,64 @@
+package com.techiefinder.repository.notification;
+
+import com.techiefinder.model.notification.NotificationDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    List<NotificationDelivery> findByNotificationId(Long notificationId);
+
+    @Query("SELECT d FROM NotificationDelivery d JOIN FETCH d.notification WHERE d.id IN :ids")
+    List<NotificationDelivery> findWithNotificationByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids of the channel's deliveries in one of the given statuses whose
+     * nextAttemptAt has passed -- due PENDING ones, and IN_PROGRESS ones whose
+     * claim lapsed because the dispatcher holding it died.
+     */
+    @Query("SELECT d.id FROM NotificationDelivery d WHERE d.channel = :channel AND d.status IN :statuses " +
+           "AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<Long> findDueIds(@Param("channel") NotificationDelivery.Channel channel,
+                          @Param("statuses") Collection<NotificationDelivery.Status> statuses,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    /**
+     * Claims a due delivery until leaseUntil. Returns 0 if another dispatcher
+     * (on this or another instance) got to it first.
+     */
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.status = :claimed, d.nextAttemptAt = :leaseUntil " +
+           "WHERE d.id = :id AND d.status IN :statuses AND d.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id,
+              @Param("statuses") Collection<NotificationDelivery.Status> statuses,
+              @Param("claimed") NotificationDelivery.Status claimed,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Records how a claimed delivery's send went, if the claim (IN_PROGRESS
+     * until leaseUntil) is still this dispatcher's. Returns 0 if it lapsed and
+     * another dispatcher has taken the delivery over; that one's outcome wins.
+     */
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.status = :status, d.attempts = d.attempts + 1, " +
+           "d.nextAttemptAt = :nextAttemptAt, d.sentAt = :sentAt, d.updatedAt = :now " +
+           "WHERE d.id = :id AND d.status = :claimed AND d.nextAttemptAt = :leaseUntil")
+    int finish(@Param("id") Long id,
+               @Param("claimed") NotificationDelivery.Status claimed,
+               @Param("leaseUntil") LocalDateTime leaseUntil,
+               @Param("status") NotificationDelivery.Status status,
+               @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+               @Param("sentAt") LocalDateTime sentAt,
+               @Param("now") LocalDateTime now);
+}
@@ -1,9 +1,14 @@
 package com.techiefinder.repository.notification;
 
 import com.techiefinder.model.notification.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -11,4 +16,26 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
     Long countByUserIdAndReadFalse(Long userId);
+
+    // Keyset pages, newest first -- see CursorPage.
+    List<Notification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long id, Pageable pageable);
+
+    // "Mark all read" (upToId = Long.MAX_VALUE) or everything up to one notification, in one statement.
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt, n.updatedAt = :readAt "
+            + "WHERE n.user.id = :userId AND n.read = false AND n.id <= :upToId")
+    int markReadUpTo(@Param("userId") Long userId, @Param("upToId") Long upToId, @Param("readAt") LocalDateTime readAt);
+
+    // Only the one flag, so a delivery finishing can't write back a stale read/readAt.
+    @Modifying
+    @Query("UPDATE Notification n SET n.sentViaPush = true WHERE n.id = :id")
+    int markSentViaPush(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.sentViaEmail = true WHERE n.id = :id")
+    int markSentViaEmail(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.sentViaSms = true WHERE n.id = :id")
+    int markSentViaSms(@Param("id") Long id);
 }
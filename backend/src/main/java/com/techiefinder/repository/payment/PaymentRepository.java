@@ -1,9 +1,13 @@
 package com.techiefinder.repository.payment;
 
 import com.techiefinder.model.payment.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,9 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByGatewayReference(String gatewayReference);
     List<Payment> findByUserId(Long userId);
     List<Payment> findByBookingId(Long bookingId);
+
+    // Keyset pages, newest first by (createdAt, id) -- see CursorPage.
+    @Query("SELECT p FROM Payment p WHERE p.user.id = :userId AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findPageByUserId(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, Pageable pageable);
 }
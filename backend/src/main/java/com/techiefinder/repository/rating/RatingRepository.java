@@ -1,19 +1,40 @@
 package com.techiefinder.repository.rating;
 
 import com.techiefinder.model.rating.Rating;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Long> {
-    List<Rating> findByTechnicianId(Long technicianId);
+    long countByTechnicianId(Long technicianId);
     Optional<Rating> findByBookingId(Long bookingId);
 
+    String SUMMARY_SELECT = "SELECT r.id AS id, b.id AS bookingId, u.id AS userId, t.id AS technicianId, " +
+            "u.firstName AS customerFirstName, u.lastName AS customerLastName, " +
+            "tu.firstName AS technicianFirstName, tu.lastName AS technicianLastName, r.rating AS rating, " +
+            "r.review AS review, r.professionalismRating AS professionalismRating, " +
+            "r.qualityRating AS qualityRating, r.punctualityRating AS punctualityRating, " +
+            "r.communicationRating AS communicationRating, r.technicianResponse AS technicianResponse, " +
+            "r.createdAt AS createdAt " +
+            "FROM Rating r JOIN r.booking b JOIN r.user u JOIN r.technician t JOIN t.user tu ";
+
+    // Keyset pages, newest first by (createdAt, id) -- see CursorPage.
+    @Query(SUMMARY_SELECT + "WHERE (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC")
+    List<RatingSummaryRow> findSummaries(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id = :technicianId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) ORDER BY r.createdAt DESC, r.id DESC")
+    List<RatingSummaryRow> findSummariesByTechnicianId(@Param("technicianId") Long technicianId,
+                                                       @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                       Pageable pageable);
+
     @Query("SELECT AVG(r.rating) FROM Rating r WHERE r.technician.id = :technicianId")
     Double getAverageRatingForTechnician(@Param("technicianId") Long technicianId);
 }
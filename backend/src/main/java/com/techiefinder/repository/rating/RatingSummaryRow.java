@@ -0,0 +1,38 @@
+package com.techiefinder.repository.rating;
+
+import java.time.LocalDateTime;
+
+/** A rating as the lists show it, with the customer's and technician's names joined in. */
+public interface RatingSummaryRow {
+    Long getId();
+
+    Long getBookingId();
+
+    Long getUserId();
+
+    Long getTechnicianId();
+
+    String getCustomerFirstName();
+
+    String getCustomerLastName();
+
+    String getTechnicianFirstName();
+
+    String getTechnicianLastName();
+
+    Integer getRating();
+
+    String getReview();
+
+    Integer getProfessionalismRating();
+
+    Integer getQualityRating();
+
+    Integer getPunctualityRating();
+
+    Integer getCommunicationRating();
+
+    String getTechnicianResponse();
+
+    LocalDateTime getCreatedAt();
+}
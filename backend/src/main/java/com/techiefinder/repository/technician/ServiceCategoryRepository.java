@@ -1,13 +1,24 @@
 package com.techiefinder.repository.technician;
 
 import com.techiefinder.model.technician.ServiceCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory, Long> {
+    // Both read from the query cache -- see SecondLevelCacheConfig.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ServiceCategory> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ServiceCategory> findBySlug(String slug);
+
     Optional<ServiceCategory> findByName(String name);
 }
@@ -0,0 +1,8 @@
+package com.techiefinder.repository.technician;
+
+/** One (technician, category) pair from the technician's service offerings. */
+public interface TechnicianCategoryPair {
+    Long getTechnicianId();
+
+    Long getCategoryId();
+}
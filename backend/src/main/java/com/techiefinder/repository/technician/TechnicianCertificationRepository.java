@@ -9,4 +9,5 @@ import java.util.List;
 @Repository
 public interface TechnicianCertificationRepository extends JpaRepository<TechnicianCertification, Long> {
     List<TechnicianCertification> findByTechnicianId(Long technicianId);
+    long countByVerificationStatus(TechnicianCertification.VerificationStatus status);
 }
@@ -0,0 +1,26 @@
+package com.techiefinder.repository.technician;
+
+import com.techiefinder.model.technician.Technician;
+
+import java.math.BigDecimal;
+
+/**
+ * The columns of a technician that feed the recommendation score -- what the
+ * in-memory feature store is built from, without hydrating each Technician's
+ * User (and its lazy collections) the way loading the entities would.
+ */
+public interface TechnicianFeatureRow {
+    Long getId();
+
+    BigDecimal getRating();
+
+    Integer getCompletedJobs();
+
+    Integer getCancelledJobs();
+
+    Technician.VerificationStatus getVerificationStatus();
+
+    Boolean getAvailable();
+
+    Boolean getAcceptingJobs();
+}
@@ -0,0 +1,16 @@
+package com.techiefinder.repository.technician;
+
+/**
+ * Just the coordinates and service radius of a technician's location -- what
+ * the in-memory geo index is built from, without hydrating each TechnicianLocation's Technician
+ * (and that technician's User) the way loading the entities would.
+ */
+public interface TechnicianLocationPoint {
+    Long getTechnicianId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Integer getServiceRadiusKm();
+}
@@ -13,6 +13,14 @@ import java.util.Optional;
 public interface TechnicianLocationRepository extends JpaRepository<TechnicianLocation, Long> {
     Optional<TechnicianLocation> findByTechnicianId(Long technicianId);
 
+    @Query("SELECT l.technician.id AS technicianId, l.latitude AS latitude, l.longitude AS longitude, " +
+           "l.serviceRadiusKm AS serviceRadiusKm FROM TechnicianLocation l")
+    List<TechnicianLocationPoint> findAllPoints();
+
+    @Query("SELECT l.technician.id AS technicianId, l.latitude AS latitude, l.longitude AS longitude, " +
+           "l.serviceRadiusKm AS serviceRadiusKm FROM TechnicianLocation l WHERE l.technician.id = :technicianId")
+    Optional<TechnicianLocationPoint> findPointByTechnicianId(@Param("technicianId") Long technicianId);
+
     @Query(value = "SELECT * FROM technician_locations WHERE " +
            "(6371 * acos(cos(radians(:latitude)) * cos(radians(latitude)) * " +
            "cos(radians(longitude) - radians(:longitude)) + sin(radians(:latitude)) * " +
@@ -22,4 +30,27 @@ public interface TechnicianLocationRepository extends JpaRepository<TechnicianLo
         @Param("longitude") Double longitude,
         @Param("radiusKm") Double radiusKm
     );
+
+    /**
+     * Same result as findWithinRadius for a circle inside the given box, but the
+     * BETWEEN ranges let the database narrow to the box's rows through the
+     * lat/lng indexes first, so the acos() only runs on those survivors instead
+     * of every row. LEAST(1.0, ...) guards acos against a rounding overshoot when
+     * the two points coincide.
+     */
+    @Query(value = "SELECT * FROM technician_locations WHERE " +
+           "latitude BETWEEN :minLatitude AND :maxLatitude AND " +
+           "longitude BETWEEN :minLongitude AND :maxLongitude AND " +
+           "(6371 * acos(LEAST(1.0, cos(radians(:latitude)) * cos(radians(latitude)) * " +
+           "cos(radians(longitude) - radians(:longitude)) + sin(radians(:latitude)) * " +
+           "sin(radians(latitude))))) <= :radiusKm", nativeQuery = true)
+    List<TechnicianLocation> findWithinRadiusInBox(
+        @Param("latitude") Double latitude,
+        @Param("longitude") Double longitude,
+        @Param("radiusKm") Double radiusKm,
+        @Param("minLatitude") Double minLatitude,
+        @Param("maxLatitude") Double maxLatitude,
+        @Param("minLongitude") Double minLongitude,
+        @Param("maxLongitude") Double maxLongitude
+    );
 }
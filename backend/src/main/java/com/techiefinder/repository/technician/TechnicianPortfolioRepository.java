@@ -1,6 +1,7 @@
 package com.techiefinder.repository.technician;
 
 import com.techiefinder.model.technician.TechnicianPortfolio;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,5 +9,6 @@ import java.util.List;
 
 @Repository
 public interface TechnicianPortfolioRepository extends JpaRepository<TechnicianPortfolio, Long> {
+    @EntityGraph(TechnicianPortfolio.WITH_CATEGORY)
     List<TechnicianPortfolio> findByTechnicianIdOrderByDisplayOrderAsc(Long technicianId);
 }
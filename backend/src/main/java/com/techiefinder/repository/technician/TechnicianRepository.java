@@ -1,25 +1,74 @@
 package com.techiefinder.repository.technician;
 
 import com.techiefinder.model.technician.Technician;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TechnicianRepository extends JpaRepository<Technician, Long> {
     Optional<Technician> findByUserId(Long userId);
+
+    // The public profile, read from the query cache -- see SecondLevelCacheConfig.
+    @EntityGraph(Technician.WITH_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Technician> findWithUserById(Long id);
+
+    @EntityGraph(Technician.WITH_USER)
+    Optional<Technician> findWithUserByUserId(Long userId);
+
     Optional<Technician> findByTechnicianId(String technicianId);
     List<Technician> findByVerificationStatus(Technician.VerificationStatus status);
     List<Technician> findByAvailableTrue();
+    long countByVerificationStatus(Technician.VerificationStatus status);
+
+    String SUMMARY_SELECT = "SELECT t.id AS id, t.technicianId AS technicianId, u.firstName AS firstName, " +
+            "u.lastName AS lastName, t.verificationStatus AS verificationStatus, t.available AS available, " +
+            "t.acceptingJobs AS acceptingJobs, t.rating AS rating, t.totalRatings AS totalRatings, " +
+            "t.completedJobs AS completedJobs, t.businessName AS businessName, t.bio AS bio, " +
+            "t.yearsOfExperience AS yearsOfExperience, t.createdAt AS createdAt FROM Technician t JOIN t.user u ";
+
+    // Keyset pages, newest first by (createdAt, id) -- see CursorPage.
+    @Query(SUMMARY_SELECT + "WHERE (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC")
+    List<TechnicianSummaryRow> findSummaries(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE t.available = true AND t.acceptingJobs = true")
+    List<TechnicianSummaryRow> findAvailableTechnicians();
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids AND t.available = true AND t.acceptingJobs = true")
+    List<TechnicianSummaryRow> findAvailableByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE t.id IN :ids")
+    List<TechnicianSummaryRow> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.rating AS rating, t.completedJobs AS completedJobs, " +
+           "t.cancelledJobs AS cancelledJobs, t.verificationStatus AS verificationStatus, " +
+           "t.available AS available, t.acceptingJobs AS acceptingJobs FROM Technician t")
+    List<TechnicianFeatureRow> findAllFeatureRows();
+
+    @Query("SELECT t.id AS id, t.rating AS rating, t.completedJobs AS completedJobs, " +
+           "t.cancelledJobs AS cancelledJobs, t.verificationStatus AS verificationStatus, " +
+           "t.available AS available, t.acceptingJobs AS acceptingJobs FROM Technician t WHERE t.id = :id")
+    Optional<TechnicianFeatureRow> findFeatureRowById(@Param("id") Long id);
 
-    @Query("SELECT t FROM Technician t WHERE t.available = true AND t.acceptingJobs = true")
-    List<Technician> findAvailableTechnicians();
+    /** Mean rating across technicians who have been rated at least once; null if none have. */
+    @Query("SELECT AVG(t.rating) FROM Technician t WHERE t.totalRatings > 0 AND t.rating IS NOT NULL")
+    Double averageRatingOfRatedTechnicians();
 
-    @Query("SELECT DISTINCT t FROM Technician t JOIN t.services s " +
-           "WHERE t.available = true AND t.acceptingJobs = true AND s.category.slug = :categorySlug")
-    List<Technician> findAvailableByCategorySlug(@Param("categorySlug") String categorySlug);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY_SELECT + "WHERE t.available = true AND t.acceptingJobs = true AND EXISTS " +
+           "(SELECT s.id FROM TechnicianService s WHERE s.technician = t AND s.category.slug = :categorySlug)")
+    List<TechnicianSummaryRow> findAvailableByCategorySlug(@Param("categorySlug") String categorySlug);
 }
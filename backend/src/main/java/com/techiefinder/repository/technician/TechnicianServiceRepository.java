@@ -1,13 +1,28 @@
 package com.techiefinder.repository.technician;
 
 import com.techiefinder.model.technician.TechnicianService;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface TechnicianServiceRepository extends JpaRepository<TechnicianService, Long> {
+    @EntityGraph(TechnicianService.WITH_CATEGORY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TechnicianService> findByTechnicianId(Long technicianId);
+
     List<TechnicianService> findByCategoryId(Long categoryId);
+
+    @Query("SELECT DISTINCT s.technician.id AS technicianId, s.category.id AS categoryId FROM TechnicianService s")
+    List<TechnicianCategoryPair> findAllTechnicianCategoryPairs();
+
+    @Query("SELECT DISTINCT s.category.id FROM TechnicianService s WHERE s.technician.id = :technicianId")
+    List<Long> findCategoryIdsByTechnicianId(@Param("technicianId") Long technicianId);
 }
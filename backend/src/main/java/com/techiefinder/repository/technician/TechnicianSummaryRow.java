@@ -0,0 +1,41 @@
+package com.techiefinder.repository.technician;
+
+import com.techiefinder.model.technician.Technician;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The public face of a technician -- everything TechnicianDto shows, with the
+ * name from the user joined in -- without loading the User, its profile or the
+ * technician's location.
+ */
+public interface TechnicianSummaryRow {
+    Long getId();
+
+    String getTechnicianId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Technician.VerificationStatus getVerificationStatus();
+
+    Boolean getAvailable();
+
+    Boolean getAcceptingJobs();
+
+    BigDecimal getRating();
+
+    Integer getTotalRatings();
+
+    Integer getCompletedJobs();
+
+    String getBusinessName();
+
+    String getBio();
+
+    Integer getYearsOfExperience();
+
+    LocalDateTime getCreatedAt();
+}
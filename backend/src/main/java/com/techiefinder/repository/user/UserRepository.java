@@ -1,9 +1,16 @@
 package com.techiefinder.repository.user;
 
 import com.techiefinder.model.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +20,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByAuthProviderAndProviderId(User.AuthProvider authProvider, String providerId);
     Boolean existsByEmail(String email);
     Boolean existsByPhoneNumber(String phoneNumber);
+    long countByRole(User.UserRole role);
+
+    // Keyset pages, newest first by (createdAt, id) -- see CursorPage.
+    @Query("SELECT u FROM User u WHERE (u.createdAt < :createdAt OR (u.createdAt = :createdAt AND u.id < :id)) ORDER BY u.createdAt DESC, u.id DESC")
+    List<User> findPage(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<UserTokenVersion> findBumpedTokenVersions();
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.updatedAt >= :since")
+    List<UserTokenVersion> findTokenVersionsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // Forgets a push token FCM reported as no longer valid, on whichever user still holds it.
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
 }
@@ -0,0 +1,8 @@
+package com.techiefinder.repository.user;
+
+/** A user's current token version, without loading the User (and its eager profile). */
+public interface UserTokenVersion {
+    Long getId();
+
+    Long getTokenVersion();
+}
@@ -0,0 +1,111 @@
+package com.techiefinder.security;
+
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.repository.user.UserTokenVersion;
+import com.techiefinder.service.common.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Which users' token versions have moved on, so JwtAuthenticationFilter can
+ * trust an access token's own uid/role/ver claims without a database lookup and
+ * only go to the database for a token issued before the account last changed.
+ *
+ * Only accounts whose version has ever been bumped are held. The set is loaded
+ * when the application starts, updated on this instance as soon as a bump
+ * commits (recordAfterCommit), and polled every
+ * jwt.account-version.poll-interval-ms for bumps made by other instances -- so
+ * across a cluster a suspension reaches every instance within one poll.
+ */
+@Component
+public class AccountVersionTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountVersionTracker.class);
+
+    // Re-read a little before the previous poll so a transaction that stamped
+    // updated_at before that poll but committed after it is still seen.
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, Long> versionByUserId = new ConcurrentHashMap<>();
+    // A lock rather than synchronized: it's held across the JDBC calls below, and
+    // synchronized would pin a virtual thread's carrier while they block.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean loaded;
+    private volatile LocalDateTime lastPollStartedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            LocalDateTime startedAt = LocalDateTime.now();
+            for (UserTokenVersion row : userRepository.findBumpedTokenVersions()) {
+                record(row.getId(), row.getTokenVersion());
+            }
+            lastPollStartedAt = startedAt;
+            loaded = true;
+            log.info("Account version tracker loaded with {} bumped accounts", versionByUserId.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.account-version.poll-interval-ms:10000}")
+    public void poll() {
+        lock.lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            LocalDateTime startedAt = LocalDateTime.now();
+            for (UserTokenVersion row : userRepository.findTokenVersionsUpdatedSince(
+                    lastPollStartedAt.minusSeconds(POLL_OVERLAP_SECONDS))) {
+                record(row.getId(), row.getTokenVersion());
+            }
+            lastPollStartedAt = startedAt;
+        } catch (RuntimeException e) {
+            // The next poll covers this window again.
+            log.warn("Could not poll account token versions: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether a token carrying this version can be trusted as-is. Until the
+     * tracker has loaded, nothing is -- every token goes to the database.
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        if (!loaded) {
+            return false;
+        }
+        Long current = versionByUserId.get(userId);
+        return tokenVersion >= (current != null ? current : 0L);
+    }
+
+    public void recordAfterCommit(Long userId, long tokenVersion) {
+        TransactionHooks.afterCommit(() -> record(userId, tokenVersion));
+    }
+
+    private void record(Long userId, Long tokenVersion) {
+        if (tokenVersion != null && tokenVersion > 0) {
+            versionByUserId.merge(userId, tokenVersion, Math::max);
+        }
+    }
+}
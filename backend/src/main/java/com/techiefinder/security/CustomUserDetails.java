@@ -19,6 +19,7 @@ public class CustomUserDetails implements UserDetails {
     private String password;
     private User.UserRole role;
     private Boolean active;
+    private Long tokenVersion;
 
     public static CustomUserDetails build(User user) {
         return new CustomUserDetails(
@@ -26,7 +27,8 @@ public class CustomUserDetails implements UserDetails {
                 user.getEmail(),
                 user.getPassword(),
                 user.getRole(),
-                user.getActive()
+                user.getActive(),
+                user.getTokenVersion()
         );
     }
 
@@ -0,0 +1,126 @@
+package com.techiefinder.security;
+
+import com.techiefinder.service.common.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The principal a verified access token resolved to, so JwtAuthenticationFilter
+ * can skip both the signature check and the user lookup for a token it has
+ * already seen. Entries are keyed by a SHA-256 of the token (the raw bearer
+ * token is never held), live for at most jwt.principal-cache.ttl-ms and never
+ * past the token's own expiry, and the least recently used are dropped beyond
+ * jwt.principal-cache.max-size.
+ *
+ * UserService.setActive evicts the user's entries once the change commits, so a
+ * suspension takes effect on the next request; other instances stop using their
+ * entries once AccountVersionTracker polls the bump (see JwtPrincipalResolver).
+ * Other changes to a user (e.g. a role) are picked up when the entry expires.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    @Value("${jwt.principal-cache.ttl-ms:60000}")
+    private long ttlMs = 60_000;
+
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private int maxSize = 10_000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /** Null if the token isn't cached or its entry has expired. */
+    public CustomUserDetails get(String token) {
+        String key = keyFor(token);
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMs <= now) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.principal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String token, CustomUserDetails principal, Date tokenExpiresAt) {
+        if (maxSize <= 0 || ttlMs <= 0) {
+            return;
+        }
+        long expiresAtMs = System.currentTimeMillis() + ttlMs;
+        if (tokenExpiresAt != null) {
+            expiresAtMs = Math.min(expiresAtMs, tokenExpiresAt.getTime());
+        }
+        Entry entry = new Entry(principal, expiresAtMs);
+        String key = keyFor(token);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drops every cached token of the user once the current transaction commits. */
+    public void evictUserAfterCommit(Long userId) {
+        TransactionHooks.afterCommit(() -> evictUser(userId));
+    }
+
+    public void evictUser(Long userId) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> userId.equals(entry.principal.getId()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String keyFor(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to provide SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final CustomUserDetails principal;
+        private final long expiresAtMs;
+
+        private Entry(CustomUserDetails principal, long expiresAtMs) {
+            this.principal = principal;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.techiefinder.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a bearer token into its user for both the HTTP filter and the STOMP
+ * CONNECT handshake, so the two can't drift apart on what counts as valid.
+ */
+@Component
+public class JwtPrincipalResolver {
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @Autowired
+    private AccountVersionTracker accountVersionTracker;
+
+    /**
+     * The token's user; null for an invalid token. Comes from the principal
+     * cache, else from the token's own claims while its version is current, and
+     * only from the database for older tokens or accounts changed since issue.
+     * A cached principal is only used while its version is still current too:
+     * a suspension on another instance evicts nothing here, but reaches this
+     * instance's tracker within one poll.
+     */
+    public CustomUserDetails resolve(String jwt) {
+        CustomUserDetails cached = principalCache.get(jwt);
+        if (cached != null && accountVersionTracker.isCurrent(cached.getId(), cached.getTokenVersion())) {
+            return cached;
+        }
+        Claims claims = tokenProvider.parseClaims(jwt);
+        if (claims == null) {
+            return null;
+        }
+        CustomUserDetails userDetails = tokenProvider.principalFromClaims(claims);
+        if (userDetails == null || !accountVersionTracker.isCurrent(userDetails.getId(), userDetails.getTokenVersion())) {
+            userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        principalCache.put(jwt, userDetails, claims.getExpiration());
+        return userDetails;
+    }
+
+    /** The token in an "Authorization: Bearer ..." header value, or null. */
+    public static String bearerToken(String authorizationHeader) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ") && authorizationHeader.length() > 7) {
+            return authorizationHeader.substring(7);
+        }
+        return null;
+    }
+}
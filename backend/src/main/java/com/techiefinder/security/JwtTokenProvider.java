@@ -1,10 +1,13 @@
 package com.techiefinder.security;
 
+import com.techiefinder.model.user.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -14,6 +17,12 @@ import java.util.Date;
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String VERSION_CLAIM = "ver";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -23,21 +32,43 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh.expiration}")
     private long jwtRefreshExpirationMs;
 
+    // Built once: deriving the HMAC key and a parser per call showed up on every
+    // authenticated request.
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+        return generateAccessToken((CustomUserDetails) authentication.getPrincipal());
+    }
+
+    public String generateAccessToken(User user) {
+        return generateAccessToken(CustomUserDetails.build(user));
     }
 
-    public String generateTokenFromUsername(String username) {
+    /**
+     * An access token that carries the user's id, role and token version
+     * alongside the email subject, so JwtAuthenticationFilter can rebuild the
+     * principal from the token alone (see principalFromClaims).
+     */
+    public String generateAccessToken(CustomUserDetails user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(VERSION_CLAIM, user.getTokenVersion() != null ? user.getTokenVersion() : 0L)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(getSigningKey(), SignatureAlgorithm.HS512)
@@ -56,32 +87,41 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+    /**
+     * Verifies the token's signature and expiry and returns its claims, or null
+     * if it isn't a valid token -- one parse for callers that need both.
+     */
+    public Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            log.debug("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.debug("JWT claims string is empty: {}", e.getMessage());
+        }
+        return null;
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * The principal an access token vouches for, built from its claims alone;
+     * null for tokens without them (refresh tokens, and access tokens issued
+     * before the claims existed). The account was active when the token was
+     * issued -- whether it still is, is the caller's check against the version.
+     */
+    public CustomUserDetails principalFromClaims(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Number version = claims.get(VERSION_CLAIM, Number.class);
+        if (userId == null || role == null || version == null || claims.getSubject() == null) {
+            return null;
+        }
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (SecurityException | MalformedJwtException e) {
-            System.err.println("Invalid JWT signature: " + e.getMessage());
-        } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
+            return new CustomUserDetails(userId.longValue(), claims.getSubject(), null,
+                    User.UserRole.valueOf(role), true, version.longValue());
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+            return null;
         }
-        return false;
     }
 }
@@ -0,0 +1,94 @@
+package com.techiefinder.security;
+
+import com.techiefinder.service.messaging.ChatSessionRegistry;
+import com.techiefinder.service.messaging.MessagingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions and guards what they can reach. /ws itself is
+ * open (browsers can't set headers on the upgrade request), so the access
+ * token comes in the CONNECT frame's Authorization header and is checked the
+ * same way as on HTTP. After that a session may only subscribe to its own
+ * /user/queue/** and to /topic/conversations/{id} of conversations it belongs
+ * to, and may not SEND to broker destinations -- otherwise any client could
+ * publish fake messages to a conversation's subscribers.
+ *
+ * A rejected frame becomes a STOMP ERROR frame for the client.
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    public static final String APPLICATION_PREFIX = "/app";
+    private static final String USER_QUEUE_PREFIX = "/user/queue/";
+
+    @Autowired
+    private JwtPrincipalResolver principalResolver;
+
+    // Lazy: the messaging service needs the broker template, which needs this interceptor.
+    @Autowired
+    @Lazy
+    private MessagingService messagingService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> accessor.setUser(authenticate(accessor));
+            case SUBSCRIBE -> checkSubscribe(accessor);
+            case SEND -> checkSend(accessor);
+            default -> {
+                // UNSUBSCRIBE, ACK, NACK, DISCONNECT need nothing more.
+            }
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(StompHeaderAccessor accessor) {
+        String jwt = JwtPrincipalResolver.bearerToken(accessor.getFirstNativeHeader("Authorization"));
+        CustomUserDetails userDetails = jwt != null ? principalResolver.resolve(jwt) : null;
+        if (userDetails == null || !userDetails.isEnabled()) {
+            throw new SecurityException("A valid access token is required to connect");
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private void checkSubscribe(StompHeaderAccessor accessor) {
+        CustomUserDetails userDetails = principalOf(accessor);
+        String destination = accessor.getDestination();
+        if (destination != null && destination.startsWith(USER_QUEUE_PREFIX)) {
+            return;
+        }
+        Long conversationId = ChatSessionRegistry.conversationIdOf(destination);
+        if (conversationId == null || !messagingService.isParticipant(conversationId, userDetails.getId())) {
+            throw new SecurityException("You can't subscribe to " + destination);
+        }
+    }
+
+    private void checkSend(StompHeaderAccessor accessor) {
+        principalOf(accessor);
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(APPLICATION_PREFIX + "/")) {
+            throw new SecurityException("You can't send to " + destination);
+        }
+    }
+
+    private static CustomUserDetails principalOf(StompHeaderAccessor accessor) {
+        if (accessor.getUser() instanceof UsernamePasswordAuthenticationToken authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails;
+        }
+        throw new SecurityException("Not connected");
+    }
+}
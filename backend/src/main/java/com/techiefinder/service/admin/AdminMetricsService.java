@@ -0,0 +1,241 @@
+package com.techiefinder.service.admin;
+
+import com.techiefinder.dto.admin.MetricPointDto;
+import com.techiefinder.exception.ValidationException;
+import com.techiefinder.model.admin.MetricEvent;
+import com.techiefinder.model.admin.MetricRollup;
+import com.techiefinder.repository.admin.MetricEventRepository;
+import com.techiefinder.repository.admin.MetricRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hourly and daily rollups of admin metrics (bookings by status, revenue, new
+ * users, ratings, verifications) for the dashboard's trend charts.
+ *
+ * The services that cause those events call record() inside their transaction,
+ * which stages the event as a metric_events row in that same transaction -- it
+ * commits or rolls back with the booking or payment, and survives a crash.
+ * flush() periodically folds the staged events into metric_rollups, one
+ * "UPDATE ... SET event_count = event_count + ?" per bucket, deleting them in
+ * the same transaction. Inserting rather than updating on the request path
+ * keeps concurrent bookings from queueing on one bucket row. Time series are
+ * read straight from those small tables, adding the events still staged, and
+ * never write -- nothing is ever recomputed from bookings or payments. History
+ * starts when this was deployed.
+ */
+@Service
+public class AdminMetricsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminMetricsService.class);
+
+    static final int MAX_POINTS = 2000;
+
+    // Staged events folded per transaction.
+    static final int FOLD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MetricRollupRepository metricRollupRepository;
+
+    @Autowired
+    private MetricEventRepository metricEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void record(MetricRollup.Metric metric) {
+        record(metric, BigDecimal.ZERO);
+    }
+
+    /**
+     * Counts one event (adding amount to the bucket's total) as part of the
+     * current transaction, so a rolled-back booking or payment never shows up in
+     * the trends. Outside a transaction the event is written on its own.
+     */
+    public void record(MetricRollup.Metric metric, BigDecimal amount) {
+        metricEventRepository.save(MetricEvent.builder()
+                .metric(metric)
+                .occurredAt(LocalDateTime.now())
+                .amount(amount != null ? amount : BigDecimal.ZERO)
+                .build());
+    }
+
+    /** Folds the staged events, from every instance, into metric_rollups. */
+    @Scheduled(fixedDelayString = "${admin.metrics.flush-interval-ms:15000}")
+    public void flush() {
+        // A lock rather than synchronized: flush() runs JDBC, and a caller on a
+        // virtual thread would otherwise pin its carrier while it waits.
+        flushLock.lock();
+        try {
+            int folded;
+            do {
+                folded = foldBatch();
+            } while (folded == FOLD_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            // The events stay staged for the next flush.
+            log.warn("Could not fold metric events: {}", e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * One point per bucket from `from` to `to` (both rounded down to the bucket),
+     * zero-filled where nothing happened. Defaults to the last 48 hours or the
+     * last 30 days. Rollups and staged events are read from one snapshot, so a
+     * fold committing meanwhile is counted once: in one or the other.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<MetricPointDto> getTimeSeries(MetricRollup.Metric metric, MetricRollup.Granularity granularity,
+                                              LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = bucketStart(granularity, to != null ? to : LocalDateTime.now());
+        LocalDateTime start = bucketStart(granularity, from != null ? from
+                : granularity == MetricRollup.Granularity.HOUR ? end.minusHours(47) : end.minusDays(29));
+        if (start.isAfter(end)) {
+            throw new ValidationException("from must not be after to");
+        }
+        if (unit(granularity).between(start, end) >= MAX_POINTS) {
+            throw new ValidationException("At most " + MAX_POINTS + " points can be requested at once");
+        }
+
+        Map<LocalDateTime, Delta> buckets = new HashMap<>();
+        for (MetricRollup row : metricRollupRepository
+                .findByMetricAndGranularityAndBucketStartBetweenOrderByBucketStart(metric, granularity, start, end)) {
+            buckets.put(row.getBucketStart(), new Delta(row.getEventCount(), row.getAmount()));
+        }
+        for (MetricEvent event : metricEventRepository.findStaged(metric, start, end.plus(1, unit(granularity)))) {
+            buckets.merge(bucketStart(granularity, event.getOccurredAt()), new Delta(1, event.getAmount()), Delta::plus);
+        }
+
+        List<MetricPointDto> points = new ArrayList<>();
+        for (LocalDateTime bucket = start; !bucket.isAfter(end); bucket = bucket.plus(1, unit(granularity))) {
+            Delta total = buckets.get(bucket);
+            points.add(total != null
+                    ? new MetricPointDto(bucket, total.count, total.amount)
+                    : new MetricPointDto(bucket, 0, BigDecimal.ZERO));
+        }
+        return points;
+    }
+
+    /** Folds up to FOLD_BATCH_SIZE staged events; returns how many, 0 if there were none or another instance took them. */
+    private int foldBatch() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            return transaction.execute(this::fold);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created a bucket between our UPDATE and INSERT; the
+            // whole fold rolled back, and the UPDATE will find the bucket now.
+            return transaction.execute(this::fold);
+        }
+    }
+
+    private int fold(TransactionStatus status) {
+        List<MetricEvent> events = metricEventRepository.findBatch(PageRequest.of(0, FOLD_BATCH_SIZE));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = events.stream().map(MetricEvent::getId).toList();
+        // Deleting first locks the rows: an instance folding the same events waits
+        // here, then deletes fewer than it read and backs out instead of counting
+        // them twice.
+        if (metricEventRepository.deleteByIdIn(ids) < ids.size()) {
+            status.setRollbackOnly();
+            return 0;
+        }
+
+        Map<BucketKey, Delta> deltas = new HashMap<>();
+        for (MetricEvent event : events) {
+            Delta delta = new Delta(1, event.getAmount());
+            for (MetricRollup.Granularity granularity : MetricRollup.Granularity.values()) {
+                deltas.merge(new BucketKey(event.getMetric(), granularity, bucketStart(granularity, event.getOccurredAt())),
+                        delta, Delta::plus);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((key, delta) -> apply(key, delta, now));
+        return events.size();
+    }
+
+    private void apply(BucketKey key, Delta delta, LocalDateTime now) {
+        int updated = metricRollupRepository.addToBucket(
+                key.metric, key.granularity, key.bucketStart, delta.count, delta.amount, now);
+        if (updated == 0) {
+            metricRollupRepository.saveAndFlush(MetricRollup.builder()
+                    .metric(key.metric)
+                    .granularity(key.granularity)
+                    .bucketStart(key.bucketStart)
+                    .eventCount(delta.count)
+                    .amount(delta.amount)
+                    .build());
+        }
+    }
+
+    private static LocalDateTime bucketStart(MetricRollup.Granularity granularity, LocalDateTime at) {
+        return at.truncatedTo(unit(granularity));
+    }
+
+    private static ChronoUnit unit(MetricRollup.Granularity granularity) {
+        return granularity == MetricRollup.Granularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+    }
+
+    private static final class BucketKey {
+        private final MetricRollup.Metric metric;
+        private final MetricRollup.Granularity granularity;
+        private final LocalDateTime bucketStart;
+
+        private BucketKey(MetricRollup.Metric metric, MetricRollup.Granularity granularity, LocalDateTime bucketStart) {
+            this.metric = metric;
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey)) return false;
+            BucketKey other = (BucketKey) o;
+            return metric == other.metric && granularity == other.granularity && bucketStart.equals(other.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metric, granularity, bucketStart);
+        }
+    }
+
+    private static final class Delta {
+        private final long count;
+        private final BigDecimal amount;
+
+        private Delta(long count, BigDecimal amount) {
+            this.count = count;
+            this.amount = amount;
+        }
+
+        private Delta plus(Delta other) {
+            return new Delta(count + other.count, amount.add(other.amount));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.techiefinder.model.technician.Technician;
 import com.techiefinder.model.technician.TechnicianCertification;
 import com.techiefinder.model.user.User;
 import com.techiefinder.repository.booking.BookingRepository;
+import com.techiefinder.repository.booking.BookingStatusTotals;
 import com.techiefinder.repository.rating.RatingRepository;
 import com.techiefinder.repository.technician.TechnicianCertificationRepository;
 import com.techiefinder.repository.technician.TechnicianRepository;
@@ -14,7 +15,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 @Service
 public class AdminStatsService {
@@ -34,41 +34,42 @@ public class AdminStatsService {
     @Autowired
     private TechnicianCertificationRepository certificationRepository;
 
+    /**
+     * Dashboard totals, computed by aggregate queries in the database rather than
+     * by loading every user, technician, booking and certification row.
+     */
     public AdminStatsDto getStats() {
-        List<User> users = userRepository.findAll();
-        List<Technician> technicians = technicianRepository.findAll();
-        List<Booking> bookings = bookingRepository.findAll();
-
         AdminStatsDto stats = new AdminStatsDto();
-        stats.setTotalUsers(users.size());
-        stats.setTotalCustomers(users.stream().filter(u -> u.getRole() == User.UserRole.USER).count());
-        stats.setTotalTechnicians(technicians.size());
-        stats.setPendingTechnicianVerifications(technicians.stream()
-                .filter(t -> t.getVerificationStatus() == Technician.VerificationStatus.PENDING)
-                .count());
-        stats.setPendingCertificationVerifications(certificationRepository.findAll().stream()
-                .filter(c -> c.getVerificationStatus() == TechnicianCertification.VerificationStatus.PENDING)
-                .count());
-
-        stats.setTotalBookings(bookings.size());
-        stats.setPendingBookings(bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.PENDING).count());
-        stats.setCompletedBookings(bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.COMPLETED).count());
-        stats.setCancelledBookings(bookings.stream()
-                .filter(b -> b.getStatus() == Booking.BookingStatus.CANCELLED || b.getStatus() == Booking.BookingStatus.REJECTED)
-                .count());
+        stats.setTotalUsers(userRepository.count());
+        stats.setTotalCustomers(userRepository.countByRole(User.UserRole.USER));
+        stats.setTotalTechnicians(technicianRepository.count());
+        stats.setPendingTechnicianVerifications(
+                technicianRepository.countByVerificationStatus(Technician.VerificationStatus.PENDING));
+        stats.setPendingCertificationVerifications(
+                certificationRepository.countByVerificationStatus(TechnicianCertification.VerificationStatus.PENDING));
 
-        BigDecimal totalRevenue = bookings.stream()
-                .filter(b -> b.getPaymentStatus() == Booking.PaymentStatus.PAID)
-                .map(b -> b.getFinalPrice() != null ? b.getFinalPrice() : b.getEstimatedPrice())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalBookings = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        for (BookingStatusTotals totals : bookingRepository.findTotalsByStatus(Booking.PaymentStatus.PAID)) {
+            long count = totals.getBookings();
+            totalBookings += count;
+            if (totals.getPaidRevenue() != null) {
+                totalRevenue = totalRevenue.add(totals.getPaidRevenue());
+            }
+            Booking.BookingStatus status = totals.getStatus();
+            if (status == Booking.BookingStatus.PENDING) {
+                stats.setPendingBookings(count);
+            } else if (status == Booking.BookingStatus.COMPLETED) {
+                stats.setCompletedBookings(count);
+            } else if (status == Booking.BookingStatus.CANCELLED || status == Booking.BookingStatus.REJECTED) {
+                stats.setCancelledBookings(stats.getCancelledBookings() + count);
+            }
+        }
+        stats.setTotalBookings(totalBookings);
         stats.setTotalRevenue(totalRevenue);
 
         stats.setTotalRatings(ratingRepository.count());
-        java.util.OptionalDouble averageRating = technicians.stream()
-                .filter(t -> t.getTotalRatings() != null && t.getTotalRatings() > 0 && t.getRating() != null)
-                .mapToDouble(t -> t.getRating().doubleValue())
-                .average();
-        stats.setAverageRating(averageRating.isPresent() ? averageRating.getAsDouble() : null);
+        stats.setAverageRating(technicianRepository.averageRatingOfRatedTechnicians());
 
         return stats;
     }
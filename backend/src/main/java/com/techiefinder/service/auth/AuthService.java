@@ -4,10 +4,13 @@ import com.techiefinder.dto.auth.AuthResponse;
 import com.techiefinder.dto.auth.LoginRequest;
 import com.techiefinder.dto.auth.RegisterRequest;
 import com.techiefinder.exception.ValidationException;
+import com.techiefinder.model.admin.MetricRollup;
 import com.techiefinder.model.user.User;
 import com.techiefinder.model.user.UserProfile;
 import com.techiefinder.repository.user.UserRepository;
 import com.techiefinder.security.JwtTokenProvider;
+import com.techiefinder.service.admin.AdminMetricsService;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -34,6 +37,9 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private AdminMetricsService metricsService;
+
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -60,6 +66,7 @@ public class AuthService {
                 .build();
 
         user = userRepository.save(user);
+        metricsService.record(MetricRollup.Metric.NEW_USERS);
 
         UserProfile profile = UserProfile.builder()
                 .user(user)
@@ -71,7 +78,7 @@ public class AuthService {
         user.setProfile(profile);
         userRepository.save(user);
 
-        String accessToken = tokenProvider.generateTokenFromUsername(user.getEmail());
+        String accessToken = tokenProvider.generateAccessToken(user);
         String refreshToken = tokenProvider.generateRefreshToken(user.getEmail());
 
         return AuthResponse.builder()
@@ -123,11 +130,12 @@ public class AuthService {
      * quick-unlock: the refresh token is the only thing stored on-device.
      */
     public AuthResponse refresh(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken)) {
+        Claims claims = tokenProvider.parseClaims(refreshToken);
+        if (claims == null) {
             throw new BadCredentialsException("Invalid or expired refresh token");
         }
 
-        String email = tokenProvider.getUsernameFromToken(refreshToken);
+        String email = claims.getSubject();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -135,7 +143,7 @@ public class AuthService {
             throw new DisabledException("This account has been suspended");
         }
 
-        String accessToken = tokenProvider.generateTokenFromUsername(user.getEmail());
+        String accessToken = tokenProvider.generateAccessToken(user);
         String newRefreshToken = tokenProvider.generateRefreshToken(user.getEmail());
 
         return AuthResponse.builder()
@@ -3,6 +3,7 @@ package com.techiefinder.service.auth;
 import com.techiefinder.dto.auth.AuthResponse;
 import com.techiefinder.dto.auth.SocialLoginRequest;
 import com.techiefinder.exception.ValidationException;
+import com.techiefinder.model.admin.MetricRollup;
 import com.techiefinder.model.user.User;
 import com.techiefinder.model.user.UserProfile;
 import com.techiefinder.repository.user.UserRepository;
@@ -10,6 +11,7 @@ import com.techiefinder.security.JwtTokenProvider;
 import com.techiefinder.security.social.AppleIdTokenVerifierClient;
 import com.techiefinder.security.social.GoogleIdTokenVerifierClient;
 import com.techiefinder.security.social.SocialIdentity;
+import com.techiefinder.service.admin.AdminMetricsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +31,9 @@ public class SocialAuthService {
     @Autowired
     private AppleIdTokenVerifierClient appleClient;
 
+    @Autowired
+    private AdminMetricsService metricsService;
+
     @Transactional
     public AuthResponse loginWithGoogle(SocialLoginRequest request) {
         if (!googleClient.isConfigured()) {
@@ -53,7 +58,7 @@ public class SocialAuthService {
         User user = userRepository.findByAuthProviderAndProviderId(identity.getProvider(), identity.getSubject())
                 .orElseGet(() -> linkOrCreate(identity, request));
 
-        String accessToken = tokenProvider.generateTokenFromUsername(user.getEmail());
+        String accessToken = tokenProvider.generateAccessToken(user);
         String refreshToken = tokenProvider.generateRefreshToken(user.getEmail());
 
         return AuthResponse.builder()
@@ -104,6 +109,7 @@ public class SocialAuthService {
                 .phoneVerified(false)
                 .build();
         user = userRepository.save(user);
+        metricsService.record(MetricRollup.Metric.NEW_USERS);
 
         UserProfile profile = UserProfile.builder()
                 .user(user)
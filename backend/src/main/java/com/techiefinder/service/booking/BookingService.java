@@ -3,24 +3,28 @@ package com.techiefinder.service.booking;
 import com.techiefinder.dto.booking.BookingDto;
 import com.techiefinder.dto.booking.BookingRequest;
 import com.techiefinder.dto.booking.BookingStatusUpdateRequest;
+import com.techiefinder.dto.common.CursorPage;
+import com.techiefinder.model.admin.MetricRollup;
 import com.techiefinder.model.booking.Booking;
 import com.techiefinder.model.notification.Notification;
 import com.techiefinder.model.technician.Technician;
 import com.techiefinder.model.user.User;
 import com.techiefinder.repository.booking.BookingRepository;
+import com.techiefinder.repository.booking.BookingSummaryRow;
 import com.techiefinder.repository.technician.TechnicianRepository;
 import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.admin.AdminMetricsService;
 import com.techiefinder.service.notification.NotificationService;
+import com.techiefinder.service.technician.PublicResponseCache;
+import com.techiefinder.service.technician.recommendation.TechnicianFeatureStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class BookingService {
@@ -44,6 +48,15 @@ public class BookingService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TechnicianFeatureStore featureStore;
+
+    @Autowired
+    private PublicResponseCache responseCache;
+
+    @Autowired
+    private AdminMetricsService metricsService;
+
     @Transactional
     public BookingDto createBooking(Long userId, BookingRequest request) {
         User user = userRepository.findById(userId)
@@ -74,6 +87,7 @@ public class BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
+        metricsService.record(MetricRollup.Metric.BOOKINGS_CREATED);
 
         notificationService.notify(technician.getUser(), Notification.NotificationType.BOOKING_CREATED,
                 "New booking request",
@@ -84,38 +98,41 @@ public class BookingService {
     }
 
     public BookingDto getBookingById(Long id, Long requestingUserId) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = bookingRepository.findWithPartiesById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
         assertParticipant(booking, requestingUserId);
         return mapToDto(booking);
     }
 
-    public List<BookingDto> getMyBookings(Long userId) {
-        return bookingRepository.findByUserId(userId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<BookingDto> getMyBookings(Long userId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(bookingRepository.findSummariesByUserId(
+                userId, before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, BookingSummaryRow::getCreatedAt, BookingSummaryRow::getId, this::mapToDto);
     }
 
-    public List<BookingDto> getMyTechnicianBookings(Long userId) {
+    public CursorPage<BookingDto> getMyTechnicianBookings(Long userId, String cursor, Integer size) {
         Technician technician = technicianRepository.findByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("This account has no technician profile"));
-        return bookingRepository.findByTechnicianId(technician.getId())
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(bookingRepository.findSummariesByTechnicianId(
+                technician.getId(), before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, BookingSummaryRow::getCreatedAt, BookingSummaryRow::getId, this::mapToDto);
     }
 
-    public List<BookingDto> getAllBookings() {
-        return bookingRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<BookingDto> getAllBookings(String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(bookingRepository.findSummaries(
+                before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, BookingSummaryRow::getCreatedAt, BookingSummaryRow::getId, this::mapToDto);
     }
 
     @Transactional
     public BookingDto updateStatus(Long bookingId, Long actingUserId, BookingStatusUpdateRequest request) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithPartiesById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
         boolean isTechnician = booking.getTechnician().getUser().getId().equals(actingUserId);
@@ -138,6 +155,8 @@ public class BookingService {
             Technician technician = booking.getTechnician();
             technician.setCompletedJobs(technician.getCompletedJobs() + 1);
             technicianRepository.save(technician);
+            featureStore.refreshAfterCommit(technician.getId());
+            responseCache.evictAfterCommit(PublicResponseCache.Resource.TECHNICIAN, technician.getId());
         } else if (newStatus == Booking.BookingStatus.CANCELLED) {
             booking.setCancelledAt(LocalDateTime.now());
             booking.setCancellationReason(request.getReason());
@@ -146,10 +165,23 @@ public class BookingService {
                 Technician technician = booking.getTechnician();
                 technician.setCancelledJobs(technician.getCancelledJobs() + 1);
                 technicianRepository.save(technician);
+                featureStore.refreshAfterCommit(technician.getId());
+                responseCache.evictAfterCommit(PublicResponseCache.Resource.TECHNICIAN, technician.getId());
             }
         }
 
         booking = bookingRepository.save(booking);
+        MetricRollup.Metric statusMetric = switch (newStatus) {
+            case CONFIRMED -> MetricRollup.Metric.BOOKINGS_CONFIRMED;
+            case IN_PROGRESS -> MetricRollup.Metric.BOOKINGS_IN_PROGRESS;
+            case COMPLETED -> MetricRollup.Metric.BOOKINGS_COMPLETED;
+            case CANCELLED -> MetricRollup.Metric.BOOKINGS_CANCELLED;
+            case REJECTED -> MetricRollup.Metric.BOOKINGS_REJECTED;
+            default -> null;
+        };
+        if (statusMetric != null) {
+            metricsService.record(statusMetric);
+        }
 
         User notifyTarget = isTechnician ? booking.getUser() : booking.getTechnician().getUser();
         Notification.NotificationType notificationType = switch (newStatus) {
@@ -197,4 +229,22 @@ public class BookingService {
         dto.setPaymentStatus(booking.getPaymentStatus().name());
         return dto;
     }
+
+    private BookingDto mapToDto(BookingSummaryRow row) {
+        BookingDto dto = new BookingDto();
+        dto.setId(row.getId());
+        dto.setBookingNumber(row.getBookingNumber());
+        dto.setUserId(row.getUserId());
+        dto.setTechnicianId(row.getTechnicianId());
+        dto.setCustomerName(row.getCustomerFirstName() + " " + row.getCustomerLastName());
+        dto.setTechnicianName(row.getTechnicianFirstName() + " " + row.getTechnicianLastName());
+        dto.setStatus(row.getStatus().name());
+        dto.setScheduledDateTime(row.getScheduledDateTime());
+        dto.setServiceDescription(row.getServiceDescription());
+        dto.setServiceAddress(row.getServiceAddress());
+        dto.setEstimatedPrice(row.getEstimatedPrice());
+        dto.setFinalPrice(row.getFinalPrice());
+        dto.setPaymentStatus(row.getPaymentStatus().name());
+        return dto;
+    }
 }
@@ -0,0 +1,29 @@
+package com.techiefinder.service.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Side effects that must only happen once a write is durable -- updating an
+ * in-memory cache or index, pushing an event to a client -- run after the
+ * current transaction commits, and never if it rolls back. Outside a
+ * transaction the write is already committed, so they run straight away.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.techiefinder.service.delivery;
+
+/** How one push, email or SMS send went, as NotificationDispatcher records it. */
+public enum DeliveryResult {
+    SENT,
+    /** Worth retrying later (provider unavailable, quota exceeded, ...). */
+    FAILED,
+    /** The recipient will never work again -- a push token FCM no longer accepts -- and should be forgotten. */
+    INVALID_RECIPIENT
+}
@@ -5,14 +5,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Sends email via the configured SMTP account (spring.mail.*). Without real
  * credentials (the dev placeholders in application.properties), isConfigured()
  * is false and callers should skip sending rather than fail with an SMTP auth error.
+ *
+ * sendBatch() hands a whole batch to one JavaMailSender.send call, which sends
+ * it over a single SMTP session -- one connect, STARTTLS and AUTH for the
+ * batch instead of for every message.
  */
 @Component
 public class EmailClient {
@@ -36,16 +48,111 @@ public class EmailClient {
             return false;
         }
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromAddress);
-            message.setTo(toAddress);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
+            mailSender.send(toMessage(new Email(toAddress, subject, body)));
             return true;
         } catch (MailException e) {
             log.warn("Email delivery failed", e);
             return false;
         }
     }
+
+    /**
+     * Sends the emails over one SMTP session and returns whether each was sent,
+     * in the same order. A rejected recipient fails only its own message; a
+     * failed connection or login fails the whole batch.
+     */
+    public List<Boolean> sendBatch(List<Email> emails) {
+        List<Boolean> results = new ArrayList<>(Collections.nCopies(emails.size(), false));
+        if (!isConfigured()) {
+            return results;
+        }
+
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i++) {
+            String to = emails.get(i).getTo();
+            if (to != null && !to.isBlank()) {
+                pending.add(i);
+            }
+        }
+        // A failure is reported in a map keyed by its message, where equal messages
+        // would share one entry; so identical emails (same address, subject and body)
+        // go out in separate sends, one of each per session.
+        while (!pending.isEmpty()) {
+            List<Integer> indexes = new ArrayList<>();
+            List<SimpleMailMessage> messages = new ArrayList<>();
+            Set<SimpleMailMessage> distinct = new HashSet<>();
+            List<Integer> duplicates = new ArrayList<>();
+            for (int i : pending) {
+                SimpleMailMessage message = toMessage(emails.get(i));
+                if (distinct.add(message)) {
+                    indexes.add(i);
+                    messages.add(message);
+                } else {
+                    duplicates.add(i);
+                }
+            }
+            if (!send(messages, indexes, results)) {
+                break;
+            }
+            pending = duplicates;
+        }
+        return results;
+    }
+
+    /** Sends one session's messages, recording each result at its index; false if none could be sent. */
+    private boolean send(List<SimpleMailMessage> messages, List<Integer> indexes, List<Boolean> results) {
+        // Matched by identity: the failed map holds the very messages passed in.
+        Set<Object> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Keyed by the SimpleMailMessage that failed; the rest were sent.
+            // Without that detail, none of them can be assumed sent.
+            failed.addAll(e.getFailedMessages().keySet());
+            log.warn("{} of {} emails failed", failed.isEmpty() ? messages.size() : failed.size(), messages.size(), e);
+            if (failed.isEmpty()) {
+                return false;
+            }
+        } catch (MailException e) {
+            log.warn("Email batch of {} failed", messages.size(), e);
+            return false;
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            results.set(indexes.get(i), !failed.contains(messages.get(i)));
+        }
+        return true;
+    }
+
+    private SimpleMailMessage toMessage(Email email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromAddress);
+        message.setTo(email.getTo());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    public static final class Email {
+        private final String to;
+        private final String subject;
+        private final String body;
+
+        public Email(String to, String subject, String body) {
+            this.to = to;
+            this.subject = subject;
+            this.body = body;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
 }
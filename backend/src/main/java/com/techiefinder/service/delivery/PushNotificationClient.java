@@ -3,10 +3,13 @@ package com.techiefinder.service.delivery;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,18 +20,30 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * Sends push notifications via Firebase Cloud Messaging when a real service
  * account is configured at firebase.config.path. Without one (the default --
  * no file ships in this repo, since it's a real Google Cloud credential),
  * isConfigured() is false and callers should skip sending rather than fail.
+ *
+ * sendBatch() sends many pushes with one FCM sendEach call per 500 (FCM's
+ * limit) instead of one HTTPS round trip each, and reports each push's result
+ * separately -- including which tokens FCM says are no longer valid, so the
+ * caller can stop sending to them.
  */
 @Component
 public class PushNotificationClient {
 
     private static final Logger log = LoggerFactory.getLogger(PushNotificationClient.class);
 
+    /** The most messages FCM accepts in one sendEach call. */
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final ResourceLoader resourceLoader = new DefaultResourceLoader();
 
     @Value("${firebase.config.path}")
@@ -62,19 +77,107 @@ public class PushNotificationClient {
 
     /** Best-effort: returns whether the push was actually sent. */
     public boolean send(String fcmToken, String title, String body) {
-        if (!isConfigured() || fcmToken == null || fcmToken.isBlank()) {
+        if (fcmToken == null || fcmToken.isBlank()) {
             return false;
         }
+        return sendBatch(List.of(new Push(fcmToken, title, body))).get(0) == DeliveryResult.SENT;
+    }
+
+    /**
+     * Sends the pushes in sendEach batches of up to MAX_BATCH_SIZE and returns
+     * one result per push, in the same order. A batch that fails as a whole
+     * (e.g. FCM unreachable) reports FAILED for every push in it.
+     */
+    public List<DeliveryResult> sendBatch(List<Push> pushes) {
+        List<DeliveryResult> results = new ArrayList<>(pushes.size());
+        for (int from = 0; from < pushes.size(); from += MAX_BATCH_SIZE) {
+            results.addAll(sendChunk(pushes.subList(from, Math.min(from + MAX_BATCH_SIZE, pushes.size()))));
+        }
+        return results;
+    }
+
+    private List<DeliveryResult> sendChunk(List<Push> chunk) {
+        List<DeliveryResult> results = new ArrayList<>(Collections.nCopies(chunk.size(), DeliveryResult.FAILED));
+        if (!isConfigured()) {
+            return results;
+        }
+
+        // Blank tokens never reach FCM; the rest go out in one call.
+        List<Integer> sentIndexes = new ArrayList<>();
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Push push = chunk.get(i);
+            if (push.getToken() == null || push.getToken().isBlank()) {
+                results.set(i, DeliveryResult.INVALID_RECIPIENT);
+                continue;
+            }
+            sentIndexes.add(i);
+            messages.add(Message.builder()
+                    .setToken(push.getToken())
+                    .setNotification(Notification.builder().setTitle(push.getTitle()).setBody(push.getBody()).build())
+                    .build());
+        }
+        if (messages.isEmpty()) {
+            return results;
+        }
+
         try {
-            Message message = Message.builder()
-                    .setToken(fcmToken)
-                    .setNotification(Notification.builder().setTitle(title).setBody(body).build())
-                    .build();
-            messaging.send(message);
-            return true;
+            BatchResponse batch = messaging.sendEach(messages);
+            List<SendResponse> responses = batch.getResponses();
+            for (int i = 0; i < responses.size(); i++) {
+                results.set(sentIndexes.get(i), resultOf(responses.get(i)));
+            }
+            if (batch.getFailureCount() > 0) {
+                log.warn("{} of {} push notifications failed", batch.getFailureCount(), messages.size());
+            }
         } catch (FirebaseMessagingException e) {
-            log.warn("Push notification failed", e);
-            return false;
+            log.warn("Push notification batch of {} failed", messages.size(), e);
+        }
+        return results;
+    }
+
+    private static DeliveryResult resultOf(SendResponse response) {
+        if (response.isSuccessful()) {
+            return DeliveryResult.SENT;
+        }
+        FirebaseMessagingException error = response.getException();
+        MessagingErrorCode code = error != null ? error.getMessagingErrorCode() : null;
+        // UNREGISTERED: the app was uninstalled or the token rotated; SENDER_ID_MISMATCH:
+        // the token was issued to another Firebase project -- neither will ever succeed.
+        if (code == MessagingErrorCode.UNREGISTERED || code == MessagingErrorCode.SENDER_ID_MISMATCH) {
+            return DeliveryResult.INVALID_RECIPIENT;
+        }
+        // INVALID_ARGUMENT covers a malformed token but also a bad payload (too large,
+        // a reserved data key, ...), which says nothing about the token; only the
+        // former names it.
+        if (code == MessagingErrorCode.INVALID_ARGUMENT && error.getMessage() != null
+                && error.getMessage().toLowerCase(Locale.ROOT).contains("registration token")) {
+            return DeliveryResult.INVALID_RECIPIENT;
+        }
+        return DeliveryResult.FAILED;
+    }
+
+    public static final class Push {
+        private final String token;
+        private final String title;
+        private final String body;
+
+        public Push(String token, String title, String body) {
+            this.token = token;
+            this.title = title;
+            this.body = body;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getBody() {
+            return body;
         }
     }
 }
@@ -0,0 +1,102 @@
+package com.techiefinder.service.messaging;
+
+import com.techiefinder.dto.messaging.ChatEventDto;
+import com.techiefinder.dto.messaging.MessageDto;
+import com.techiefinder.dto.messaging.UnreadCountDto;
+import com.techiefinder.model.user.User;
+import com.techiefinder.service.common.TransactionHooks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes chat changes to connected clients: message and read-receipt events to
+ * everyone subscribed to /topic/conversations/{id} (the broker fans each one
+ * out to the conversation's sessions), and a participant's new unread count to
+ * their own /user/queue/unread. Frames go out once the transaction commits, so
+ * a client never sees a message a rollback took back, and only when the
+ * registry has someone to receive them.
+ *
+ * Read receipts are held for messaging.read-receipts.window-ms and merged per
+ * conversation and reader, so a client marking messages read one by one as
+ * they scroll into view sends the other side one receipt, not dozens.
+ */
+@Component
+public class ChatEventPublisher {
+
+    public static final String UNREAD_QUEUE = "/queue/unread";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ChatSessionRegistry sessionRegistry;
+
+    private final Map<String, ChatEventDto> pendingReceipts = new ConcurrentHashMap<>();
+
+    public void messageSent(MessageDto message) {
+        ChatEventDto event = new ChatEventDto();
+        event.setType(ChatEventDto.EventType.MESSAGE);
+        event.setConversationId(message.getConversationId());
+        event.setMessage(message);
+        toConversation(event);
+    }
+
+    public void conversationRead(Long conversationId, Long readerId, Long upToMessageId, LocalDateTime readAt) {
+        ChatEventDto event = new ChatEventDto();
+        event.setType(ChatEventDto.EventType.READ);
+        event.setConversationId(conversationId);
+        event.setReaderId(readerId);
+        event.setUpToMessageId(upToMessageId);
+        event.setReadAt(readAt);
+        TransactionHooks.afterCommit(() -> {
+            if (sessionRegistry.hasSubscribers(conversationId)) {
+                pendingReceipts.merge(conversationId + ":" + readerId, event, ChatEventPublisher::mergeReceipts);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${messaging.read-receipts.window-ms:500}")
+    public void flushReadReceipts() {
+        for (String key : pendingReceipts.keySet()) {
+            ChatEventDto receipt = pendingReceipts.remove(key);
+            if (receipt != null) {
+                messagingTemplate.convertAndSend(ChatSessionRegistry.CONVERSATION_TOPIC + receipt.getConversationId(), receipt);
+            }
+        }
+    }
+
+    public void unreadCount(User user, Long conversationId, int unreadCount) {
+        Long userId = user.getId();
+        String username = user.getEmail();
+        TransactionHooks.afterCommit(() -> {
+            if (sessionRegistry.isConnected(userId)) {
+                messagingTemplate.convertAndSendToUser(username, UNREAD_QUEUE,
+                        new UnreadCountDto(conversationId, unreadCount));
+            }
+        });
+    }
+
+    // The later receipt wins, except that "read up to" never moves back from "read everything".
+    private static ChatEventDto mergeReceipts(ChatEventDto earlier, ChatEventDto later) {
+        if (earlier.getUpToMessageId() == null || later.getUpToMessageId() == null) {
+            later.setUpToMessageId(null);
+        } else {
+            later.setUpToMessageId(Math.max(earlier.getUpToMessageId(), later.getUpToMessageId()));
+        }
+        return later;
+    }
+
+    private void toConversation(ChatEventDto event) {
+        TransactionHooks.afterCommit(() -> {
+            if (sessionRegistry.hasSubscribers(event.getConversationId())) {
+                messagingTemplate.convertAndSend(ChatSessionRegistry.CONVERSATION_TOPIC + event.getConversationId(), event);
+            }
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.techiefinder.service.messaging;
+
+import com.techiefinder.security.CustomUserDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Who is connected over STOMP on this instance and which conversations they're
+ * watching, kept from the broker's session events. ChatEventPublisher asks it
+ * before building a frame, so the common case -- nobody has the chat open --
+ * costs nothing.
+ *
+ * It's in-memory like the simple broker itself: with more than one instance,
+ * both would move to a broker relay together.
+ */
+@Component
+public class ChatSessionRegistry {
+
+    public static final String CONVERSATION_TOPIC = "/topic/conversations/";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Session> sessions = new HashMap<>();
+    private final Map<Long, Integer> sessionsByUser = new HashMap<>();
+    private final Map<Long, Integer> subscribersByConversation = new HashMap<>();
+
+    @PostConstruct
+    void registerGauges() {
+        meterRegistry.gauge("chat.sessions.active", this, r -> r.sessionCount());
+        meterRegistry.gauge("chat.subscriptions.active", this, r -> r.subscriptionCount());
+    }
+
+    /** Parses "/topic/conversations/{id}"; null for any other destination. */
+    public static Long conversationIdOf(String destination) {
+        if (destination == null || !destination.startsWith(CONVERSATION_TOPIC)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(CONVERSATION_TOPIC.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public synchronized boolean isConnected(Long userId) {
+        return sessionsByUser.containsKey(userId);
+    }
+
+    public synchronized boolean hasSubscribers(Long conversationId) {
+        return subscribersByConversation.containsKey(conversationId);
+    }
+
+    public synchronized int sessionCount() {
+        return sessions.size();
+    }
+
+    public synchronized int subscriptionCount() {
+        return subscribersByConversation.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Long userId = userIdOf(event.getUser());
+        if (userId == null) {
+            return;
+        }
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        synchronized (this) {
+            if (sessions.putIfAbsent(sessionId, new Session(userId)) == null) {
+                sessionsByUser.merge(userId, 1, Integer::sum);
+            }
+        }
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long conversationId = conversationIdOf(accessor.getDestination());
+        if (conversationId == null) {
+            return;
+        }
+        synchronized (this) {
+            Session session = sessions.get(accessor.getSessionId());
+            if (session != null && session.subscriptions.put(accessor.getSubscriptionId(), conversationId) == null) {
+                subscribersByConversation.merge(conversationId, 1, Integer::sum);
+            }
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        synchronized (this) {
+            Session session = sessions.get(accessor.getSessionId());
+            if (session != null) {
+                release(session.subscriptions.remove(accessor.getSubscriptionId()));
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        synchronized (this) {
+            Session session = sessions.remove(event.getSessionId());
+            if (session == null) {
+                return;
+            }
+            session.subscriptions.values().forEach(this::release);
+            sessionsByUser.computeIfPresent(session.userId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void release(Long conversationId) {
+        if (conversationId != null) {
+            subscribersByConversation.computeIfPresent(conversationId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    static Long userIdOf(Principal principal) {
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+
+    private static final class Session {
+        private final Long userId;
+        private final Map<String, Long> subscriptions = new HashMap<>();
+
+        private Session(Long userId) {
+            this.userId = userId;
+        }
+    }
+}
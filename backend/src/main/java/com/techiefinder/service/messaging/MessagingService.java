@@ -1,13 +1,17 @@
 package com.techiefinder.service.messaging;
 
+import com.techiefinder.dto.common.CursorPage;
 import com.techiefinder.dto.messaging.ConversationDto;
 import com.techiefinder.dto.messaging.MessageDto;
+import com.techiefinder.exception.ValidationException;
 import com.techiefinder.model.messaging.Conversation;
 import com.techiefinder.model.messaging.Message;
 import com.techiefinder.model.notification.Notification;
 import com.techiefinder.model.technician.Technician;
 import com.techiefinder.model.user.User;
+import com.techiefinder.repository.messaging.ConversationInboxRow;
 import com.techiefinder.repository.messaging.ConversationRepository;
+import com.techiefinder.repository.messaging.ConversationUnreadCounts;
 import com.techiefinder.repository.messaging.MessageRepository;
 import com.techiefinder.repository.technician.TechnicianRepository;
 import com.techiefinder.repository.user.UserRepository;
@@ -17,12 +21,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class MessagingService {
 
+    static final int PREVIEW_LENGTH = 200;
+
     @Autowired
     private ConversationRepository conversationRepository;
 
@@ -38,6 +42,9 @@ public class MessagingService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ChatEventPublisher chatEventPublisher;
+
     @Transactional
     public ConversationDto getOrCreateConversation(Long userId, Long technicianId) {
         Conversation conversation = conversationRepository.findByUserIdAndTechnicianId(userId, technicianId)
@@ -49,30 +56,33 @@ public class MessagingService {
                     Conversation created = Conversation.builder()
                             .user(user)
                             .technician(technician)
+                            .technicianUserId(technician.getUser().getId())
                             .unreadCountUser(0)
                             .unreadCountTechnician(0)
                             .build();
                     return conversationRepository.save(created);
                 });
-        return mapToDto(conversation);
+        return mapToDto(conversation, userId);
     }
 
-    public List<ConversationDto> getMyConversations(Long userId) {
-        List<Conversation> asCustomer = conversationRepository.findByUserIdOrderByLastMessageAtDesc(userId);
-        List<ConversationDto> result = asCustomer.stream().map(this::mapToDto).collect(Collectors.toList());
-
-        technicianRepository.findByUserId(userId).ifPresent(technician -> {
-            List<Conversation> asTechnician = conversationRepository
-                    .findByTechnicianIdOrderByLastMessageAtDesc(technician.getId());
-            asTechnician.stream().map(this::mapToDto).forEach(result::add);
-        });
-
-        return result;
+    /**
+     * The caller's inbox -- conversations as a customer and as a technician in
+     * one list, latest message first, then the ones with no messages yet --
+     * with each one's last message and the caller's own unread count, all read
+     * from the conversations table.
+     */
+    public CursorPage<ConversationDto> getMyConversations(Long userId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.KeyPosition before = CursorPage.keyPositionBefore(cursor);
+        return CursorPage.ofKeyed(conversationRepository.findInbox(
+                userId, before.getKey(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, row -> row.getLastMessageId() != null ? row.getLastMessageId() : 0L,
+                ConversationInboxRow::getId, row -> mapToDto(row, userId));
     }
 
     @Transactional
     public MessageDto sendMessage(Long conversationId, Long senderId, String content) {
-        Conversation conversation = conversationRepository.findById(conversationId)
+        Conversation conversation = conversationRepository.findWithParticipantsById(conversationId)
                 .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
 
         boolean isCustomer = conversation.getUser().getId().equals(senderId);
@@ -83,6 +93,9 @@ public class MessagingService {
 
         User sender = userRepository.findById(senderId)
                 .orElseThrow(() -> new IllegalArgumentException("Sender not found"));
+        // The id is taken at insert; with the row locked first, a send that gets a
+        // lower id can't commit after one with a higher id in the same conversation.
+        conversationRepository.lockById(conversationId);
 
         Message message = Message.builder()
                 .conversation(conversation)
@@ -93,48 +106,166 @@ public class MessagingService {
                 .build();
         message = messageRepository.save(message);
 
-        conversation.setLastMessageAt(LocalDateTime.now());
+        String preview = preview(content);
         User notifyTarget;
         if (isCustomer) {
-            conversation.setUnreadCountTechnician(conversation.getUnreadCountTechnician() + 1);
+            conversationRepository.recordMessageFromUser(conversationId, message.getId(), preview, senderId,
+                    LocalDateTime.now());
             notifyTarget = conversation.getTechnician().getUser();
         } else {
-            conversation.setUnreadCountUser(conversation.getUnreadCountUser() + 1);
+            conversationRepository.recordMessageFromTechnician(conversationId, message.getId(), preview, senderId,
+                    LocalDateTime.now());
             notifyTarget = conversation.getUser();
         }
-        conversationRepository.save(conversation);
+        ConversationUnreadCounts counts = conversationRepository.findUnreadCounts(conversationId);
+        int unreadCount = isCustomer ? counts.getUnreadCountTechnician() : counts.getUnreadCountUser();
 
         notificationService.notify(notifyTarget, Notification.NotificationType.NEW_MESSAGE,
                 "New message",
                 sender.getFirstName() + " sent you a message",
                 "/conversations/" + conversation.getId());
 
-        return mapToDto(message);
+        MessageDto dto = mapToDto(message);
+        chatEventPublisher.messageSent(dto);
+        chatEventPublisher.unreadCount(notifyTarget, conversation.getId(), unreadCount);
+        return dto;
     }
 
-    public List<MessageDto> getMessages(Long conversationId, Long requestingUserId) {
-        Conversation conversation = conversationRepository.findById(conversationId)
+    /**
+     * Marks what the other participant sent as read -- everything, or only up
+     * to message upToId -- with one UPDATE, recounts the reader's unread count
+     * in place, and sends the other side a read receipt. It holds the same
+     * conversation lock as sendMessage, so every message up to upToId has
+     * committed (and could have been shown) and none is half-sent meanwhile.
+     */
+    @Transactional
+    public void markConversationRead(Long conversationId, Long readerId, Long upToId) {
+        Conversation conversation = conversationRepository.findWithParticipantsById(conversationId)
                 .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
 
-        boolean isCustomer = conversation.getUser().getId().equals(requestingUserId);
-        boolean isTechnician = conversation.getTechnician().getUser().getId().equals(requestingUserId);
+        boolean isCustomer = conversation.getUser().getId().equals(readerId);
+        boolean isTechnician = conversation.getTechnician().getUser().getId().equals(readerId);
         if (!isCustomer && !isTechnician) {
             throw new SecurityException("This conversation does not belong to you");
         }
 
-        return messageRepository.findByConversationIdOrderByCreatedAtAsc(conversationId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        conversationRepository.lockById(conversationId);
+        LocalDateTime readAt = LocalDateTime.now();
+        int marked = messageRepository.markReadBy(conversationId, readerId,
+                upToId != null ? upToId : Long.MAX_VALUE, readAt);
+
+        User reader;
+        int unreadCount;
+        if (isCustomer) {
+            reader = conversation.getUser();
+            conversationRepository.recountUnreadForUser(conversationId, readerId, readAt);
+            unreadCount = conversationRepository.findUnreadCounts(conversationId).getUnreadCountUser();
+        } else {
+            reader = conversation.getTechnician().getUser();
+            conversationRepository.recountUnreadForTechnician(conversationId, readerId, readAt);
+            unreadCount = conversationRepository.findUnreadCounts(conversationId).getUnreadCountTechnician();
+        }
+
+        if (marked > 0) {
+            chatEventPublisher.conversationRead(conversationId, readerId, upToId, readAt);
+        }
+        chatEventPublisher.unreadCount(reader, conversationId, unreadCount);
+    }
+
+    /**
+     * Fills in the inbox columns on conversations from before they existed
+     * (prod upgrades its schema in place); a no-op once every row has them.
+     */
+    @Transactional
+    public int backfillInboxColumns() {
+        return conversationRepository.backfillTechnicianUserIds()
+                + conversationRepository.backfillLastMessageIds()
+                + conversationRepository.backfillLastMessagePreviews();
+    }
+
+    public boolean isParticipant(Long conversationId, Long userId) {
+        return conversationRepository.isParticipant(conversationId, userId);
+    }
+
+    /**
+     * The latest page of the conversation (or the one just before `cursor`),
+     * oldest first so it reads top to bottom; the cursor steps back in time.
+     */
+    public CursorPage<MessageDto> getMessages(Long conversationId, Long requestingUserId, String cursor, Integer size) {
+        checkParticipant(conversationId, requestingUserId);
+
+        int pageSize = CursorPage.pageSize(size);
+        return CursorPage.of(messageRepository.findByConversationIdAndIdLessThanOrderByIdDesc(
+                conversationId, CursorPage.idBefore(cursor), CursorPage.pageRequest(pageSize)),
+                pageSize, Message::getId, this::mapToDto)
+                .withItemsReversed();
+    }
+
+    /**
+     * Up to `size` messages newer than `afterId` (the newest one the client
+     * already has), oldest first. A next cursor means more are waiting: ask
+     * again after the last one returned (see CursorPageResponse.okIncremental).
+     */
+    public CursorPage<MessageDto> getMessagesAfter(Long conversationId, Long requestingUserId, long afterId, Integer size) {
+        if (afterId < 0) {
+            throw new ValidationException("after must not be negative");
+        }
+        checkParticipant(conversationId, requestingUserId);
+
+        int pageSize = CursorPage.pageSize(size);
+        return CursorPage.of(messageRepository.findByConversationIdAndIdGreaterThanOrderByIdAsc(
+                conversationId, afterId, CursorPage.pageRequest(pageSize)),
+                pageSize, Message::getId, this::mapToDto);
+    }
+
+    // One indexed lookup on the usual path; telling a missing conversation from
+    // someone else's costs a second only when the first says no.
+    private void checkParticipant(Long conversationId, Long userId) {
+        if (conversationRepository.isParticipant(conversationId, userId)) {
+            return;
+        }
+        if (!conversationRepository.existsById(conversationId)) {
+            throw new IllegalArgumentException("Conversation not found");
+        }
+        throw new SecurityException("This conversation does not belong to you");
+    }
+
+    // The first PREVIEW_LENGTH characters, without cutting a surrogate pair in half.
+    static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return content.substring(0, end);
     }
 
-    private ConversationDto mapToDto(Conversation conversation) {
+    private ConversationDto mapToDto(Conversation conversation, Long viewerId) {
         ConversationDto dto = new ConversationDto();
         dto.setId(conversation.getId());
         dto.setUserId(conversation.getUser().getId());
         dto.setTechnicianId(conversation.getTechnician().getId());
         dto.setBookingId(conversation.getBooking() != null ? conversation.getBooking().getId() : null);
         dto.setLastMessageAt(conversation.getLastMessageAt());
+        dto.setLastMessageId(conversation.getLastMessageId());
+        dto.setLastMessagePreview(conversation.getLastMessagePreview());
+        dto.setLastMessageSenderId(conversation.getLastMessageSenderId());
+        dto.setUnreadCount(conversation.getUser().getId().equals(viewerId)
+                ? conversation.getUnreadCountUser() : conversation.getUnreadCountTechnician());
+        return dto;
+    }
+
+    private ConversationDto mapToDto(ConversationInboxRow row, Long viewerId) {
+        ConversationDto dto = new ConversationDto();
+        dto.setId(row.getId());
+        dto.setUserId(row.getUserId());
+        dto.setTechnicianId(row.getTechnicianId());
+        dto.setBookingId(row.getBookingId());
+        dto.setLastMessageAt(row.getLastMessageAt());
+        dto.setLastMessageId(row.getLastMessageId());
+        dto.setLastMessagePreview(row.getLastMessagePreview());
+        dto.setLastMessageSenderId(row.getLastMessageSenderId());
+        // Someone who is both sides of a conversation reads it as the customer.
+        dto.setUnreadCount(row.getUserId().equals(viewerId) ? row.getUnreadCountUser() : row.getUnreadCountTechnician());
         return dto;
     }
 
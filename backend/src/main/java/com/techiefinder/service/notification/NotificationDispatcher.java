@@ -0,0 +1,350 @@
+package com.techiefinder.service.notification;
+
+import com.techiefinder.model.notification.NotificationDelivery;
+import com.techiefinder.repository.notification.NotificationDeliveryRepository;
+import com.techiefinder.repository.notification.NotificationRepository;
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.delivery.DeliveryResult;
+import com.techiefinder.service.delivery.EmailClient;
+import com.techiefinder.service.delivery.PushNotificationClient;
+import com.techiefinder.service.delivery.SmsClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the push/email/SMS deliveries NotificationService queues in the
+ * notification_deliveries outbox, off the request thread and outside any
+ * caller's transaction.
+ *
+ * Every notification.dispatch.interval-ms it claims due deliveries -- an
+ * UPDATE that only one dispatcher can win, so several instances can run this
+ * side by side -- and hands them to that channel's own worker pool, so a slow
+ * SMTP server can't hold up push or SMS. A failed send is retried with
+ * exponential backoff (plus jitter) up to notification.dispatch.max-attempts
+ * times, then marked FAILED -- straight away, with the token forgotten, if FCM
+ * says a push token is no longer valid. A claim that is never resolved (the
+ * instance died mid-send) lapses after notification.dispatch.lease-ms and is
+ * picked up again, so a delivery can occasionally be sent twice but is never
+ * silently lost. An outcome is only recorded while the claim still stands; once
+ * another dispatcher has taken the delivery over, its outcome is the one kept.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final List<NotificationDelivery.Status> CLAIMABLE =
+            List.of(NotificationDelivery.Status.PENDING, NotificationDelivery.Status.IN_PROGRESS);
+
+    @Autowired
+    private NotificationDeliveryRepository deliveryRepository;
+
+    @Autowired
+    private PushNotificationClient pushNotificationClient;
+
+    @Autowired
+    private EmailClient emailClient;
+
+    @Autowired
+    private SmsClient smsClient;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${notification.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${notification.dispatch.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${notification.dispatch.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${notification.dispatch.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${notification.dispatch.push-batch-size:500}")
+    private int pushBatchSize;
+
+    @Value("${notification.dispatch.email-batch-size:50}")
+    private int emailBatchSize;
+
+    @Value("${notification.dispatch.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${notification.dispatch.threads.push:4}")
+    private int pushThreads;
+
+    @Value("${notification.dispatch.threads.email:4}")
+    private int emailThreads;
+
+    @Value("${notification.dispatch.threads.sms:4}")
+    private int smsThreads;
+
+    private final Map<NotificationDelivery.Channel, ThreadPoolExecutor> workers =
+            new EnumMap<>(NotificationDelivery.Channel.class);
+
+    @PostConstruct
+    void init() {
+        workers.put(NotificationDelivery.Channel.PUSH, newWorkerPool("push", pushThreads));
+        workers.put(NotificationDelivery.Channel.EMAIL, newWorkerPool("email", emailThreads));
+        workers.put(NotificationDelivery.Channel.SMS, newWorkerPool("sms", smsThreads));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Anything still queued or mid-send is retried once its claim lapses.
+        for (ThreadPoolExecutor pool : workers.values()) {
+            pool.shutdown();
+        }
+        for (ThreadPoolExecutor pool : workers.values()) {
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Claims as many due deliveries per channel as that channel's queue has room
+     * for -- a full queue means the channel is falling behind, and its deliveries
+     * simply wait in the outbox until it catches up. Push and email deliveries
+     * are claimed and sent in batches (one FCM sendEach call, or one SMTP
+     * session, each), at most one batch per worker per pass.
+     */
+    @Scheduled(fixedDelayString = "${notification.dispatch.interval-ms:1000}")
+    public void dispatchDue() {
+        for (Map.Entry<NotificationDelivery.Channel, ThreadPoolExecutor> entry : workers.entrySet()) {
+            NotificationDelivery.Channel channel = entry.getKey();
+            ThreadPoolExecutor pool = entry.getValue();
+            int room = pool.getQueue().remainingCapacity();
+            if (room == 0 || pool.isShutdown()) {
+                continue;
+            }
+            int batchSize = batchSize(channel);
+            int batches = batchSize == 1 ? room : Math.min(room, pool.getMaximumPoolSize());
+            List<Long> claimed = claimDue(channel, batches * batchSize);
+            for (int from = 0; from < claimed.size(); from += batchSize) {
+                List<Long> batch = new ArrayList<>(claimed.subList(from, Math.min(from + batchSize, claimed.size())));
+                try {
+                    pool.execute(() -> deliver(channel, batch));
+                } catch (RejectedExecutionException e) {
+                    // Shutting down; the claims lapse and the deliveries are picked up again.
+                    return;
+                }
+            }
+        }
+    }
+
+    /** Whether every worker pool is idle -- for tests and graceful shutdown checks. */
+    public boolean isIdle() {
+        for (ThreadPoolExecutor pool : workers.values()) {
+            if (pool.getActiveCount() > 0 || !pool.getQueue().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int batchSize(NotificationDelivery.Channel channel) {
+        return switch (channel) {
+            case PUSH -> Math.max(1, Math.min(pushBatchSize, PushNotificationClient.MAX_BATCH_SIZE));
+            case EMAIL -> Math.max(1, emailBatchSize);
+            case SMS -> 1;
+        };
+    }
+
+    private List<Long> claimDue(NotificationDelivery.Channel channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Long> claimed = new ArrayList<>();
+            for (Long id : deliveryRepository.findDueIds(channel, CLAIMABLE, now, PageRequest.ofSize(limit))) {
+                if (deliveryRepository.claim(id, CLAIMABLE, NotificationDelivery.Status.IN_PROGRESS, now, leaseUntil) == 1) {
+                    claimed.add(id);
+                }
+            }
+            return claimed;
+        });
+    }
+
+    private void deliver(NotificationDelivery.Channel channel, List<Long> deliveryIds) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Outgoing> outgoing = transaction.execute(status -> {
+            List<Outgoing> loaded = new ArrayList<>();
+            for (NotificationDelivery delivery : deliveryRepository.findWithNotificationByIdIn(deliveryIds)) {
+                // Not ours any more if the claim lapsed before this worker got to it.
+                if (delivery.getStatus() == NotificationDelivery.Status.IN_PROGRESS) {
+                    loaded.add(new Outgoing(delivery, delivery.getNotification().getTitle(),
+                            delivery.getNotification().getMessage()));
+                }
+            }
+            return loaded;
+        });
+        if (outgoing.isEmpty()) {
+            return;
+        }
+
+        // The network calls happen with no transaction (or connection) held.
+        List<DeliveryResult> results;
+        try {
+            results = send(channel, outgoing);
+        } catch (RuntimeException e) {
+            log.warn("{} delivery of {} notification(s) failed", channel, outgoing.size(), e);
+            results = Collections.nCopies(outgoing.size(), DeliveryResult.FAILED);
+        }
+
+        List<DeliveryResult> outcome = results;
+        transaction.executeWithoutResult(status -> record(outgoing, outcome));
+    }
+
+    private List<DeliveryResult> send(NotificationDelivery.Channel channel, List<Outgoing> outgoing) {
+        if (channel == NotificationDelivery.Channel.PUSH) {
+            List<PushNotificationClient.Push> pushes = new ArrayList<>(outgoing.size());
+            for (Outgoing item : outgoing) {
+                pushes.add(new PushNotificationClient.Push(item.recipient, item.title, item.message));
+            }
+            return pushNotificationClient.sendBatch(pushes);
+        }
+        List<Boolean> sent;
+        if (channel == NotificationDelivery.Channel.EMAIL) {
+            List<EmailClient.Email> emails = new ArrayList<>(outgoing.size());
+            for (Outgoing item : outgoing) {
+                emails.add(new EmailClient.Email(item.recipient, item.title, item.message));
+            }
+            sent = emailClient.sendBatch(emails);
+        } else {
+            sent = new ArrayList<>(outgoing.size());
+            for (Outgoing item : outgoing) {
+                sent.add(smsClient.send(item.recipient, item.message));
+            }
+        }
+        List<DeliveryResult> results = new ArrayList<>(sent.size());
+        for (Boolean ok : sent) {
+            results.add(Boolean.TRUE.equals(ok) ? DeliveryResult.SENT : DeliveryResult.FAILED);
+        }
+        return results;
+    }
+
+    private void record(List<Outgoing> outgoing, List<DeliveryResult> results) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> invalidTokens = new HashSet<>();
+        for (int i = 0; i < outgoing.size(); i++) {
+            Outgoing item = outgoing.get(i);
+            DeliveryResult result = results.get(i);
+            int attempts = item.attempts + 1;
+            NotificationDelivery.Status status;
+            LocalDateTime nextAttemptAt = now;
+            if (result == DeliveryResult.SENT) {
+                status = NotificationDelivery.Status.SENT;
+            } else if (result == DeliveryResult.INVALID_RECIPIENT || attempts >= maxAttempts) {
+                status = NotificationDelivery.Status.FAILED;
+            } else {
+                status = NotificationDelivery.Status.PENDING;
+                nextAttemptAt = now.plusNanos(backoffFor(attempts) * 1_000_000);
+            }
+
+            int finished = deliveryRepository.finish(item.deliveryId, NotificationDelivery.Status.IN_PROGRESS,
+                    item.leaseUntil, status, nextAttemptAt, status == NotificationDelivery.Status.SENT ? now : null, now);
+            if (finished == 0) {
+                log.info("Claim on {} delivery {} lapsed before its send finished; leaving it to the new claim",
+                        item.channel, item.deliveryId);
+                continue;
+            }
+            if (status == NotificationDelivery.Status.SENT) {
+                markSent(item.notificationId, item.channel);
+            } else if (result == DeliveryResult.INVALID_RECIPIENT) {
+                if (item.channel == NotificationDelivery.Channel.PUSH) {
+                    invalidTokens.add(item.recipient);
+                }
+            } else if (status == NotificationDelivery.Status.FAILED) {
+                log.warn("Giving up on {} delivery {} after {} attempts", item.channel, item.deliveryId, attempts);
+            }
+        }
+
+        if (!invalidTokens.isEmpty()) {
+            int cleared = userRepository.clearFcmTokens(invalidTokens);
+            log.info("Cleared {} push token(s) FCM reported as invalid", cleared);
+        }
+    }
+
+    private void markSent(Long notificationId, NotificationDelivery.Channel channel) {
+        switch (channel) {
+            case PUSH -> notificationRepository.markSentViaPush(notificationId);
+            case EMAIL -> notificationRepository.markSentViaEmail(notificationId);
+            case SMS -> notificationRepository.markSentViaSms(notificationId);
+        }
+    }
+
+    /** backoff-ms doubled per failed attempt, capped at max-backoff-ms, +/-20% so retries don't arrive in lockstep. */
+    private long backoffFor(int attempts) {
+        long delay = backoffMs << Math.min(attempts - 1, 30);
+        if (delay < 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return (long) (delay * (0.8 + 0.4 * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private ThreadPoolExecutor newWorkerPool(String channel, int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        int size = Math.max(1, threads);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "notify-" + channel + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static final class Outgoing {
+        private final Long deliveryId;
+        private final Long notificationId;
+        private final NotificationDelivery.Channel channel;
+        private final String recipient;
+        private final int attempts;
+        // The claim this send runs under, as stored.
+        private final LocalDateTime leaseUntil;
+        private final String title;
+        private final String message;
+
+        private Outgoing(NotificationDelivery delivery, String title, String message) {
+            this.deliveryId = delivery.getId();
+            this.notificationId = delivery.getNotification().getId();
+            this.channel = delivery.getChannel();
+            this.recipient = delivery.getRecipient();
+            this.attempts = delivery.getAttempts();
+            this.leaseUntil = delivery.getNextAttemptAt();
+            this.title = title;
+            this.message = message;
+        }
+    }
+}
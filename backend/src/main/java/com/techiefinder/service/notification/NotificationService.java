@@ -1,20 +1,23 @@
 package com.techiefinder.service.notification;
 
+import com.techiefinder.dto.common.CursorPage;
 import com.techiefinder.dto.notification.NotificationDto;
 import com.techiefinder.model.notification.Notification;
+import com.techiefinder.model.notification.NotificationDelivery;
 import com.techiefinder.model.user.User;
 import com.techiefinder.model.user.UserProfile;
+import com.techiefinder.repository.notification.NotificationDeliveryRepository;
 import com.techiefinder.repository.notification.NotificationRepository;
+import com.techiefinder.service.common.TransactionHooks;
 import com.techiefinder.service.delivery.EmailClient;
 import com.techiefinder.service.delivery.PushNotificationClient;
 import com.techiefinder.service.delivery.SmsClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class NotificationService {
@@ -22,6 +25,9 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationDeliveryRepository notificationDeliveryRepository;
+
     @Autowired
     private PushNotificationClient pushNotificationClient;
 
@@ -31,51 +37,70 @@ public class NotificationService {
     @Autowired
     private SmsClient smsClient;
 
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
+    @Autowired
+    private NotificationStreamRegistry streamRegistry;
+
     /**
-     * Always records an in-app notification, then makes a best-effort attempt at
-     * push/email/SMS delivery on top of it -- each channel is independently
-     * optional (respects the user's notification preferences) and independently
-     * safe to fail (a delivery-provider outage should never block the in-app
-     * notification from being saved).
+     * Always records an in-app notification, then queues push/email/SMS delivery
+     * of it in the notification_deliveries outbox for NotificationDispatcher to
+     * send once this transaction commits -- each channel is independently
+     * optional (respects the user's notification preferences, and is skipped when
+     * its provider isn't configured or the user has no address for it), and no
+     * provider is called here, so a slow or failing one can neither delay nor
+     * roll back the caller's transaction. Once committed it's also pushed to
+     * the user's open notification streams.
      */
     @Transactional
     public void notify(User user, Notification.NotificationType type, String title, String message, String actionUrl) {
-        Notification notification = Notification.builder()
+        Notification notification = notificationRepository.save(Notification.builder()
                 .user(user)
                 .type(type)
                 .title(title)
                 .message(message)
                 .actionUrl(actionUrl)
                 .read(false)
-                .build();
+                .build());
+        Long userId = user.getId();
+        NotificationDto dto = mapToDto(notification);
+        TransactionHooks.afterCommit(() -> {
+            unreadCounter.adjust(userId, 1);
+            streamRegistry.notificationCreated(userId, dto);
+        });
 
         UserProfile profile = user.getProfile();
-        boolean wantsNotifications = profile == null || Boolean.TRUE.equals(profile.getNotificationsEnabled());
+        if (profile != null && !Boolean.TRUE.equals(profile.getNotificationsEnabled())) {
+            return;
+        }
 
-        if (wantsNotifications && pushNotificationClient.send(user.getFcmToken(), title, message)) {
-            notification.setSentViaPush(true);
+        if (pushNotificationClient.isConfigured()) {
+            enqueue(notification, NotificationDelivery.Channel.PUSH, user.getFcmToken());
         }
-        if (wantsNotifications && (profile == null || Boolean.TRUE.equals(profile.getEmailNotificationsEnabled()))
-                && emailClient.send(user.getEmail(), title, message)) {
-            notification.setSentViaEmail(true);
+        if (emailClient.isConfigured()
+                && (profile == null || Boolean.TRUE.equals(profile.getEmailNotificationsEnabled()))) {
+            enqueue(notification, NotificationDelivery.Channel.EMAIL, user.getEmail());
         }
-        if (wantsNotifications && (profile == null || Boolean.TRUE.equals(profile.getSmsNotificationsEnabled()))
-                && smsClient.send(user.getPhoneNumber(), message)) {
-            notification.setSentViaSms(true);
+        if (smsClient.isConfigured()
+                && (profile == null || Boolean.TRUE.equals(profile.getSmsNotificationsEnabled()))) {
+            enqueue(notification, NotificationDelivery.Channel.SMS, user.getPhoneNumber());
         }
+    }
 
-        notificationRepository.save(notification);
+    public CursorPage<NotificationDto> getMyNotifications(Long userId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        return CursorPage.of(notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+                userId, CursorPage.idBefore(cursor), CursorPage.pageRequest(pageSize)),
+                pageSize, Notification::getId, this::mapToDto);
     }
 
-    public List<NotificationDto> getMyNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public SseEmitter openStream(Long userId) {
+        return streamRegistry.open(userId);
     }
 
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countByUserIdAndReadFalse(userId);
+        return unreadCounter.get(userId);
     }
 
     @Transactional
@@ -87,12 +112,48 @@ public class NotificationService {
             throw new SecurityException("Notification does not belong to this user");
         }
 
-        notification.setRead(true);
-        notification.setReadAt(LocalDateTime.now());
-        notificationRepository.save(notification);
+        if (!Boolean.TRUE.equals(notification.getRead())) {
+            notification.setRead(true);
+            notification.setReadAt(LocalDateTime.now());
+            notificationRepository.save(notification);
+            TransactionHooks.afterCommit(() -> {
+                unreadCounter.adjust(userId, -1);
+                streamRegistry.unreadCountChanged(userId);
+            });
+        }
         return mapToDto(notification);
     }
 
+    /**
+     * Marks all the user's unread notifications read, or only those up to
+     * upToId (the newest one the client has shown), in one UPDATE. Returns
+     * how many changed.
+     */
+    @Transactional
+    public int markAllRead(Long userId, Long upToId) {
+        int marked = notificationRepository.markReadUpTo(userId, upToId != null ? upToId : Long.MAX_VALUE,
+                LocalDateTime.now());
+        if (marked > 0) {
+            TransactionHooks.afterCommit(() -> {
+                unreadCounter.adjust(userId, -marked);
+                streamRegistry.unreadCountChanged(userId);
+            });
+        }
+        return marked;
+    }
+
+    private void enqueue(Notification notification, NotificationDelivery.Channel channel, String recipient) {
+        if (recipient == null || recipient.isBlank()) {
+            return;
+        }
+        notificationDeliveryRepository.save(NotificationDelivery.builder()
+                .notification(notification)
+                .channel(channel)
+                .recipient(recipient)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
     private NotificationDto mapToDto(Notification notification) {
         NotificationDto dto = new NotificationDto();
         dto.setId(notification.getId());
@@ -0,0 +1,380 @@
+package com.techiefinder.service.notification;
+
+import com.techiefinder.dto.notification.NotificationDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * The open /api/notifications/stream connections (server-sent events), by
+ * user. Each stream gets a "notification" event for every new notification
+ * and an "unread-count" event whenever the user's count changes, starting
+ * with the current count when it opens.
+ *
+ * Every stream has its own queue of at most notification.stream.queue-capacity
+ * events, drained by one of notification.stream.sender-threads background
+ * senders, so neither the request that created a notification nor any other
+ * user's stream waits on a client with a slow network. A stream that falls
+ * that far behind, or whose write takes longer than
+ * notification.stream.write-timeout-ms, is closed -- the client reconnects and
+ * the REST endpoints still have everything -- and a sender stuck in such a
+ * write is stood in for until the write gives up. A comment line every
+ * notification.stream.heartbeat-ms keeps proxies from closing idle streams and
+ * finds the ones whose client has gone. A user can hold at most
+ * notification.stream.max-per-user streams; opening another closes the oldest.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+    // Stand-in senders for writes past their deadline; beyond this many, further
+    // stuck streams are still closed but their senders aren't replaced.
+    private static final int MAX_STAND_IN_SENDERS = 32;
+
+    @Autowired
+    private UnreadNotificationCounter unreadCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${notification.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notification.stream.max-per-user:5}")
+    private int maxPerUser;
+
+    @Value("${notification.stream.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${notification.stream.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${notification.stream.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    private final Map<Long, List<Stream>> streams = new ConcurrentHashMap<>();
+    private final ReentrantLock poolSizeLock = new ReentrantLock();
+    private int standInSenders;
+    // Each stream has at most one drain task queued or running, so this queue is
+    // bounded by the number of open streams.
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    void init() {
+        int threads = Math.max(1, senderThreads);
+        sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "notify-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        meterRegistry.gauge("notification.streams.open", streams, s -> s.values().stream().mapToInt(List::size).sum());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+        streams.values().forEach(open -> open.forEach(stream -> stream.emitter.complete()));
+    }
+
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        register(userId, emitter);
+        return emitter;
+    }
+
+    void register(Long userId, SseEmitter emitter) {
+        Stream stream = new Stream(userId, emitter);
+        List<Stream> evicted = new ArrayList<>();
+        streams.compute(userId, (id, existing) -> {
+            List<Stream> open = existing != null ? existing : new CopyOnWriteArrayList<>();
+            open.add(stream);
+            while (open.size() > Math.max(1, maxPerUser)) {
+                evicted.add(open.remove(0));
+            }
+            return open;
+        });
+        evicted.forEach(this::close);
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        enqueue(stream, unreadCountEvent(unreadCounter.get(userId)));
+    }
+
+    public boolean hasStreams(Long userId) {
+        return streams.containsKey(userId);
+    }
+
+    public void notificationCreated(Long userId, NotificationDto notification) {
+        if (!hasStreams(userId)) {
+            return;
+        }
+        long unreadCount = unreadCounter.get(userId);
+        sendToAll(userId, () -> SseEmitter.event().name("notification").id(String.valueOf(notification.getId()))
+                .data(notification, MediaType.APPLICATION_JSON));
+        sendToAll(userId, () -> unreadCountEvent(unreadCount));
+    }
+
+    public void unreadCountChanged(Long userId) {
+        if (hasStreams(userId)) {
+            long unreadCount = unreadCounter.get(userId);
+            sendToAll(userId, () -> unreadCountEvent(unreadCount));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        streams.keySet().forEach(userId -> sendToAll(userId, () -> SseEmitter.event().comment("keepalive")));
+    }
+
+    /**
+     * Closes every stream whose current write has run past the deadline, and
+     * starts a stand-in sender for each so the other streams keep flowing while
+     * the stuck write waits for the connection to give up.
+     */
+    @Scheduled(fixedDelayString = "${notification.stream.write-check-ms:1000}")
+    public void closeStalledStreams() {
+        long now = System.nanoTime();
+        long deadlineNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        for (List<Stream> open : streams.values()) {
+            for (Stream stream : open) {
+                if (stream.markStalled(now, deadlineNanos)) {
+                    log.warn("Notification stream of user {} took over {} ms to write; closing it",
+                            stream.userId, writeTimeoutMs);
+                    close(stream);
+                }
+            }
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder unreadCountEvent(long unreadCount) {
+        return SseEmitter.event().name("unread-count")
+                .data(Map.of("unreadCount", unreadCount), MediaType.APPLICATION_JSON);
+    }
+
+    // A builder can only be sent once, so each stream gets its own.
+    private void sendToAll(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        List<Stream> open = streams.get(userId);
+        if (open != null) {
+            open.forEach(stream -> enqueue(stream, event.get()));
+        }
+    }
+
+    private void enqueue(Stream stream, SseEmitter.SseEventBuilder event) {
+        Boolean startDrain = stream.offer(event, Math.max(1, queueCapacity));
+        if (startDrain == null) {
+            log.warn("Notification stream of user {} is {} events behind; closing it", stream.userId, queueCapacity);
+            close(stream);
+        } else if (startDrain) {
+            try {
+                sender.execute(() -> drain(stream));
+            } catch (RejectedExecutionException e) {
+                // Shutting down; every stream is being completed anyway.
+            }
+        }
+    }
+
+    private void drain(Stream stream) {
+        SseEmitter.SseEventBuilder event;
+        while ((event = stream.nextToWrite()) != null) {
+            boolean failed = false;
+            try {
+                stream.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container reports it and completes the emitter too.
+                failed = true;
+            }
+            stream.writeFinished();
+            if (failed) {
+                close(stream);
+                return;
+            }
+        }
+        if (stream.completeAfterDrain()) {
+            stream.emitter.complete();
+        }
+    }
+
+    /** Adds (+1) or retires (-1) a stand-in sender; false if none could be added. */
+    private boolean resizeSenders(int delta) {
+        poolSizeLock.lock();
+        try {
+            if (delta > 0 && standInSenders >= MAX_STAND_IN_SENDERS) {
+                return false;
+            }
+            standInSenders += delta;
+            int size = Math.max(1, senderThreads) + standInSenders;
+            // The maximum must never drop below the core size, whichever way they move.
+            if (delta > 0) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+            return true;
+        } finally {
+            poolSizeLock.unlock();
+        }
+    }
+
+    /** Stops queueing for the stream; its emitter completes once any write in progress returns. */
+    private void close(Stream stream) {
+        remove(stream);
+        if (stream.close()) {
+            stream.emitter.complete();
+        }
+    }
+
+    private void remove(Stream stream) {
+        streams.computeIfPresent(stream.userId, (id, open) -> {
+            open.remove(stream);
+            return open.isEmpty() ? null : open;
+        });
+    }
+
+    /** One open emitter and the events waiting to be written to it. */
+    private final class Stream {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        // A lock rather than synchronized: request threads enqueue, and synchronized
+        // would pin a virtual thread's carrier. Never held while writing.
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean writing;
+        private long writeStartedNanos;
+        private boolean stalled;
+        private boolean hasStandIn;
+        private boolean closed;
+        private boolean completeAfterDrain;
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /** Queues event: true if a drain must be started, false if one is already going, null if the queue is full. */
+        Boolean offer(SseEmitter.SseEventBuilder event, int capacity) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                if (pending.size() >= capacity) {
+                    return null;
+                }
+                pending.add(event);
+                if (draining) {
+                    return false;
+                }
+                draining = true;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** The next event to write, marking the write as started; null (and the drain over) when there is none. */
+        SseEmitter.SseEventBuilder nextToWrite() {
+            lock.lock();
+            try {
+                SseEmitter.SseEventBuilder event = closed ? null : pending.poll();
+                if (event == null) {
+                    draining = false;
+                    return null;
+                }
+                writing = true;
+                writeStartedNanos = System.nanoTime();
+                return event;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Ends the current write, retiring the stand-in sender if it had been given one. */
+        void writeFinished() {
+            lock.lock();
+            try {
+                writing = false;
+                stalled = false;
+                if (hasStandIn) {
+                    hasStandIn = false;
+                    resizeSenders(-1);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Marks a write running longer than deadlineNanos as stalled and adds a
+         * stand-in sender for it, once; true if this call did so.
+         */
+        boolean markStalled(long now, long deadlineNanos) {
+            lock.lock();
+            try {
+                if (!writing || stalled || now - writeStartedNanos <= deadlineNanos) {
+                    return false;
+                }
+                stalled = true;
+                hasStandIn = resizeSenders(1);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** Closes the stream to further events; true if the emitter can be completed now (no drain is running). */
+        boolean close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+                pending.clear();
+                completeAfterDrain = draining;
+                return !draining;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /** True, once, if the stream was closed while a drain ran, so the drain must complete the emitter. */
+        boolean completeAfterDrain() {
+            lock.lock();
+            try {
+                boolean complete = completeAfterDrain;
+                completeAfterDrain = false;
+                return complete;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.techiefinder.service.notification;
+
+import com.techiefinder.repository.notification.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Each user's unread-notification count, kept in memory so the unread badge
+ * and the notification stream don't run countByUserIdAndReadFalse on every
+ * request. A user's count is seeded from the database the first time it's
+ * asked for, then moved by NotificationService as notifications are created
+ * and read (after those transactions commit).
+ *
+ * Entries are reseeded after notification.unread-counter.ttl-ms, and the least
+ * recently used are dropped beyond notification.unread-counter.max-size. The
+ * TTL bounds how long the count can be off when a change slips past it -- one
+ * committed while the count was being seeded, or made by another instance.
+ */
+@Component
+public class UnreadNotificationCounter {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Value("${notification.unread-counter.ttl-ms:600000}")
+    private long ttlMs = 600_000;
+
+    @Value("${notification.unread-counter.max-size:50000}")
+    private int maxSize = 50_000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    public long get(Long userId) {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAtMs > now) {
+                return entry.count;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Counted outside the lock so one slow query doesn't stall every other user.
+        long count = notificationRepository.countByUserIdAndReadFalse(userId);
+        lock.lock();
+        try {
+            entries.put(userId, new Entry(count, now + ttlMs));
+        } finally {
+            lock.unlock();
+        }
+        return count;
+    }
+
+    /**
+     * Moves a seeded count by delta (never below zero); a user who isn't
+     * cached is left alone, as their next get() counts from the database.
+     */
+    public void adjust(Long userId, long delta) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry != null) {
+                entry.count = Math.max(0, entry.count + delta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private long count;
+        private final long expiresAtMs;
+
+        private Entry(long count, long expiresAtMs) {
+            this.count = count;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.techiefinder.service.payment;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techiefinder.dto.common.CursorPage;
 import com.techiefinder.dto.payment.PaymentDto;
+import com.techiefinder.model.admin.MetricRollup;
 import com.techiefinder.model.booking.Booking;
 import com.techiefinder.model.notification.Notification;
 import com.techiefinder.model.payment.Payment;
 import com.techiefinder.repository.booking.BookingRepository;
 import com.techiefinder.repository.payment.PaymentRepository;
+import com.techiefinder.service.admin.AdminMetricsService;
 import com.techiefinder.service.notification.NotificationService;
 import com.techiefinder.service.payment.gateway.FlutterwaveGatewayClient;
 import com.techiefinder.service.payment.gateway.GatewayInitResult;
@@ -20,10 +23,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Settles booking payments. When a real Paystack/Flutterwave secret key is
@@ -54,6 +55,9 @@ public class PaymentService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AdminMetricsService metricsService;
+
     @Value("${payment.gateway.provider:wallet}")
     private String configuredProvider;
 
@@ -62,7 +66,7 @@ public class PaymentService {
 
     @Transactional
     public PaymentDto payForBooking(Long userId, Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithPartiesById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
         if (!booking.getUser().getId().equals(userId)) {
@@ -118,11 +122,12 @@ public class PaymentService {
         }
     }
 
-    public List<PaymentDto> getMyPayments(Long userId) {
-        return paymentRepository.findByUserId(userId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<PaymentDto> getMyPayments(Long userId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(paymentRepository.findPageByUserId(
+                userId, before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, Payment::getCreatedAt, Payment::getId, this::mapToDto);
     }
 
     private Optional<PaymentGatewayClient> activeGatewayClient() {
@@ -180,6 +185,7 @@ public class PaymentService {
                 .build();
 
         payment = paymentRepository.save(payment);
+        metricsService.record(MetricRollup.Metric.REVENUE, payment.getAmount());
 
         booking.setPaymentStatus(Booking.PaymentStatus.PAID);
         bookingRepository.save(booking);
@@ -204,6 +210,7 @@ public class PaymentService {
             payment.setPaidAt(LocalDateTime.now());
             payment.setGatewayResponse(result.getRawStatus());
             paymentRepository.save(payment);
+            metricsService.record(MetricRollup.Metric.REVENUE, payment.getAmount());
 
             if (booking != null) {
                 booking.setPaymentStatus(Booking.PaymentStatus.PAID);
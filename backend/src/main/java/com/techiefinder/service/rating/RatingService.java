@@ -1,23 +1,27 @@
 package com.techiefinder.service.rating;
 
+import com.techiefinder.dto.common.CursorPage;
 import com.techiefinder.dto.rating.RatingDto;
 import com.techiefinder.dto.rating.RatingRequest;
+import com.techiefinder.model.admin.MetricRollup;
 import com.techiefinder.model.booking.Booking;
 import com.techiefinder.model.notification.Notification;
 import com.techiefinder.model.rating.Rating;
 import com.techiefinder.model.technician.Technician;
 import com.techiefinder.repository.booking.BookingRepository;
 import com.techiefinder.repository.rating.RatingRepository;
+import com.techiefinder.repository.rating.RatingSummaryRow;
 import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.service.admin.AdminMetricsService;
 import com.techiefinder.service.notification.NotificationService;
+import com.techiefinder.service.technician.PublicResponseCache;
+import com.techiefinder.service.technician.recommendation.TechnicianFeatureStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class RatingService {
@@ -34,9 +38,18 @@ public class RatingService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private TechnicianFeatureStore featureStore;
+
+    @Autowired
+    private PublicResponseCache responseCache;
+
+    @Autowired
+    private AdminMetricsService metricsService;
+
     @Transactional
     public RatingDto rateBooking(Long userId, RatingRequest request) {
-        Booking booking = bookingRepository.findById(request.getBookingId())
+        Booking booking = bookingRepository.findWithPartiesById(request.getBookingId())
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
         if (!booking.getUser().getId().equals(userId)) {
@@ -63,6 +76,7 @@ public class RatingService {
                 .build();
 
         rating = ratingRepository.save(rating);
+        metricsService.record(MetricRollup.Metric.RATINGS, BigDecimal.valueOf(request.getRating()));
 
         recalculateTechnicianRating(booking.getTechnician());
 
@@ -74,18 +88,20 @@ public class RatingService {
         return mapToDto(rating);
     }
 
-    public List<RatingDto> getTechnicianRatings(Long technicianId) {
-        return ratingRepository.findByTechnicianId(technicianId)
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<RatingDto> getTechnicianRatings(Long technicianId, String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(ratingRepository.findSummariesByTechnicianId(
+                technicianId, before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, RatingSummaryRow::getCreatedAt, RatingSummaryRow::getId, this::mapToDto);
     }
 
-    public List<RatingDto> getAllRatings() {
-        return ratingRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<RatingDto> getAllRatings(String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(ratingRepository.findSummaries(
+                before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, RatingSummaryRow::getCreatedAt, RatingSummaryRow::getId, this::mapToDto);
     }
 
     @Transactional
@@ -99,13 +115,15 @@ public class RatingService {
 
     private void recalculateTechnicianRating(Technician technician) {
         Double average = ratingRepository.getAverageRatingForTechnician(technician.getId());
-        long totalRatings = ratingRepository.findByTechnicianId(technician.getId()).size();
+        long totalRatings = ratingRepository.countByTechnicianId(technician.getId());
 
         technician.setRating(average == null
                 ? BigDecimal.ZERO
                 : BigDecimal.valueOf(average).setScale(2, RoundingMode.HALF_UP));
         technician.setTotalRatings((int) totalRatings);
         technicianRepository.save(technician);
+        featureStore.refreshAfterCommit(technician.getId());
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.TECHNICIAN, technician.getId());
     }
 
     private RatingDto mapToDto(Rating rating) {
@@ -125,4 +143,22 @@ public class RatingService {
         dto.setTechnicianResponse(rating.getTechnicianResponse());
         return dto;
     }
+
+    private RatingDto mapToDto(RatingSummaryRow row) {
+        RatingDto dto = new RatingDto();
+        dto.setId(row.getId());
+        dto.setBookingId(row.getBookingId());
+        dto.setUserId(row.getUserId());
+        dto.setTechnicianId(row.getTechnicianId());
+        dto.setCustomerName(row.getCustomerFirstName() + " " + row.getCustomerLastName());
+        dto.setTechnicianName(row.getTechnicianFirstName() + " " + row.getTechnicianLastName());
+        dto.setRating(row.getRating());
+        dto.setReview(row.getReview());
+        dto.setProfessionalismRating(row.getProfessionalismRating());
+        dto.setQualityRating(row.getQualityRating());
+        dto.setPunctualityRating(row.getPunctualityRating());
+        dto.setCommunicationRating(row.getCommunicationRating());
+        dto.setTechnicianResponse(row.getTechnicianResponse());
+        return dto;
+    }
 }
@@ -0,0 +1,105 @@
+package com.techiefinder.service.technician;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.techiefinder.service.common.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The public browsing reads -- the category list, and a technician's profile,
+ * offerings, portfolio and certifications -- kept as ready-made response
+ * bodies, each with a strong ETag (a hash of its JSON), so a revisit is
+ * answered from memory and a client that sends the ETag back in If-None-Match
+ * gets a 304 without the database being asked anything.
+ *
+ * The services that change what one of these shows call evictAfterCommit with
+ * the technician's id; the next read loads it afresh. Errors (an unknown
+ * technician) are never cached. As the ETag only depends on the content,
+ * every instance hands out the same one for the same body; an instance that
+ * didn't make a write sees it once the entry expires
+ * (cache.public-responses.ttl-seconds).
+ */
+@Component
+public class PublicResponseCache {
+
+    public enum Resource {
+        CATEGORIES, TECHNICIAN, OFFERINGS, PORTFOLIO, CERTIFICATIONS
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cache.public-responses.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${cache.public-responses.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Cache<String, Entry<?>> entries;
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * The cached response for resource (of technician id; null for the
+     * categories), loading and hashing it first if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> get(Resource resource, Long id, Supplier<T> loader) {
+        return (Entry<T>) entries.get(key(resource, id), key -> {
+            T body = loader.get();
+            return new Entry<>(etagOf(body), body);
+        });
+    }
+
+    /** Drops the cached response once the current transaction commits. */
+    public void evictAfterCommit(Resource resource, Long id) {
+        String key = key(resource, id);
+        TransactionHooks.afterCommit(() -> entries.invalidate(key));
+    }
+
+    private static String key(Resource resource, Long id) {
+        return id != null ? resource.name() + ":" + id : resource.name();
+    }
+
+    private String etagOf(Object body) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response body", e);
+        }
+    }
+
+    public static final class Entry<T> {
+
+        private final String etag;
+        private final T body;
+
+        Entry(String etag, T body) {
+            this.etag = etag;
+            this.body = body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public T getBody() {
+            return body;
+        }
+    }
+}
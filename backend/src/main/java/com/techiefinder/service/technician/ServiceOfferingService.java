@@ -8,6 +8,7 @@ import com.techiefinder.model.technician.TechnicianService;
 import com.techiefinder.repository.technician.ServiceCategoryRepository;
 import com.techiefinder.repository.technician.TechnicianRepository;
 import com.techiefinder.repository.technician.TechnicianServiceRepository;
+import com.techiefinder.service.technician.recommendation.TechnicianFeatureStore;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +28,12 @@ public class ServiceOfferingService {
     @Autowired
     private ServiceCategoryRepository serviceCategoryRepository;
 
+    @Autowired
+    private TechnicianFeatureStore featureStore;
+
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @Transactional
     public ServiceOfferingDto addOffering(Long userId, ServiceOfferingRequest request) {
         Technician technician = technicianRepository.findByUserId(userId)
@@ -47,6 +54,8 @@ public class ServiceOfferingService {
                 .build();
 
         offering = technicianServiceRepository.save(offering);
+        featureStore.refreshAfterCommit(technician.getId());
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.OFFERINGS, technician.getId());
         return mapToDto(offering);
     }
 
@@ -1,27 +1,51 @@
 package com.techiefinder.service.technician;
 
+import com.techiefinder.dto.common.CursorPage;
 import com.techiefinder.dto.technician.TechnicianDto;
 import com.techiefinder.dto.technician.TechnicianLocationDto;
 import com.techiefinder.dto.technician.TechnicianLocationRequest;
+import com.techiefinder.model.admin.MetricRollup;
+import com.techiefinder.model.technician.ServiceCategory;
 import com.techiefinder.model.technician.Technician;
 import com.techiefinder.model.technician.TechnicianLocation;
 import com.techiefinder.model.user.User;
+import com.techiefinder.repository.technician.ServiceCategoryRepository;
 import com.techiefinder.repository.technician.TechnicianLocationRepository;
 import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.repository.technician.TechnicianSummaryRow;
 import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.admin.AdminMetricsService;
+import com.techiefinder.service.common.TransactionHooks;
+import com.techiefinder.service.technician.geo.GeoBoundingBox;
+import com.techiefinder.service.technician.geo.GeoHit;
+import com.techiefinder.service.technician.geo.GeoMath;
+import com.techiefinder.service.technician.geo.TechnicianGeoIndex;
+import com.techiefinder.service.technician.recommendation.TechnicianFeatureStore;
+import com.techiefinder.service.technician.recommendation.TopKSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class TechnicianAccountService {
 
+    // On equal distances the lower id wins, so a limited result is deterministic.
+    private static final Comparator<GeoHit> NEAREST_FIRST = Comparator
+            .comparingDouble(GeoHit::getDistanceKm)
+            .thenComparingLong(GeoHit::getTechnicianId);
+
     @Autowired
     private TechnicianRepository technicianRepository;
 
@@ -31,6 +55,21 @@ public class TechnicianAccountService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ServiceCategoryRepository serviceCategoryRepository;
+
+    @Autowired
+    private TechnicianGeoIndex geoIndex;
+
+    @Autowired
+    private TechnicianFeatureStore featureStore;
+
+    @Autowired
+    private PublicResponseCache responseCache;
+
+    @Autowired
+    private AdminMetricsService metricsService;
+
     @Transactional
     public TechnicianDto createTechnician(Long userId) {
         User user = userRepository.findById(userId)
@@ -58,17 +97,19 @@ public class TechnicianAccountService {
                 .build();
 
         technician = technicianRepository.save(technician);
+        featureStore.refreshAfterCommit(technician.getId());
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.TECHNICIAN, technician.getId());
         return mapToDto(technician);
     }
 
     public TechnicianDto getTechnicianById(Long id) {
-        Technician technician = technicianRepository.findById(id)
+        Technician technician = technicianRepository.findWithUserById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Technician not found"));
         return mapToDto(technician);
     }
 
     public TechnicianDto getMyProfile(Long userId) {
-        Technician technician = technicianRepository.findByUserId(userId)
+        Technician technician = technicianRepository.findWithUserByUserId(userId)
                 .orElseThrow(() -> new IllegalArgumentException("This account has no technician profile yet"));
         return mapToDto(technician);
     }
@@ -80,38 +121,130 @@ public class TechnicianAccountService {
                 .collect(Collectors.toList());
     }
 
-    public List<TechnicianDto> getAllTechnicians() {
-        return technicianRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<TechnicianDto> getAllTechnicians(String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(technicianRepository.findSummaries(
+                before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, TechnicianSummaryRow::getCreatedAt, TechnicianSummaryRow::getId, this::mapToDto);
     }
 
     @Transactional
     public TechnicianDto updateVerificationStatus(Long id, Technician.VerificationStatus status) {
-        Technician technician = technicianRepository.findById(id)
+        Technician technician = technicianRepository.findWithUserById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Technician not found"));
+        boolean changed = technician.getVerificationStatus() != status;
         technician.setVerificationStatus(status);
         technician = technicianRepository.save(technician);
+        if (changed && status == Technician.VerificationStatus.VERIFIED) {
+            metricsService.record(MetricRollup.Metric.TECHNICIANS_VERIFIED);
+        } else if (changed && status == Technician.VerificationStatus.REJECTED) {
+            metricsService.record(MetricRollup.Metric.TECHNICIANS_REJECTED);
+        }
+        featureStore.refreshAfterCommit(technician.getId());
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.TECHNICIAN, technician.getId());
         return mapToDto(technician);
     }
 
-    public List<TechnicianDto> searchAvailableTechnicians(String categorySlug) {
-        List<Technician> technicians = StringUtils.hasText(categorySlug)
-                ? technicianRepository.findAvailableByCategorySlug(categorySlug)
-                : technicianRepository.findAvailableTechnicians();
-        return technicians.stream().map(this::mapToDto).collect(Collectors.toList());
+    /**
+     * Without a limit, every available technician (optionally in a category).
+     * With one, just the `limit` highest-rated of them: picked by a TopKSelector
+     * over the feature store's arrays, so only the winners are loaded and mapped.
+     */
+    public List<TechnicianDto> searchAvailableTechnicians(String categorySlug, Integer limit) {
+        if (limit == null) {
+            List<TechnicianSummaryRow> technicians = StringUtils.hasText(categorySlug)
+                    ? technicianRepository.findAvailableByCategorySlug(categorySlug)
+                    : technicianRepository.findAvailableTechnicians();
+            return technicians.stream().map(this::mapToDto).collect(Collectors.toList());
+        }
+
+        Long categoryId = null;
+        if (StringUtils.hasText(categorySlug)) {
+            Optional<ServiceCategory> category = serviceCategoryRepository.findBySlug(categorySlug);
+            if (category.isEmpty()) {
+                return List.of();
+            }
+            categoryId = category.get().getId();
+        }
+        Long requiredCategoryId = categoryId;
+
+        List<Long> topRatedIds = featureStore.read(features -> {
+            long[] categoryMask = requiredCategoryId != null ? features.categoryMask(requiredCategoryId) : null;
+            TopKSelector<Integer> best = new TopKSelector<>(limit, Comparator
+                    .comparingDouble((Integer slot) -> features.rating(slot)).reversed()
+                    .thenComparingLong(features::technicianId));
+            for (int slot = 0; slot < features.size(); slot++) {
+                if (features.isEligible(slot) && (categoryMask == null || features.offersAnyOf(slot, categoryMask))) {
+                    best.offer(slot);
+                }
+            }
+            return best.toList().stream().map(features::technicianId).collect(Collectors.toList());
+        });
+        return loadAvailableInOrder(topRatedIds);
     }
 
-    public List<TechnicianDto> findNearby(Double latitude, Double longitude, Double radiusKm) {
-        return technicianLocationRepository.findWithinRadius(latitude, longitude, radiusKm)
+    /**
+     * Technicians within radiusKm of the point whose own serviceRadiusKm also
+     * reaches it -- nobody is offered to a customer they wouldn't travel to --
+     * nearest first, and only the nearest `limit` of them if one is given.
+     * Candidates come from the in-memory geo index once it has loaded; until then
+     * (just after startup), or with the index disabled, from the database --
+     * through a bounding-box prefilter over the lat/lng indexes, or the plain
+     * radius query where no box fits. Ones the feature store already knows to be
+     * unavailable are dropped before ranking, and only the winners are fetched,
+     * in one query.
+     */
+    public List<TechnicianDto> findNearby(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        List<GeoHit> hits = geoIndex.isLoaded()
+                ? geoIndex.findServing(latitude, longitude, radiusKm)
+                : findNearbyInDatabase(latitude, longitude, radiusKm);
+
+        List<Long> nearestIds = featureStore.read(features -> {
+            TopKSelector<GeoHit> nearest = new TopKSelector<>(limit != null ? limit : hits.size(), NEAREST_FIRST);
+            for (GeoHit hit : hits) {
+                int slot = features.slotOf(hit.getTechnicianId());
+                if (slot < 0 || features.isEligible(slot)) {
+                    nearest.offer(hit);
+                }
+            }
+            return nearest.toList().stream().map(GeoHit::getTechnicianId).collect(Collectors.toList());
+        });
+        return loadAvailableInOrder(nearestIds);
+    }
+
+    /** Fetches the technicians in one query, keeping the given order and skipping any no longer available. */
+    private List<TechnicianDto> loadAvailableInOrder(List<Long> technicianIds) {
+        if (technicianIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TechnicianSummaryRow> availableById = technicianRepository.findAvailableByIdIn(technicianIds)
                 .stream()
-                .map(TechnicianLocation::getTechnician)
-                .filter(t -> Boolean.TRUE.equals(t.getAvailable()) && Boolean.TRUE.equals(t.getAcceptingJobs()))
+                .collect(Collectors.toMap(TechnicianSummaryRow::getId, Function.identity()));
+
+        return technicianIds.stream()
+                .map(availableById::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    private List<GeoHit> findNearbyInDatabase(double latitude, double longitude, double radiusKm) {
+        List<TechnicianLocation> locations = GeoBoundingBox.around(latitude, longitude, radiusKm)
+                .map(box -> technicianLocationRepository.findWithinRadiusInBox(latitude, longitude, radiusKm,
+                        box.getMinLatitude(), box.getMaxLatitude(), box.getMinLongitude(), box.getMaxLongitude()))
+                .orElseGet(() -> technicianLocationRepository.findWithinRadius(latitude, longitude, radiusKm));
+
+        List<GeoHit> hits = new ArrayList<>();
+        for (TechnicianLocation location : locations) {
+            double distanceKm = GeoMath.haversineKm(latitude, longitude, location.getLatitude(), location.getLongitude());
+            if (distanceKm <= location.getServiceRadiusKm()) {
+                hits.add(new GeoHit(location.getTechnician().getId(), distanceKm));
+            }
+        }
+        return hits;
+    }
+
     @Transactional
     public TechnicianLocationDto upsertMyLocation(Long userId, TechnicianLocationRequest request) {
         Technician technician = technicianRepository.findByUserId(userId)
@@ -131,6 +264,12 @@ public class TechnicianAccountService {
         location.setLandmark(request.getLandmark());
 
         location = technicianLocationRepository.save(location);
+        Long technicianId = technician.getId();
+        double latitude = location.getLatitude();
+        double longitude = location.getLongitude();
+        int serviceRadiusKm = location.getServiceRadiusKm();
+        TransactionHooks.afterCommit(() -> geoIndex.put(technicianId, latitude, longitude, serviceRadiusKm));
+        featureStore.refreshAfterCommit(technician.getId());
         return mapLocationToDto(location);
     }
 
@@ -153,6 +292,25 @@ public class TechnicianAccountService {
         return dto;
     }
 
+    private TechnicianDto mapToDto(TechnicianSummaryRow row) {
+        TechnicianDto dto = new TechnicianDto();
+        dto.setId(row.getId());
+        dto.setTechnicianId(row.getTechnicianId());
+        dto.setFirstName(row.getFirstName());
+        dto.setLastName(row.getLastName());
+        dto.setVerificationStatus(row.getVerificationStatus().name());
+        dto.setVerified(row.getVerificationStatus() == Technician.VerificationStatus.VERIFIED);
+        dto.setAvailable(row.getAvailable());
+        dto.setAcceptingJobs(row.getAcceptingJobs());
+        dto.setRating(row.getRating());
+        dto.setTotalRatings(row.getTotalRatings());
+        dto.setCompletedJobs(row.getCompletedJobs());
+        dto.setBusinessName(row.getBusinessName());
+        dto.setBio(row.getBio());
+        dto.setYearsOfExperience(row.getYearsOfExperience());
+        return dto;
+    }
+
     private TechnicianLocationDto mapLocationToDto(TechnicianLocation location) {
         TechnicianLocationDto dto = new TechnicianLocationDto();
         dto.setAddress(location.getAddress());
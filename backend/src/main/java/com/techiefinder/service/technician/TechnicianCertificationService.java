@@ -1,10 +1,12 @@
 package com.techiefinder.service.technician;
 
 import com.techiefinder.dto.technician.TechnicianCertificationDto;
+import com.techiefinder.model.admin.MetricRollup;
 import com.techiefinder.model.technician.Technician;
 import com.techiefinder.model.technician.TechnicianCertification;
 import com.techiefinder.repository.technician.TechnicianCertificationRepository;
 import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.service.admin.AdminMetricsService;
 import com.techiefinder.service.storage.FileStorageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -27,6 +29,12 @@ public class TechnicianCertificationService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private AdminMetricsService metricsService;
+
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @Transactional
     public TechnicianCertificationDto addCertification(Long userId, String name, String issuingOrganization,
                                                           String credentialId, LocalDate issueDate, LocalDate expiryDate,
@@ -50,6 +58,7 @@ public class TechnicianCertificationService {
                 .build();
 
         certification = certificationRepository.save(certification);
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.CERTIFICATIONS, technician.getId());
         return mapToDto(certification);
     }
 
@@ -73,6 +82,7 @@ public class TechnicianCertificationService {
         }
 
         certificationRepository.delete(certification);
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.CERTIFICATIONS, technician.getId());
         fileStorageService.delete(certification.getCertificateUrl());
     }
 
@@ -87,8 +97,16 @@ public class TechnicianCertificationService {
     public TechnicianCertificationDto updateVerificationStatus(Long certificationId, TechnicianCertification.VerificationStatus status) {
         TechnicianCertification certification = certificationRepository.findById(certificationId)
                 .orElseThrow(() -> new IllegalArgumentException("Certification not found"));
+        boolean changed = certification.getVerificationStatus() != status;
         certification.setVerificationStatus(status);
         certification = certificationRepository.save(certification);
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.CERTIFICATIONS,
+                certification.getTechnician().getId());
+        if (changed && status == TechnicianCertification.VerificationStatus.VERIFIED) {
+            metricsService.record(MetricRollup.Metric.CERTIFICATIONS_VERIFIED);
+        } else if (changed && status == TechnicianCertification.VerificationStatus.REJECTED) {
+            metricsService.record(MetricRollup.Metric.CERTIFICATIONS_REJECTED);
+        }
         return mapToDto(certification);
     }
 
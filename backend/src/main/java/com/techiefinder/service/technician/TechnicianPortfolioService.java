@@ -32,6 +32,9 @@ public class TechnicianPortfolioService {
     @Autowired
     private FileStorageService fileStorageService;
 
+    @Autowired
+    private PublicResponseCache responseCache;
+
     @Transactional
     public TechnicianPortfolioDto addPortfolioItem(Long userId, String title, String description,
                                                      String categorySlug, MultipartFile image) {
@@ -56,6 +59,7 @@ public class TechnicianPortfolioService {
                 .build();
 
         item = portfolioRepository.save(item);
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.PORTFOLIO, technician.getId());
         return mapToDto(item);
     }
 
@@ -79,6 +83,7 @@ public class TechnicianPortfolioService {
         }
 
         portfolioRepository.delete(item);
+        responseCache.evictAfterCommit(PublicResponseCache.Resource.PORTFOLIO, technician.getId());
         fileStorageService.delete(item.getImageUrl());
     }
 
@@ -1,21 +1,22 @@
 package com.techiefinder.service.technician;
 
 import com.techiefinder.dto.technician.TechnicianDto;
-import com.techiefinder.model.booking.Booking;
 import com.techiefinder.model.technician.Technician;
-import com.techiefinder.model.technician.TechnicianLocation;
 import com.techiefinder.repository.booking.BookingRepository;
-import com.techiefinder.repository.technician.TechnicianLocationRepository;
 import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.repository.technician.TechnicianSummaryRow;
+import com.techiefinder.service.technician.geo.GeoMath;
+import com.techiefinder.service.technician.recommendation.TechnicianFeatureStore;
+import com.techiefinder.service.technician.recommendation.TopKSelector;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,92 +30,86 @@ import java.util.stream.Collectors;
  *   - verification status (a small boost for admin-verified technicians)
  * Each technician's score is returned on the DTO so the ranking is inspectable,
  * not a black box.
+ *
+ * Scoring runs over TechnicianFeatureStore's in-memory arrays, with a
+ * TopKSelector keeping only the best `limit` candidates as it goes; only those
+ * winners are then read from the database, in one query, to build the response.
  */
 @Service
 public class TechnicianRecommendationService {
 
     private static final double MAX_RELEVANT_DISTANCE_KM = 50.0;
 
+    // Highest score first; on a tie the lower id wins, keeping the ranking deterministic.
+    private static final Comparator<ScoredTechnician> BEST_FIRST = Comparator
+            .comparingDouble((ScoredTechnician c) -> c.score).reversed()
+            .thenComparingLong(c -> c.technicianId);
+
     @Autowired
     private TechnicianRepository technicianRepository;
 
     @Autowired
-    private TechnicianLocationRepository technicianLocationRepository;
+    private BookingRepository bookingRepository;
 
     @Autowired
-    private BookingRepository bookingRepository;
+    private TechnicianFeatureStore featureStore;
 
     @Transactional(readOnly = true)
     public List<TechnicianDto> recommend(Long userId, Double latitude, Double longitude, int limit) {
-        List<Technician> candidates = technicianRepository.findAvailableTechnicians();
-        Set<Long> preferredCategoryIds = userId != null ? preferredCategoryIdsFor(userId) : Set.of();
-        Map<Long, Double> distanceByTechnicianId = latitude != null && longitude != null
-                ? distancesFromCaller(latitude, longitude)
-                : Map.of();
-
-        return candidates.stream()
-                .map(t -> mapToDto(t, score(t, distanceByTechnicianId.get(t.getId()), preferredCategoryIds)))
-                .sorted(Comparator.comparingDouble(TechnicianDto::getMatchScore).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
-    }
+        List<Long> bookedTechnicianIds = userId != null
+                ? bookingRepository.findDistinctTechnicianIdsByUserId(userId)
+                : List.of();
+
+        List<ScoredTechnician> ranked = featureStore.read(features -> {
+            long[] preferredCategories = features.categoriesOf(bookedTechnicianIds);
+            TopKSelector<ScoredTechnician> best = new TopKSelector<>(limit, BEST_FIRST);
+            for (int slot = 0; slot < features.size(); slot++) {
+                if (features.isEligible(slot)) {
+                    best.offer(new ScoredTechnician(features.technicianId(slot),
+                            score(features, slot, latitude, longitude, preferredCategories)));
+                }
+            }
+            return best.toList();
+        });
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
 
-    private Set<Long> preferredCategoryIdsFor(Long userId) {
-        return bookingRepository.findByUserId(userId).stream()
-                .flatMap(booking -> booking.getTechnician().getServices().stream())
-                .map(service -> service.getCategory().getId())
-                .collect(Collectors.toSet());
+        Map<Long, TechnicianSummaryRow> technicianById = technicianRepository.findSummariesByIdIn(
+                        ranked.stream().map(c -> c.technicianId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(TechnicianSummaryRow::getId, Function.identity()));
+
+        return ranked.stream()
+                .map(c -> {
+                    TechnicianSummaryRow technician = technicianById.get(c.technicianId);
+                    return technician != null ? mapToDto(technician, c.score) : null;
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
-    private Map<Long, Double> distancesFromCaller(double latitude, double longitude) {
-        Map<Long, Double> distances = new HashMap<>();
-        for (TechnicianLocation location : technicianLocationRepository.findAll()) {
-            distances.put(location.getTechnician().getId(),
-                    haversineKm(latitude, longitude, location.getLatitude(), location.getLongitude()));
+    private double score(TechnicianFeatureStore.Features features, int slot,
+                         Double latitude, Double longitude, long[] preferredCategories) {
+        double proximityScore = 0.0;
+        if (latitude != null && longitude != null && features.hasLocation(slot)) {
+            double distanceKm = GeoMath.haversineKm(latitude, longitude, features.latitude(slot), features.longitude(slot));
+            proximityScore = Math.max(0, 1 - (distanceKm / MAX_RELEVANT_DISTANCE_KM));
         }
-        return distances;
-    }
-
-    private double score(Technician technician, Double distanceKm, Set<Long> preferredCategoryIds) {
-        double ratingScore = technician.getRating() != null ? technician.getRating().doubleValue() : 0.0;
-
-        int completed = technician.getCompletedJobs() != null ? technician.getCompletedJobs() : 0;
-        int cancelled = technician.getCancelledJobs() != null ? technician.getCancelledJobs() : 0;
-        double completionRate = (completed + cancelled) > 0 ? (double) completed / (completed + cancelled) : 0.5;
 
-        double proximityScore = distanceKm != null
-                ? Math.max(0, 1 - (distanceKm / MAX_RELEVANT_DISTANCE_KM))
-                : 0.0;
-
-        boolean matchesPreferredCategory = technician.getServices().stream()
-                .anyMatch(service -> preferredCategoryIds.contains(service.getCategory().getId()));
-
-        boolean verified = technician.getVerificationStatus() == Technician.VerificationStatus.VERIFIED;
-
-        return ratingScore * 2.0
-                + completionRate * 3.0
+        return features.rating(slot) * 2.0
+                + features.completionRate(slot) * 3.0
                 + proximityScore * 2.0
-                + (matchesPreferredCategory ? 2.0 : 0.0)
-                + (verified ? 1.0 : 0.0);
-    }
-
-    private double haversineKm(double lat1, double lon1, double lat2, double lon2) {
-        double earthRadiusKm = 6371.0;
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return earthRadiusKm * c;
+                + (features.offersAnyOf(slot, preferredCategories) ? 2.0 : 0.0)
+                + (features.isVerified(slot) ? 1.0 : 0.0);
     }
 
-    private TechnicianDto mapToDto(Technician technician, double matchScore) {
+    private TechnicianDto mapToDto(TechnicianSummaryRow technician, double matchScore) {
         TechnicianDto dto = new TechnicianDto();
         dto.setId(technician.getId());
         dto.setTechnicianId(technician.getTechnicianId());
-        dto.setFirstName(technician.getUser().getFirstName());
-        dto.setLastName(technician.getUser().getLastName());
+        dto.setFirstName(technician.getFirstName());
+        dto.setLastName(technician.getLastName());
         dto.setVerificationStatus(technician.getVerificationStatus().name());
         dto.setVerified(technician.getVerificationStatus() == Technician.VerificationStatus.VERIFIED);
         dto.setAvailable(technician.getAvailable());
@@ -128,4 +123,14 @@ public class TechnicianRecommendationService {
         dto.setMatchScore(Math.round(matchScore * 100.0) / 100.0);
         return dto;
     }
+
+    private static final class ScoredTechnician {
+        private final long technicianId;
+        private final double score;
+
+        private ScoredTechnician(long technicianId, double score) {
+            this.technicianId = technicianId;
+            this.score = score;
+        }
+    }
 }
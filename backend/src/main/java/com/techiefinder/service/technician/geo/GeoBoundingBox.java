@@ -0,0 +1,45 @@
+package com.techiefinder.service.technician.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * The latitude/longitude rectangle enclosing a search circle -- a cheap,
+ * index-friendly prefilter (plain BETWEEN ranges) to run before the exact
+ * haversine check.
+ */
+@Getter
+@AllArgsConstructor
+public class GeoBoundingBox {
+
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    /**
+     * Empty when the circle reaches a pole or crosses the antimeridian, where a
+     * single min/max rectangle can't describe it -- callers fall back to an
+     * unfiltered radius search there.
+     */
+    public static Optional<GeoBoundingBox> around(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / GeoMath.KM_PER_DEGREE_LATITUDE;
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        if (minLatitude <= -90.0 || maxLatitude >= 90.0) {
+            return Optional.empty();
+        }
+
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double longitudeDelta = radiusKm / (GeoMath.KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(widestLatitude)));
+        double minLongitude = longitude - longitudeDelta;
+        double maxLongitude = longitude + longitudeDelta;
+        if (minLongitude < -180.0 || maxLongitude > 180.0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new GeoBoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude));
+    }
+}
@@ -0,0 +1,12 @@
+package com.techiefinder.service.technician.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** One technician matched by a radius search, with its distance from the search point. */
+@Getter
+@AllArgsConstructor
+public class GeoHit {
+    private final Long technicianId;
+    private final double distanceKm;
+}
@@ -0,0 +1,25 @@
+package com.techiefinder.service.technician.geo;
+
+/**
+ * Great-circle distance on a spherical Earth. Accurate to well under 1% at the
+ * distances nearby search deals in (tens of km), which is far tighter than the
+ * precision of a phone's GPS fix in the first place.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    public static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private GeoMath() {
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+}
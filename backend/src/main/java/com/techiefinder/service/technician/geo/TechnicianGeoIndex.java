@@ -0,0 +1,252 @@
+package com.techiefinder.service.technician.geo;
+
+import com.techiefinder.repository.technician.TechnicianLocationPoint;
+import com.techiefinder.repository.technician.TechnicianLocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process spatial index over every technician's service area -- the circle
+ * of serviceRadiusKm around their location -- so /api/technicians/nearby can
+ * answer "who will travel to this point?" without a database round trip. The
+ * world is divided into a fixed grid of 0.1-degree cells (~11km a side at the
+ * equator) and each service circle is registered in every cell it overlaps, so
+ * a query only probes the one cell holding the customer's point and runs the
+ * exact haversine check on the technicians registered there.
+ *
+ * Built from the database when the application starts, updated after each
+ * committed TechnicianAccountService.upsertMyLocation, and rebuilt from the
+ * database every technician.geo-index.reload-interval-ms. Each instance holds
+ * its own copy and only hears of its own updates, so the reload is what bounds
+ * how late another instance's location changes show up here. Callers fall
+ * back to the database query until isLoaded() is true.
+ */
+@Component
+public class TechnicianGeoIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnicianGeoIndex.class);
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LATITUDE_CELLS = (int) Math.round(180 / CELL_DEGREES);
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    // Roughly a 500km radius near the equator. Wider circles (and any touching a
+    // pole) are checked on every query rather than copied into that many cells.
+    private static final int MAX_CELLS_PER_CIRCLE = 10_000;
+
+    @Autowired
+    private TechnicianLocationRepository technicianLocationRepository;
+
+    @Value("${technician.geo-index.enabled:true}")
+    private boolean enabled = true;
+
+    private final Map<Long, ServiceCircle> circlesByTechnicianId = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> technicianIdsByCell = new ConcurrentHashMap<>();
+    private final Set<Long> wideTechnicianIds = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Technician geo index is disabled -- nearby search will query the database.");
+            return;
+        }
+        reloadAll();
+        loaded = true;
+        log.info("Technician geo index loaded with {} service areas", circlesByTechnicianId.size());
+    }
+
+    /** Rebuilds the index from the database, picking up other instances' location changes. */
+    @Scheduled(fixedDelayString = "${technician.geo-index.reload-interval-ms:30000}",
+            initialDelayString = "${technician.geo-index.reload-interval-ms:30000}")
+    public void reload() {
+        if (!loaded) {
+            return;
+        }
+        try {
+            reloadAll();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload the technician geo index: {}", e.getMessage());
+        }
+    }
+
+    private void reloadAll() {
+        long readAt = System.nanoTime();
+        Set<Long> present = new HashSet<>();
+        for (TechnicianLocationPoint point : technicianLocationRepository.findAllPoints()) {
+            present.add(point.getTechnicianId());
+            index(point.getTechnicianId(), point.getLatitude(), point.getLongitude(), point.getServiceRadiusKm(), readAt);
+        }
+        for (Long technicianId : circlesByTechnicianId.keySet()) {
+            if (!present.contains(technicianId)) {
+                circlesByTechnicianId.computeIfPresent(technicianId, (id, existing) -> {
+                    if (existing.readAt - readAt >= 0) {
+                        return existing;
+                    }
+                    unregister(id, existing);
+                    return null;
+                });
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        return circlesByTechnicianId.size();
+    }
+
+    public void put(Long technicianId, double latitude, double longitude, int serviceRadiusKm) {
+        if (!enabled) {
+            return;
+        }
+        index(technicianId, latitude, longitude, serviceRadiusKm, System.nanoTime());
+    }
+
+    /**
+     * Technicians within radiusKm of the given point whose own service radius
+     * also reaches it, in no particular order -- callers rank (and usually
+     * trim) the hits themselves.
+     */
+    public List<GeoHit> findServing(double latitude, double longitude, double radiusKm) {
+        List<Long> candidates = new ArrayList<>(wideTechnicianIds);
+        Set<Long> cell = technicianIdsByCell.get(cellKey(latitudeCell(latitude), longitudeCell(longitude)));
+        if (cell != null) {
+            candidates.addAll(cell);
+        }
+
+        List<GeoHit> hits = new ArrayList<>();
+        for (Long technicianId : candidates) {
+            ServiceCircle circle = circlesByTechnicianId.get(technicianId);
+            if (circle == null) {
+                continue;
+            }
+            double distanceKm = GeoMath.haversineKm(latitude, longitude, circle.latitude, circle.longitude);
+            if (distanceKm <= radiusKm && distanceKm <= circle.serviceRadiusKm) {
+                hits.add(new GeoHit(technicianId, distanceKm));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * readAt is when the location was known to be current: when a committed
+     * update arrived, or when a reload started reading. A location put while a
+     * reload was reading is newer than that reload's snapshot, so the snapshot
+     * must not overwrite it.
+     */
+    private void index(Long technicianId, double latitude, double longitude, int serviceRadiusKm, long readAt) {
+        // compute() serializes concurrent updates for the same technician, so the
+        // circle and its cell memberships can't drift apart.
+        circlesByTechnicianId.compute(technicianId, (id, existing) -> {
+            if (existing != null && existing.readAt - readAt > 0) {
+                return existing;
+            }
+            if (existing != null) {
+                unregister(id, existing);
+            }
+            ServiceCircle updated = new ServiceCircle(latitude, longitude, serviceRadiusKm, readAt);
+            if (updated.cellKeys == null) {
+                wideTechnicianIds.add(id);
+            } else {
+                for (long key : updated.cellKeys) {
+                    technicianIdsByCell.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+                }
+            }
+            return updated;
+        });
+    }
+
+    private void unregister(Long technicianId, ServiceCircle circle) {
+        if (circle.cellKeys == null) {
+            wideTechnicianIds.remove(technicianId);
+            return;
+        }
+        for (long key : circle.cellKeys) {
+            Set<Long> cell = technicianIdsByCell.get(key);
+            if (cell != null) {
+                cell.remove(technicianId);
+            }
+        }
+    }
+
+    /** Every cell the circle overlaps, or null when there are too many to list. */
+    private static long[] cellsCovering(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = Math.max(0, radiusKm) / GeoMath.KM_PER_DEGREE_LATITUDE;
+        // Degrees of longitude shrink toward the poles, so size the longitude span
+        // for the circle's edge furthest from the equator.
+        double widestLatitude = Math.abs(latitude) + latitudeDelta;
+        if (widestLatitude >= 89.0) {
+            return null;
+        }
+        double longitudeDelta = Math.max(0, radiusKm) / (GeoMath.KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(widestLatitude)));
+
+        int minLatitudeCell = latitudeCell(latitude - latitudeDelta);
+        int maxLatitudeCell = latitudeCell(latitude + latitudeDelta);
+        int minLongitudeCell = rawLongitudeCell(longitude - longitudeDelta);
+        int longitudeSpan = rawLongitudeCell(longitude + longitudeDelta) - minLongitudeCell + 1;
+
+        long cellCount = (long) (maxLatitudeCell - minLatitudeCell + 1) * longitudeSpan;
+        if (longitudeSpan >= LONGITUDE_CELLS || cellCount > MAX_CELLS_PER_CIRCLE) {
+            return null;
+        }
+
+        long[] keys = new long[(int) cellCount];
+        int i = 0;
+        for (int latCell = minLatitudeCell; latCell <= maxLatitudeCell; latCell++) {
+            for (int offset = 0; offset < longitudeSpan; offset++) {
+                // floorMod wraps columns across the antimeridian (180°E == 180°W).
+                keys[i++] = cellKey(latCell, Math.floorMod(minLongitudeCell + offset, LONGITUDE_CELLS));
+            }
+        }
+        return keys;
+    }
+
+    private static int latitudeCell(double latitude) {
+        int cell = (int) Math.floor((latitude + 90.0) / CELL_DEGREES);
+        return Math.max(0, Math.min(LATITUDE_CELLS - 1, cell));
+    }
+
+    private static int rawLongitudeCell(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / CELL_DEGREES);
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.floorMod(rawLongitudeCell(longitude), LONGITUDE_CELLS);
+    }
+
+    private static long cellKey(int latitudeCell, int longitudeCell) {
+        return (long) latitudeCell * LONGITUDE_CELLS + longitudeCell;
+    }
+
+    private static final class ServiceCircle {
+        private final double latitude;
+        private final double longitude;
+        private final int serviceRadiusKm;
+        private final long[] cellKeys;
+        private final long readAt;
+
+        private ServiceCircle(double latitude, double longitude, int serviceRadiusKm, long readAt) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.serviceRadiusKm = serviceRadiusKm;
+            this.readAt = readAt;
+            this.cellKeys = cellsCovering(latitude, longitude, serviceRadiusKm);
+        }
+    }
+}
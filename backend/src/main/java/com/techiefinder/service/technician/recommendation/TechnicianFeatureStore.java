@@ -0,0 +1,347 @@
+package com.techiefinder.service.technician.recommendation;
+
+import com.techiefinder.model.technician.Technician;
+import com.techiefinder.repository.technician.TechnicianCategoryPair;
+import com.techiefinder.repository.technician.TechnicianFeatureRow;
+import com.techiefinder.repository.technician.TechnicianLocationPoint;
+import com.techiefinder.repository.technician.TechnicianLocationRepository;
+import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.repository.technician.TechnicianServiceRepository;
+import com.techiefinder.service.common.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Every technician's recommendation inputs -- rating, completion rate, verified
+ * flag, offered categories (as a bitset) and coordinates -- held column-wise in
+ * primitive arrays indexed by a per-technician slot, so ranking is a tight
+ * in-memory scan instead of loading every Technician, its services and its
+ * location on each request.
+ *
+ * Loaded from the database when the application starts (or by the first
+ * recommendation, if that comes sooner) and kept current by the services that
+ * change those inputs, which call refreshAfterCommit with the technician's id.
+ * Those refreshes only reach this instance, so the whole store is also re-read
+ * every technician.features.reconcile-interval-ms to pick up writes made on
+ * other instances. Readers share a read lock; loads and refreshes read the
+ * committed rows first and only take the write lock to copy the values in.
+ */
+@Component
+public class TechnicianFeatureStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnicianFeatureStore.class);
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final long[] NO_CATEGORIES = new long[0];
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private TechnicianServiceRepository technicianServiceRepository;
+
+    @Autowired
+    private TechnicianLocationRepository technicianLocationRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes loads and refreshes (database read + apply) so an older read can
+    // never be applied over a newer one; readers only ever wait on the write lock.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Features features = new Features();
+
+    private final Map<Long, Integer> slotByTechnicianId = new HashMap<>();
+    private final Map<Long, Integer> bitByCategoryId = new HashMap<>();
+    private int size;
+    private long[] technicianIds = new long[INITIAL_CAPACITY];
+    private boolean[] eligible = new boolean[INITIAL_CAPACITY];
+    private double[] rating = new double[INITIAL_CAPACITY];
+    private double[] completionRate = new double[INITIAL_CAPACITY];
+    private boolean[] verified = new boolean[INITIAL_CAPACITY];
+    private double[] latitude = new double[INITIAL_CAPACITY];
+    private double[] longitude = new double[INITIAL_CAPACITY];
+    private long[][] categoryWords = new long[INITIAL_CAPACITY][];
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (loaded) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            if (!loaded) {
+                int count = reloadAll();
+                log.info("Technician feature store loaded with {} technicians", count);
+            }
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads every technician's features, picking up what other instances
+     * changed -- a refresh only ever reaches the instance that made the write.
+     * The interval is how stale ratings, job counts and the rest can be here.
+     */
+    @Scheduled(fixedDelayString = "${technician.features.reconcile-interval-ms:60000}",
+            initialDelayString = "${technician.features.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        if (!loaded) {
+            return;
+        }
+        refreshLock.lock();
+        try {
+            reloadAll();
+        } catch (RuntimeException e) {
+            log.warn("Could not reconcile recommendation features: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /** Caller must hold refreshLock. Returns how many technicians were read. */
+    private int reloadAll() {
+        List<TechnicianFeatureRow> rows = technicianRepository.findAllFeatureRows();
+        List<TechnicianCategoryPair> categories = technicianServiceRepository.findAllTechnicianCategoryPairs();
+        List<TechnicianLocationPoint> points = technicianLocationRepository.findAllPoints();
+
+        lock.writeLock().lock();
+        try {
+            // Technicians gone from the database keep their slot but never rank again.
+            Arrays.fill(eligible, 0, size, false);
+            Arrays.fill(latitude, 0, size, Double.NaN);
+            Arrays.fill(longitude, 0, size, Double.NaN);
+            Arrays.fill(categoryWords, 0, size, NO_CATEGORIES);
+            for (TechnicianFeatureRow row : rows) {
+                applyRow(slotFor(row.getId()), row);
+            }
+            for (TechnicianCategoryPair pair : categories) {
+                Integer slot = slotByTechnicianId.get(pair.getTechnicianId());
+                if (slot != null) {
+                    categoryWords[slot] = withBit(categoryWords[slot], bitFor(pair.getCategoryId()));
+                }
+            }
+            for (TechnicianLocationPoint point : points) {
+                Integer slot = slotByTechnicianId.get(point.getTechnicianId());
+                if (slot != null) {
+                    latitude[slot] = point.getLatitude();
+                    longitude[slot] = point.getLongitude();
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rows.size();
+    }
+
+    /**
+     * Re-reads the technician's features once the current transaction commits,
+     * so a rollback never leaks into recommendations.
+     */
+    public void refreshAfterCommit(Long technicianId) {
+        TransactionHooks.afterCommit(() -> refresh(technicianId));
+    }
+
+    /** Runs reader against a consistent view of the store, loading it first if needed. */
+    public <T> T read(Function<Features, T> reader) {
+        load();
+        lock.readLock().lock();
+        try {
+            return reader.apply(features);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refresh(Long technicianId) {
+        if (!loaded) {
+            // The initial load reads everything from the database anyway.
+            return;
+        }
+        refreshLock.lock();
+        try {
+            Optional<TechnicianFeatureRow> row = technicianRepository.findFeatureRowById(technicianId);
+            if (row.isEmpty()) {
+                return;
+            }
+            List<Long> categoryIds = technicianServiceRepository.findCategoryIdsByTechnicianId(technicianId);
+            Optional<TechnicianLocationPoint> point = technicianLocationRepository.findPointByTechnicianId(technicianId);
+
+            lock.writeLock().lock();
+            try {
+                int slot = slotFor(technicianId);
+                applyRow(slot, row.get());
+                long[] words = NO_CATEGORIES;
+                for (Long categoryId : categoryIds) {
+                    words = withBit(words, bitFor(categoryId));
+                }
+                categoryWords[slot] = words;
+                latitude[slot] = point.map(TechnicianLocationPoint::getLatitude).orElse(Double.NaN);
+                longitude[slot] = point.map(TechnicianLocationPoint::getLongitude).orElse(Double.NaN);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            // The change itself is already committed; a stale score until the next
+            // refresh (or reconcile) is better than failing the caller's request.
+            log.warn("Could not refresh recommendation features for technician {}: {}", technicianId, e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void applyRow(int slot, TechnicianFeatureRow row) {
+        int completed = row.getCompletedJobs() != null ? row.getCompletedJobs() : 0;
+        int cancelled = row.getCancelledJobs() != null ? row.getCancelledJobs() : 0;
+
+        eligible[slot] = Boolean.TRUE.equals(row.getAvailable()) && Boolean.TRUE.equals(row.getAcceptingJobs());
+        rating[slot] = row.getRating() != null ? row.getRating().doubleValue() : 0.0;
+        completionRate[slot] = (completed + cancelled) > 0 ? (double) completed / (completed + cancelled) : 0.5;
+        verified[slot] = row.getVerificationStatus() == Technician.VerificationStatus.VERIFIED;
+    }
+
+    /** Caller must hold the write lock. */
+    private int slotFor(Long technicianId) {
+        Integer existing = slotByTechnicianId.get(technicianId);
+        if (existing != null) {
+            return existing;
+        }
+        if (size == technicianIds.length) {
+            int capacity = size * 2;
+            technicianIds = Arrays.copyOf(technicianIds, capacity);
+            eligible = Arrays.copyOf(eligible, capacity);
+            rating = Arrays.copyOf(rating, capacity);
+            completionRate = Arrays.copyOf(completionRate, capacity);
+            verified = Arrays.copyOf(verified, capacity);
+            latitude = Arrays.copyOf(latitude, capacity);
+            longitude = Arrays.copyOf(longitude, capacity);
+            categoryWords = Arrays.copyOf(categoryWords, capacity);
+        }
+        int slot = size++;
+        technicianIds[slot] = technicianId;
+        latitude[slot] = Double.NaN;
+        longitude[slot] = Double.NaN;
+        categoryWords[slot] = NO_CATEGORIES;
+        slotByTechnicianId.put(technicianId, slot);
+        return slot;
+    }
+
+    /** Caller must hold the write lock. */
+    private int bitFor(Long categoryId) {
+        return bitByCategoryId.computeIfAbsent(categoryId, id -> bitByCategoryId.size());
+    }
+
+    private static long[] withBit(long[] words, int bit) {
+        int word = bit >>> 6;
+        long[] result = word < words.length ? words : Arrays.copyOf(words, word + 1);
+        result[word] |= 1L << bit;
+        return result;
+    }
+
+    /**
+     * Read-only accessors over the arrays, by slot (0 to size() - 1). Only valid
+     * inside TechnicianFeatureStore.read.
+     */
+    public final class Features {
+
+        private Features() {
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long technicianId(int slot) {
+            return technicianIds[slot];
+        }
+
+        /** -1 for a technician the store hasn't seen (e.g. created since it loaded, outside the services). */
+        public int slotOf(Long technicianId) {
+            Integer slot = slotByTechnicianId.get(technicianId);
+            return slot != null ? slot : -1;
+        }
+
+        /** Available and accepting jobs. */
+        public boolean isEligible(int slot) {
+            return eligible[slot];
+        }
+
+        public double rating(int slot) {
+            return rating[slot];
+        }
+
+        /** Completed vs. completed + cancelled jobs; 0.5 before any job has finished. */
+        public double completionRate(int slot) {
+            return completionRate[slot];
+        }
+
+        public boolean isVerified(int slot) {
+            return verified[slot];
+        }
+
+        public boolean hasLocation(int slot) {
+            return !Double.isNaN(latitude[slot]);
+        }
+
+        public double latitude(int slot) {
+            return latitude[slot];
+        }
+
+        public double longitude(int slot) {
+            return longitude[slot];
+        }
+
+        /** A mask for offersAnyOf matching just the given category. */
+        public long[] categoryMask(Long categoryId) {
+            Integer bit = bitByCategoryId.get(categoryId);
+            return bit != null ? withBit(NO_CATEGORIES, bit) : NO_CATEGORIES;
+        }
+
+        /** Union of the categories the given technicians offer, as a mask for offersAnyOf. */
+        public long[] categoriesOf(Collection<Long> technicianIds) {
+            long[] mask = NO_CATEGORIES;
+            for (Long technicianId : technicianIds) {
+                Integer slot = slotByTechnicianId.get(technicianId);
+                if (slot == null) {
+                    continue;
+                }
+                long[] words = categoryWords[slot];
+                if (words.length > mask.length) {
+                    mask = Arrays.copyOf(mask, words.length);
+                }
+                for (int i = 0; i < words.length; i++) {
+                    mask[i] |= words[i];
+                }
+            }
+            return mask;
+        }
+
+        public boolean offersAnyOf(int slot, long[] categoryMask) {
+            long[] words = categoryWords[slot];
+            int length = Math.min(words.length, categoryMask.length);
+            for (int i = 0; i < length; i++) {
+                if ((words[i] & categoryMask[i]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
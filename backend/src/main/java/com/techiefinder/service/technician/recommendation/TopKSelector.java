@@ -0,0 +1,54 @@
+package com.techiefinder.service.technician.recommendation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best k of a stream of candidates in a bounded heap -- O(n log k)
+ * time and O(k) memory instead of sorting all n just to keep the first few.
+ * `order` ranks best first, the same comparator a full sort would use; ties it
+ * leaves unresolved may come out in either order, so callers that want a
+ * stable ranking should break them (e.g. by id).
+ */
+public final class TopKSelector<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    // Worst candidate at the head, so it's the one evicted when a better one arrives.
+    private final PriorityQueue<T> heap;
+
+    public TopKSelector(int k, Comparator<? super T> order) {
+        this.k = Math.max(0, k);
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.min(this.k, 1024) + 1, (a, b) -> order.compare(b, a));
+    }
+
+    public static <T> List<T> select(Iterable<? extends T> candidates, int k, Comparator<? super T> order) {
+        TopKSelector<T> selector = new TopKSelector<>(k, order);
+        for (T candidate : candidates) {
+            selector.offer(candidate);
+        }
+        return selector.toList();
+    }
+
+    public void offer(T candidate) {
+        if (k == 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(candidate);
+        } else if (order.compare(candidate, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    /** The selected candidates, best first. */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
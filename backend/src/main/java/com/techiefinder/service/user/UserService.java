@@ -1,21 +1,27 @@
 package com.techiefinder.service.user;
 
+import com.techiefinder.dto.common.CursorPage;
 import com.techiefinder.dto.user.UserDto;
 import com.techiefinder.model.user.User;
 import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.security.AccountVersionTracker;
+import com.techiefinder.security.JwtPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Service
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @Autowired
+    private AccountVersionTracker accountVersionTracker;
+
     public UserDto getUserById(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -28,11 +34,12 @@ public class UserService {
         return mapToDto(user);
     }
 
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+    public CursorPage<UserDto> getAllUsers(String cursor, Integer size) {
+        int pageSize = CursorPage.pageSize(size);
+        CursorPage.Position before = CursorPage.positionBefore(cursor);
+        return CursorPage.of(userRepository.findPage(
+                before.getCreatedAt(), before.getId(), CursorPage.pageRequest(pageSize)),
+                pageSize, User::getCreatedAt, User::getId, this::mapToDto);
     }
 
     @Transactional
@@ -43,7 +50,12 @@ public class UserService {
             throw new SecurityException("Admin accounts cannot be suspended");
         }
         user.setActive(active);
+        // Tokens issued before this carry the old version, so the filter checks
+        // them against the database instead of trusting their claims.
+        user.setTokenVersion(user.getTokenVersion() + 1);
         user = userRepository.save(user);
+        accountVersionTracker.recordAfterCommit(user.getId(), user.getTokenVersion());
+        principalCache.evictUserAfterCommit(user.getId());
         return mapToDto(user);
     }
 
@@ -0,0 +1,70 @@
+package com.techiefinder.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class HostCircuitBreakerInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void stopsCallingAHostAfterRepeatedFailuresButNotOtherHosts() {
+        HostCircuitBreakerInterceptor breaker = new HostCircuitBreakerInterceptor(3, 60_000, meterRegistry);
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(breaker);
+        MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+        server.expect(ExpectedCount.times(3), requestTo("https://api.paystack.co/transaction/verify/ref"))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+        server.expect(requestTo("https://api.flutterwave.com/v3/transactions/verify_by_reference"))
+                .andRespond(withSuccess());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> restTemplate.getForObject("https://api.paystack.co/transaction/verify/ref", String.class))
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+
+        // The fourth call never reaches Paystack.
+        assertThatThrownBy(() -> restTemplate.getForObject("https://api.paystack.co/transaction/verify/ref", String.class))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasCauseInstanceOf(HostCircuitBreakerInterceptor.CircuitOpenException.class);
+        assertThat(breaker.isOpen("api.paystack.co")).isTrue();
+        assertThat(meterRegistry.counter("http.client.circuit.rejected", "host", "api.paystack.co").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.client.circuit.open").tag("host", "api.paystack.co").gauge().value()).isEqualTo(1);
+
+        restTemplate.getForObject("https://api.flutterwave.com/v3/transactions/verify_by_reference", String.class);
+        assertThat(breaker.isOpen("api.flutterwave.com")).isFalse();
+        server.verify();
+    }
+
+    @Test
+    void aSuccessfulTrialCallClosesTheCircuit() throws InterruptedException {
+        HostCircuitBreakerInterceptor breaker = new HostCircuitBreakerInterceptor(1, 50, meterRegistry);
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(breaker);
+        MockRestServiceServer server = MockRestServiceServer.createServer(restTemplate);
+        server.expect(requestTo("https://api.ng.termii.com/api/sms/send")).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        server.expect(ExpectedCount.times(2), requestTo("https://api.ng.termii.com/api/sms/send")).andRespond(withSuccess());
+
+        assertThatThrownBy(() -> restTemplate.postForObject("https://api.ng.termii.com/api/sms/send", "{}", String.class))
+                .isInstanceOf(HttpServerErrorException.class);
+        assertThat(breaker.isOpen("api.ng.termii.com")).isTrue();
+
+        Thread.sleep(80);
+        restTemplate.postForObject("https://api.ng.termii.com/api/sms/send", "{}", String.class);
+        assertThat(breaker.isOpen("api.ng.termii.com")).isFalse();
+        restTemplate.postForObject("https://api.ng.termii.com/api/sms/send", "{}", String.class);
+        server.verify();
+    }
+}
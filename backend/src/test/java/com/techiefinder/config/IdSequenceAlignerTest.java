@@ -0,0 +1,60 @@
+package com.techiefinder.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What the aligner does to a MySQL-style sequence table (one next_val row) on
+ * a database upgraded from AUTO_INCREMENT ids; H2 itself uses native
+ * sequences, so the tables here stand in for a legacy table and its sequence.
+ */
+@SpringBootTest
+class IdSequenceAlignerTest {
+
+    @Autowired
+    private IdSequenceAligner aligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTables() {
+        jdbcTemplate.execute("CREATE TABLE legacy_rows (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE legacy_rows_seq (next_val BIGINT)");
+        jdbcTemplate.update("INSERT INTO legacy_rows (id) VALUES (7), (120), (42)");
+    }
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE legacy_rows");
+        jdbcTemplate.execute("DROP TABLE legacy_rows_seq");
+    }
+
+    @Test
+    void raisesASequenceBehindTheTableAndNeverLowersOne() {
+        jdbcTemplate.update("INSERT INTO legacy_rows_seq (next_val) VALUES (1)");
+
+        assertThat(aligner.align("legacy_rows_seq", "legacy_rows")).isEqualTo(121);
+        assertThat(nextVal()).isEqualTo(121);
+
+        jdbcTemplate.update("UPDATE legacy_rows_seq SET next_val = 500");
+        assertThat(aligner.align("legacy_rows_seq", "legacy_rows")).isZero();
+        assertThat(nextVal()).isEqualTo(500);
+    }
+
+    @Test
+    void seedsASequenceTableThatHasNoRowYet() {
+        assertThat(aligner.align("legacy_rows_seq", "legacy_rows")).isEqualTo(121);
+        assertThat(nextVal()).isEqualTo(121);
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("SELECT next_val FROM legacy_rows_seq", Long.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.techiefinder.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The mode is opt-in, and only takes effect on a JDK that has virtual threads
+ * -- on this build's JDK 17 turning it on must change nothing.
+ */
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void isOffUnlessEnabled() {
+        runner.run(context -> {
+            assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class);
+            assertThat(context).doesNotHaveBean("applicationTaskExecutor");
+            assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class);
+        });
+    }
+
+    @Test
+    void whenEnabledUsesVirtualThreadsOnlyWhereTheJdkHasThem() {
+        runner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context).hasNotFailed();
+            if (VirtualThreadConfig.isSupported()) {
+                assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+                assertThat(context).hasBean("applicationTaskExecutor");
+                assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class);
+            } else {
+                assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class);
+                assertThat(context).doesNotHaveBean("applicationTaskExecutor");
+                assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class);
+            }
+        });
+    }
+}
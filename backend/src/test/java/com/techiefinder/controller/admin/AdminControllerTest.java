@@ -8,17 +8,26 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps the MockMvc tests' shared Spring context
+// (which differs from the default context due to @AutoConfigureMockMvc) from
+// colliding with other contexts over the same named/shared H2 in-memory database.
+// Every MockMvc test declares the same value, so they still share one context.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-mockmvc-${random.uuid}")
 class AdminControllerTest {
 
     @Autowired
@@ -27,6 +36,9 @@ class AdminControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Value("${admin.default.email}")
     private String adminEmail;
 
@@ -113,11 +125,38 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void newRegistrationsShowUpInTheMetricsTimeSeries() throws Exception {
+        String adminToken = loginAndGetToken(adminEmail, adminPassword);
+        String url = "/api/admin/metrics/timeseries?metric=NEW_USERS&granularity=DAY";
+
+        MvcResult before = mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(30))
+                .andReturn();
+        registerAndGetToken(uniqueEmail(), "USER");
+        MvcResult after = mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        JsonNode beforePoints = objectMapper.readTree(before.getResponse().getContentAsString());
+        JsonNode afterPoints = objectMapper.readTree(after.getResponse().getContentAsString());
+        long beforeToday = beforePoints.get(beforePoints.size() - 1).get("count").asLong();
+        long afterToday = afterPoints.get(afterPoints.size() - 1).get("count").asLong();
+        // One more than before -- or just 1 if the day rolled over between the two reads.
+        assertThat(afterToday).isIn(beforeToday + 1, 1L);
+
+        mockMvc.perform(get("/api/admin/metrics/timeseries?metric=NOT_A_METRIC").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void adminCanSuspendAndReactivateAUser() throws Exception {
         String adminToken = loginAndGetToken(adminEmail, adminPassword);
         String targetEmail = uniqueEmail();
-        registerAndGetToken(targetEmail, "USER");
+        String targetToken = registerAndGetToken(targetEmail, "USER");
+        mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + targetToken))
+                .andExpect(status().isOk());
 
         MvcResult usersResult = mockMvc.perform(get("/api/admin/users").header("Authorization", "Bearer " + adminToken))
                 .andExpect(status().isOk())
@@ -143,6 +182,9 @@ class AdminControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(Map.of("email", targetEmail, "password", "password123"))))
                 .andExpect(status().isUnauthorized());
+        // ...and so must the tokens it was already holding.
+        mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + targetToken))
+                .andExpect(status().isForbidden());
 
         mockMvc.perform(patch("/api/admin/users/" + targetId + "/status")
                         .header("Authorization", "Bearer " + adminToken)
@@ -206,6 +248,62 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$.verified").value(true));
     }
 
+    @Test
+    void adminUserListIsKeysetPaginatedNewestFirst() throws Exception {
+        String adminToken = loginAndGetToken(adminEmail, adminPassword);
+        for (int i = 0; i < 3; i++) {
+            registerAndGetToken(uniqueEmail(), "USER");
+        }
+
+        MvcResult firstPage = mockMvc.perform(get("/api/admin/users?size=2")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+        JsonNode first = objectMapper.readTree(firstPage.getResponse().getContentAsString());
+        org.junit.jupiter.api.Assertions.assertTrue(first.get(0).get("id").asLong() > first.get(1).get("id").asLong());
+
+        MvcResult secondPage = mockMvc.perform(get("/api/admin/users?size=2&cursor="
+                                + firstPage.getResponse().getHeader("X-Next-Cursor"))
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode second = objectMapper.readTree(secondPage.getResponse().getContentAsString());
+        org.junit.jupiter.api.Assertions.assertTrue(second.get(0).get("id").asLong() < first.get(1).get("id").asLong());
+
+        mockMvc.perform(get("/api/admin/users?cursor=not-a-cursor")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adminUserListFollowsCreationTimeRatherThanIdOrder() throws Exception {
+        String adminToken = loginAndGetToken(adminEmail, adminPassword);
+        String lowerId = uniqueEmail();
+        String higherId = uniqueEmail();
+        registerAndGetToken(lowerId, "USER");
+        registerAndGetToken(higherId, "USER");
+        // As when another instance, handing out an older id block, creates the later row.
+        LocalDateTime createdAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM users WHERE email = ?", LocalDateTime.class, lowerId);
+        jdbcTemplate.update("UPDATE users SET created_at = ? WHERE email = ?", LocalDateTime.of(2100, 1, 1, 0, 0), lowerId);
+        try {
+            MvcResult firstPage = mockMvc.perform(get("/api/admin/users?size=1")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].email").value(lowerId))
+                    .andReturn();
+
+            mockMvc.perform(get("/api/admin/users?size=1&cursor=" + firstPage.getResponse().getHeader("X-Next-Cursor"))
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].email").value(higherId));
+        } finally {
+            jdbcTemplate.update("UPDATE users SET created_at = ? WHERE email = ?", createdAt, lowerId);
+        }
+    }
+
     private JsonNode decodeUserId(String token) throws Exception {
         String[] parts = token.split("\\.");
         String payloadJson = new String(java.util.Base64.getUrlDecoder().decode(parts[1]));
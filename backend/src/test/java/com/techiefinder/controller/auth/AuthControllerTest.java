@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Map;
@@ -17,6 +18,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest
 @AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps the MockMvc tests' shared Spring context
+// (which differs from the default context due to @AutoConfigureMockMvc) from
+// colliding with other contexts over the same named/shared H2 in-memory database.
+// Every MockMvc test declares the same value, so they still share one context.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-mockmvc-${random.uuid}")
 class AuthControllerTest {
 
     @Autowired
@@ -0,0 +1,161 @@
+package com.techiefinder.controller.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techiefinder.model.notification.Notification;
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.notification.NotificationRepository;
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.notification.NotificationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps the MockMvc tests' shared Spring context
+// (which differs from the default context due to @AutoConfigureMockMvc) from
+// colliding with other contexts over the same named/shared H2 in-memory database.
+// Every MockMvc test declares the same value, so they still share one context.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-mockmvc-${random.uuid}")
+class NotificationStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void streamsNewNotificationsAndUnreadCountChanges() throws Exception {
+        JsonNode auth = register();
+        String token = auth.get("accessToken").asText();
+        User user = userRepository.findById(auth.get("userId").asLong()).orElseThrow();
+
+        MvcResult stream = mockMvc.perform(get("/api/notifications/stream").header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse events = stream.getResponse();
+        awaitContent(events, "event:unread-count\ndata:{\"unreadCount\":0}");
+
+        notificationService.notify(user, Notification.NotificationType.BOOKING_CONFIRMED,
+                "Booking confirmed", "Your plumber is on the way", "/bookings/1");
+
+        awaitContent(events, "event:notification", "\"title\":\"Booking confirmed\"", "data:{\"unreadCount\":1}");
+        assertThat(unreadCount(token)).isEqualTo(1);
+
+        long notificationId = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).get(0).getId();
+        mockMvc.perform(patch("/api/notifications/" + notificationId + "/read").header("Authorization", "Bearer " + token));
+        awaitContent(events, "event:notification", "data:{\"unreadCount\":0}");
+        assertThat(unreadCount(token)).isZero();
+    }
+
+    @Test
+    void unreadCountIsSeededFromTheDatabaseAndOnlyDropsOncePerNotification() throws Exception {
+        JsonNode auth = register();
+        String token = auth.get("accessToken").asText();
+        User user = userRepository.findById(auth.get("userId").asLong()).orElseThrow();
+        // Written straight to the table, as an older deployment or another instance would have.
+        for (int i = 0; i < 3; i++) {
+            notificationRepository.save(Notification.builder()
+                    .user(user).type(Notification.NotificationType.PROMOTION)
+                    .title("Promo " + i).message("10% off").read(false).build());
+        }
+
+        assertThat(unreadCount(token)).isEqualTo(3);
+
+        long notificationId = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).get(0).getId();
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(patch("/api/notifications/" + notificationId + "/read").header("Authorization", "Bearer " + token));
+        }
+        assertThat(unreadCount(token)).isEqualTo(2);
+    }
+
+    @Test
+    void marksNotificationsReadInBulkUpToAGivenOne() throws Exception {
+        JsonNode auth = register();
+        String token = auth.get("accessToken").asText();
+        User user = userRepository.findById(auth.get("userId").asLong()).orElseThrow();
+        for (int i = 0; i < 4; i++) {
+            notificationService.notify(user, Notification.NotificationType.PROMOTION, "Promo " + i, "10% off", null);
+        }
+        List<Notification> newestFirst = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+        long secondOldest = newestFirst.get(2).getId();
+
+        JsonNode upTo = json(patch("/api/notifications/my/read?upTo=" + secondOldest).header("Authorization", "Bearer " + token));
+        assertThat(upTo.get("marked").asLong()).isEqualTo(2);
+        assertThat(upTo.get("unreadCount").asLong()).isEqualTo(2);
+
+        JsonNode all = json(patch("/api/notifications/my/read").header("Authorization", "Bearer " + token));
+        assertThat(all.get("marked").asLong()).isEqualTo(2);
+        assertThat(all.get("unreadCount").asLong()).isZero();
+        assertThat(notificationRepository.countByUserIdAndReadFalse(user.getId())).isZero();
+    }
+
+    private JsonNode json(org.springframework.test.web.servlet.RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private JsonNode register() throws Exception {
+        Map<String, Object> body = Map.of(
+                "email", "stream-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com",
+                "password", "password123", "firstName", "Tunde", "lastName", "Bakare", "role", "USER");
+        MvcResult result = mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body))).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    private long unreadCount(String token) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/notifications/my/unread-count")
+                .header("Authorization", "Bearer " + token)).andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("unreadCount").asLong();
+    }
+
+    /** Waits until the stream has written everything expected, in that order. */
+    private static void awaitContent(MockHttpServletResponse events, String... expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            String content = events.getContentAsString();
+            int from = 0;
+            boolean found = true;
+            for (String part : expected) {
+                int at = content.indexOf(part, from);
+                if (at < 0) {
+                    found = false;
+                    break;
+                }
+                from = at + part.length();
+            }
+            if (found) {
+                return;
+            }
+            assertThat(System.currentTimeMillis()).as("stream so far: %s", content).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -18,6 +19,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 
 @SpringBootTest
 @AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps the MockMvc tests' shared Spring context
+// (which differs from the default context due to @AutoConfigureMockMvc) from
+// colliding with other contexts over the same named/shared H2 in-memory database.
+// Every MockMvc test declares the same value, so they still share one context.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-mockmvc-${random.uuid}")
 class TechnicianRecommendationTest {
 
     @Autowired
@@ -147,6 +153,24 @@ class TechnicianRecommendationTest {
         assertThat(nearScore).isGreaterThanOrEqualTo(farScore);
     }
 
+    @Test
+    void availableEndpointWithALimitReturnsOnlyTheHighestRated() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        registerTechnicianWithRating("top-" + suffix, "plumbing", 5, 1);
+        registerTechnicianWithRating("mid-" + suffix, "plumbing", 3, 1);
+
+        JsonNode all = perform(get("/api/technicians/available"), 200);
+        JsonNode top = perform(get("/api/technicians/available?limit=2"), 200);
+
+        double bestRating = 0;
+        for (JsonNode technician : all) {
+            bestRating = Math.max(bestRating, technician.get("rating").asDouble());
+        }
+        assertThat(top.size()).isEqualTo(2);
+        assertThat(top.get(0).get("rating").asDouble()).isEqualTo(bestRating);
+        assertThat(top.get(0).get("rating").asDouble()).isGreaterThanOrEqualTo(top.get(1).get("rating").asDouble());
+    }
+
     private double findScore(JsonNode list, long technicianId) {
         for (JsonNode node : list) {
             if (node.get("id").asLong() == technicianId) {
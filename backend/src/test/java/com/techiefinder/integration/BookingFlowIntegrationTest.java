@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -27,6 +28,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps the MockMvc tests' shared Spring context
+// (which differs from the default context due to @AutoConfigureMockMvc) from
+// colliding with other contexts over the same named/shared H2 in-memory database.
+// Every MockMvc test declares the same value, so they still share one context.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-mockmvc-${random.uuid}")
 class BookingFlowIntegrationTest {
 
     @Autowired
@@ -144,6 +150,26 @@ class BookingFlowIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(ratingRequest)), 409);
 
+        // The lists are read through projections; they must show what the single-booking view does.
+        JsonNode myBookings = perform(get("/api/bookings/my")
+                .header("Authorization", "Bearer " + customerToken), 200);
+        assertThat(idsOf(myBookings)).containsExactly(bookingId);
+        assertThat(myBookings.get(0).get("customerName").asText()).isEqualTo("Chidi Okafor");
+        assertThat(myBookings.get(0).get("technicianName").asText()).isEqualTo("Amaka Eze");
+        assertThat(myBookings.get(0).get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(myBookings.get(0).get("paymentStatus").asText()).isEqualTo("PAID");
+        JsonNode jobs = perform(get("/api/bookings/technician/my")
+                .header("Authorization", "Bearer " + technicianToken), 200);
+        assertThat(idsOf(jobs)).containsExactly(bookingId);
+
+        JsonNode ratings = perform(get("/api/ratings/technician/" + technicianId)
+                .header("Authorization", "Bearer " + customerToken), 200);
+        assertThat(ratings).hasSize(1);
+        assertThat(ratings.get(0).get("bookingId").asLong()).isEqualTo(bookingId);
+        assertThat(ratings.get(0).get("customerName").asText()).isEqualTo("Chidi Okafor");
+        assertThat(ratings.get(0).get("technicianName").asText()).isEqualTo("Amaka Eze");
+        assertThat(ratings.get(0).get("review").asText()).isEqualTo("Great work!");
+
         JsonNode technicianAfter = perform(get("/api/technicians/" + technicianId)
                 .header("Authorization", "Bearer " + customerToken), 200);
         assertThat(technicianAfter.get("rating").asDouble()).isEqualTo(5.0);
@@ -164,6 +190,41 @@ class BookingFlowIntegrationTest {
         assertThat(messages).hasSize(1);
         assertThat(messages.get(0).get("content").asText()).isEqualTo("Thanks again!");
 
+        for (String content : List.of("Second", "Third")) {
+            perform(post("/api/conversations/" + conversationId + "/messages")
+                    .header("Authorization", "Bearer " + technicianToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("content", content))), 200);
+        }
+        // Pages step back in time, but each one still reads oldest to newest.
+        MvcResult latest = mockMvc.perform(get("/api/conversations/" + conversationId + "/messages?size=2")
+                .header("Authorization", "Bearer " + customerToken)).andReturn();
+        assertThat(contentsOf(objectMapper.readTree(latest.getResponse().getContentAsString())))
+                .containsExactly("Second", "Third");
+        String cursor = latest.getResponse().getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        MvcResult earlier = mockMvc.perform(get("/api/conversations/" + conversationId + "/messages?size=2&cursor=" + cursor)
+                .header("Authorization", "Bearer " + customerToken)).andReturn();
+        assertThat(contentsOf(objectMapper.readTree(earlier.getResponse().getContentAsString())))
+                .containsExactly("Thanks again!");
+        assertThat(earlier.getResponse().getHeader("X-Next-Cursor")).isNull();
+
+        // Incremental sync: only what's newer than the last message the client has.
+        long firstMessageId = objectMapper.readTree(earlier.getResponse().getContentAsString()).get(0).get("id").asLong();
+        MvcResult newer = mockMvc.perform(get("/api/conversations/" + conversationId + "/messages?size=1&after=" + firstMessageId)
+                .header("Authorization", "Bearer " + customerToken)).andReturn();
+        JsonNode newerMessages = objectMapper.readTree(newer.getResponse().getContentAsString());
+        assertThat(contentsOf(newerMessages)).containsExactly("Second");
+        assertThat(newer.getResponse().getHeader("X-Has-More")).isEqualTo("true");
+        MvcResult rest = mockMvc.perform(get("/api/conversations/" + conversationId + "/messages?after="
+                        + newerMessages.get(0).get("id").asLong())
+                .header("Authorization", "Bearer " + customerToken)).andReturn();
+        assertThat(contentsOf(objectMapper.readTree(rest.getResponse().getContentAsString()))).containsExactly("Third");
+        assertThat(rest.getResponse().getHeader("X-Has-More")).isNull();
+        perform(get("/api/conversations/" + conversationId + "/messages?after=" + firstMessageId + "&cursor=" + cursor)
+                .header("Authorization", "Bearer " + customerToken), 400);
+
         JsonNode technicianNotifications = perform(get("/api/notifications/my")
                 .header("Authorization", "Bearer " + technicianToken), 200);
         List<String> notificationTypes = StreamSupport.stream(technicianNotifications.spliterator(), false)
@@ -172,6 +233,83 @@ class BookingFlowIntegrationTest {
         assertThat(notificationTypes).contains("BOOKING_CREATED", "PAYMENT_RECEIVED", "NEW_RATING", "NEW_MESSAGE");
     }
 
+    @Test
+    void inboxListsBothRolesLatestMessageFirst() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        JsonNode customer = register("inbox-customer-" + suffix + "@example.com", "Ngozi", "Obi", "USER");
+        String customerToken = customer.get("accessToken").asText();
+        long customerId = customer.get("userId").asLong();
+        JsonNode technician = register("inbox-tech-" + suffix + "@example.com", "Tunde", "Bello", "TECHNICIAN");
+        String technicianToken = technician.get("accessToken").asText();
+        long technicianUserId = technician.get("userId").asLong();
+        JsonNode other = register("inbox-other-" + suffix + "@example.com", "Bisi", "Ade", "TECHNICIAN");
+        long technicianId = perform(post("/api/technicians/create/" + technicianUserId)
+                .header("Authorization", "Bearer " + technicianToken), 200).get("id").asLong();
+        long otherTechnicianId = perform(post("/api/technicians/create/" + other.get("userId").asLong())
+                .header("Authorization", "Bearer " + other.get("accessToken").asText()), 200).get("id").asLong();
+
+        long asTechnician = perform(post("/api/conversations/with-technician/" + technicianId)
+                .header("Authorization", "Bearer " + customerToken), 200).get("id").asLong();
+        // The technician also hires someone else, so they're the customer here.
+        long asCustomer = perform(post("/api/conversations/with-technician/" + otherTechnicianId)
+                .header("Authorization", "Bearer " + technicianToken), 200).get("id").asLong();
+        // Never written in, so it comes after the ones that have messages.
+        long unwritten = perform(post("/api/conversations/with-technician/" + otherTechnicianId)
+                .header("Authorization", "Bearer " + customerToken), 200).get("id").asLong();
+
+        sendMessage(asTechnician, customerToken, "Are you free on Monday?");
+        sendMessage(asCustomer, technicianToken, "Can you look at my generator?");
+        String longMessage = "x".repeat(199) + "\uD83D\uDE00 and then some";
+        sendMessage(asTechnician, customerToken, longMessage);
+
+        MvcResult first = mockMvc.perform(get("/api/conversations/my?size=1")
+                .header("Authorization", "Bearer " + technicianToken)).andReturn();
+        JsonNode firstPage = objectMapper.readTree(first.getResponse().getContentAsString());
+        assertThat(idsOf(firstPage)).containsExactly(asTechnician);
+        JsonNode latest = firstPage.get(0);
+        assertThat(latest.get("lastMessageSenderId").asLong()).isEqualTo(customerId);
+        // Cut before the emoji rather than through the middle of it.
+        assertThat(latest.get("lastMessagePreview").asText()).isEqualTo("x".repeat(199));
+        assertThat(latest.get("unreadCount").asInt()).isEqualTo(2);
+        String cursor = first.getResponse().getHeader("X-Next-Cursor");
+        assertThat(cursor).isNotNull();
+
+        MvcResult second = mockMvc.perform(get("/api/conversations/my?size=1&cursor=" + cursor)
+                .header("Authorization", "Bearer " + technicianToken)).andReturn();
+        JsonNode secondPage = objectMapper.readTree(second.getResponse().getContentAsString());
+        assertThat(idsOf(secondPage)).containsExactly(asCustomer);
+        assertThat(secondPage.get(0).get("lastMessagePreview").asText()).isEqualTo("Can you look at my generator?");
+        assertThat(secondPage.get(0).get("lastMessageSenderId").asLong()).isEqualTo(technicianUserId);
+        assertThat(secondPage.get(0).get("unreadCount").asInt()).isZero();
+        assertThat(second.getResponse().getHeader("X-Next-Cursor")).isNull();
+
+        MvcResult customerFirst = mockMvc.perform(get("/api/conversations/my?size=1")
+                .header("Authorization", "Bearer " + customerToken)).andReturn();
+        JsonNode customerInbox = objectMapper.readTree(customerFirst.getResponse().getContentAsString());
+        assertThat(idsOf(customerInbox)).containsExactly(asTechnician);
+        assertThat(customerInbox.get(0).get("unreadCount").asInt()).isZero();
+        MvcResult customerSecond = mockMvc.perform(get("/api/conversations/my?size=1&cursor="
+                        + customerFirst.getResponse().getHeader("X-Next-Cursor"))
+                .header("Authorization", "Bearer " + customerToken)).andReturn();
+        JsonNode customerRest = objectMapper.readTree(customerSecond.getResponse().getContentAsString());
+        assertThat(idsOf(customerRest)).containsExactly(unwritten);
+        assertThat(customerRest.get(0).get("lastMessageId").isNull()).isTrue();
+        assertThat(customerSecond.getResponse().getHeader("X-Next-Cursor")).isNull();
+    }
+
+    private void sendMessage(long conversationId, String token, String content) throws Exception {
+        perform(post("/api/conversations/" + conversationId + "/messages")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", content))), 200);
+    }
+
+    private List<String> contentsOf(JsonNode array) {
+        return StreamSupport.stream(array.spliterator(), false)
+                .map(n -> n.get("content").asText())
+                .toList();
+    }
+
     private List<Long> idsOf(JsonNode array) {
         return StreamSupport.stream(array.spliterator(), false)
                 .map(n -> n.get("id").asLong())
@@ -0,0 +1,282 @@
+package com.techiefinder.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techiefinder.repository.messaging.ConversationRepository;
+import com.techiefinder.service.messaging.ChatEventPublisher;
+import com.techiefinder.service.messaging.ChatSessionRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.messaging.converter.CompositeMessageConverter;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The STOMP channel end to end over a real WebSocket: a participant subscribed
+ * to a conversation gets messages sent through the REST API, the recipient's
+ * unread counter and the (coalesced) read receipts, while unauthenticated
+ * clients and non-participants are turned away.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps this test's Spring context (which differs
+// from the default context due to the web environment) from colliding with other
+// contexts over the same named/shared H2 in-memory database. Read receipts are
+// flushed by the test itself rather than on a timer.
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:test-chat-ws-${random.uuid}",
+        "messaging.read-receipts.window-ms=3600000"
+})
+class ChatWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ChatSessionRegistry sessionRegistry;
+
+    @Autowired
+    private ChatEventPublisher chatEventPublisher;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    private WebSocketStompClient stompClient;
+
+    private String customerToken;
+    private String technicianToken;
+    private String outsiderToken;
+    private long conversationId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter();
+        jsonConverter.setObjectMapper(objectMapper);
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new CompositeMessageConverter(List.of(new StringMessageConverter(), jsonConverter)));
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        customerToken = register("chat-customer-" + suffix + "@example.com", "USER").get("accessToken").asText();
+        outsiderToken = register("chat-outsider-" + suffix + "@example.com", "USER").get("accessToken").asText();
+        JsonNode technicianAuth = register("chat-tech-" + suffix + "@example.com", "TECHNICIAN");
+        technicianToken = technicianAuth.get("accessToken").asText();
+        long technicianId = json(post("/api/technicians/create/" + technicianAuth.get("userId").asLong())
+                .header("Authorization", "Bearer " + technicianToken)).get("id").asLong();
+        conversationId = json(post("/api/conversations/with-technician/" + technicianId)
+                .header("Authorization", "Bearer " + customerToken)).get("id").asLong();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stompClient.stop();
+    }
+
+    @Test
+    void participantsReceiveMessagesUnreadCountsAndReadReceipts() throws Exception {
+        Handler technician = new Handler();
+        StompSession session = connect(technicianToken, technician).get(5, TimeUnit.SECONDS);
+        BlockingQueue<JsonNode> conversationEvents = subscribe(session, "/topic/conversations/" + conversationId);
+        BlockingQueue<JsonNode> unreadCounts = subscribe(session, "/user/queue/unread");
+        await(() -> sessionRegistry.hasSubscribers(conversationId));
+
+        mockMvc.perform(post("/api/conversations/" + conversationId + "/messages")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", "Are you free on Saturday?"))));
+
+        JsonNode event = conversationEvents.poll(5, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.get("type").asText()).isEqualTo("MESSAGE");
+        assertThat(event.get("message").get("content").asText()).isEqualTo("Are you free on Saturday?");
+        JsonNode unread = unreadCounts.poll(5, TimeUnit.SECONDS);
+        assertThat(unread).isNotNull();
+        assertThat(unread.get("conversationId").asLong()).isEqualTo(conversationId);
+        assertThat(unread.get("unreadCount").asInt()).isEqualTo(1);
+
+        mockMvc.perform(patch("/api/conversations/" + conversationId + "/read")
+                .header("Authorization", "Bearer " + technicianToken));
+        chatEventPublisher.flushReadReceipts();
+
+        JsonNode receipt = conversationEvents.poll(5, TimeUnit.SECONDS);
+        assertThat(receipt).isNotNull();
+        assertThat(receipt.get("type").asText()).isEqualTo("READ");
+        assertThat(receipt.get("upToMessageId").isNull()).isTrue();
+        assertThat(unreadCounts.poll(5, TimeUnit.SECONDS).get("unreadCount").asInt()).isZero();
+        assertThat(technician.errors).isEmpty();
+
+        session.disconnect();
+        await(() -> !sessionRegistry.hasSubscribers(conversationId));
+    }
+
+    @Test
+    void readingUpToAMessageLeavesNewerOnesUnreadAndReceiptsAreCoalesced() throws Exception {
+        // The customer listens for receipts of what they sent.
+        StompSession session = connect(customerToken, new Handler()).get(5, TimeUnit.SECONDS);
+        BlockingQueue<JsonNode> conversationEvents = subscribe(session, "/topic/conversations/" + conversationId);
+        await(() -> sessionRegistry.hasSubscribers(conversationId));
+
+        long first = sendAsCustomer("One");
+        long second = sendAsCustomer("Two");
+        sendAsCustomer("Three");
+
+        mockMvc.perform(patch("/api/conversations/" + conversationId + "/read?upTo=" + first)
+                .header("Authorization", "Bearer " + technicianToken));
+        mockMvc.perform(patch("/api/conversations/" + conversationId + "/read?upTo=" + second)
+                .header("Authorization", "Bearer " + technicianToken));
+        assertThat(json(get("/api/conversations/" + conversationId + "/messages?size=3")
+                .header("Authorization", "Bearer " + technicianToken)).findValues("read"))
+                .extracting(JsonNode::asBoolean).containsExactly(true, true, false);
+        assertThat(unreadCountFor(conversationId)).isEqualTo(1);
+
+        chatEventPublisher.flushReadReceipts();
+        List<JsonNode> receipts = new ArrayList<>();
+        JsonNode event;
+        while ((event = conversationEvents.poll(1, TimeUnit.SECONDS)) != null) {
+            if (event.get("type").asText().equals("READ")) {
+                receipts.add(event);
+            }
+        }
+        assertThat(receipts).hasSize(1);
+        assertThat(receipts.get(0).get("upToMessageId").asLong()).isEqualTo(second);
+        session.disconnect();
+    }
+
+    @Test
+    void refusesAConnectionWithoutAValidToken() throws Exception {
+        Handler anonymous = new Handler();
+        connect(null, anonymous);
+
+        assertThat(anonymous.errors.poll(5, TimeUnit.SECONDS)).contains("valid access token");
+    }
+
+    @Test
+    void refusesToSubscribeAnOutsiderToSomeoneElsesConversation() throws Exception {
+        Handler outsider = new Handler();
+        StompSession session = connect(outsiderToken, outsider).get(5, TimeUnit.SECONDS);
+        session.subscribe("/topic/conversations/" + conversationId, new JsonFrames(new LinkedBlockingQueue<>()));
+
+        assertThat(outsider.errors.poll(5, TimeUnit.SECONDS)).contains("can't subscribe");
+        assertThat(sessionRegistry.hasSubscribers(conversationId)).isFalse();
+    }
+
+    @Test
+    void refusesToLetAClientPublishToAConversationTopic() throws Exception {
+        Handler customer = new Handler();
+        StompSession session = connect(customerToken, customer).get(5, TimeUnit.SECONDS);
+        session.send("/topic/conversations/" + conversationId, Map.of("type", "MESSAGE"));
+
+        assertThat(customer.errors.poll(5, TimeUnit.SECONDS)).contains("can't send");
+    }
+
+    private long sendAsCustomer(String content) throws Exception {
+        return json(post("/api/conversations/" + conversationId + "/messages")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("content", content)))).get("id").asLong();
+    }
+
+    private int unreadCountFor(long id) {
+        return conversationRepository.findUnreadCounts(id).getUnreadCountTechnician();
+    }
+
+    private CompletableFuture<StompSession> connect(String token, Handler handler) {
+        StompHeaders connectHeaders = new StompHeaders();
+        if (token != null) {
+            connectHeaders.add("Authorization", "Bearer " + token);
+        }
+        return stompClient.connectAsync("ws://localhost:" + port + "/ws", new WebSocketHttpHeaders(), connectHeaders, handler);
+    }
+
+    private static BlockingQueue<JsonNode> subscribe(StompSession session, String destination) {
+        BlockingQueue<JsonNode> frames = new LinkedBlockingQueue<>();
+        session.subscribe(destination, new JsonFrames(frames));
+        return frames;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private JsonNode register(String email, String role) throws Exception {
+        Map<String, Object> body = Map.of(
+                "email", email, "password", "password123",
+                "firstName", "Ngozi", "lastName", "Adeyemi", "role", role);
+        return json(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+    }
+
+    private JsonNode json(org.springframework.test.web.servlet.RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    /** Collects the "message" header of every ERROR frame the server sends. */
+    private static class Handler extends StompSessionHandlerAdapter {
+        private final BlockingQueue<String> errors = new LinkedBlockingQueue<>();
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return String.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            errors.add(String.valueOf(headers.getFirst("message")));
+        }
+    }
+
+    private record JsonFrames(BlockingQueue<JsonNode> frames) implements StompFrameHandler {
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            frames.add((JsonNode) payload);
+        }
+    }
+}
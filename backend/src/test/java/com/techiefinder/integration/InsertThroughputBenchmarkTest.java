@@ -0,0 +1,152 @@
+package com.techiefinder.integration;
+
+import com.techiefinder.model.notification.Notification;
+import com.techiefinder.model.technician.Technician;
+import com.techiefinder.model.user.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of a bulk technician import (a user and a technician row
+ * each) one statement per row -- what IDENTITY ids forced -- and in JDBC
+ * batches of the configured size, plus notifications, whose ids still come from
+ * the database and so never batch. Prints rows per second; not part of the
+ * build. On H2:
+ *
+ *   mvn test -Dtest=InsertThroughputBenchmarkTest -Dbenchmark=true
+ *
+ * On MySQL, point it at an empty scratch schema (the tables are created and
+ * dropped) by adding
+ *   -Dbenchmark.datasource.url='jdbc:mysql://host:3306/scratch?rewriteBatchedStatements=true'
+ *   -Dbenchmark.datasource.username=... -Dbenchmark.datasource.password=...
+ *   -Dbenchmark.dialect=org.hibernate.dialect.MySQLDialect
+ * and -Dbenchmark.rows=N to change the import size (default 5000).
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+// A distinct spring.datasource.url keeps this test's Spring context (which differs
+// from the default context due to the property override below) from colliding with
+// other contexts over the same named/shared H2 in-memory database. The second-level
+// cache is off so only the database round trips are measured.
+@TestPropertySource(properties = {
+        "spring.datasource.url=${benchmark.datasource.url:jdbc:h2:mem:test-insert-benchmark-${random.uuid}}",
+        "spring.datasource.username=${benchmark.datasource.username:sa}",
+        "spring.datasource.password=${benchmark.datasource.password:}",
+        "spring.jpa.database-platform=${benchmark.dialect:org.hibernate.dialect.H2Dialect}",
+        "spring.jpa.show-sql=false",
+        "cache.second-level.enabled=false"
+})
+class InsertThroughputBenchmarkTest {
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Value("${benchmark.rows:5000}")
+    private int rows;
+
+    @Test
+    void bulkInsertThroughput() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        // Warm-up: JIT, connection pool, statement caches.
+        insert(1, Math.min(rows, 500), (em, i) -> persistTechnician(em, "warm-" + run, i));
+
+        report("technicians, batch size 1", rows * 2,
+                insert(1, rows, (em, i) -> persistTechnician(em, "single-" + run, i)));
+        report("technicians, batch size " + batchSize, rows * 2,
+                insert(batchSize, rows, (em, i) -> persistTechnician(em, "batched-" + run, i)));
+
+        User recipient = persistInOwnTransaction("notify-" + run);
+        report("notifications (database ids), batch size " + batchSize, rows,
+                insert(batchSize, rows, (em, i) -> em.persist(Notification.builder()
+                        .user(em.getReference(User.class, recipient.getId()))
+                        .type(Notification.NotificationType.SYSTEM_ANNOUNCEMENT)
+                        .title("Import " + i)
+                        .message("Bulk import notification " + i)
+                        .build())));
+
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            assertThat(em.createQuery("SELECT COUNT(t) FROM Technician t WHERE t.technicianId LIKE :run", Long.class)
+                    .setParameter("run", "TF-%-" + run + "-%").getSingleResult())
+                    .isEqualTo(rows * 2L + Math.min(rows, 500));
+        } finally {
+            em.close();
+        }
+    }
+
+    private void persistTechnician(EntityManager em, String prefix, int i) {
+        User user = User.builder()
+                .email(prefix + "-" + i + "@bulk.example.com")
+                .firstName("Bulk")
+                .lastName("Import")
+                .role(User.UserRole.TECHNICIAN)
+                .build();
+        em.persist(user);
+        em.persist(Technician.builder()
+                .user(user)
+                .technicianId("TF-" + prefix + "-" + i)
+                .build());
+    }
+
+    private User persistInOwnTransaction(String prefix) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            User user = User.builder()
+                    .email(prefix + "@bulk.example.com")
+                    .firstName("Bulk")
+                    .lastName("Recipient")
+                    .role(User.UserRole.USER)
+                    .build();
+            em.persist(user);
+            em.getTransaction().commit();
+            return user;
+        } finally {
+            em.close();
+        }
+    }
+
+    /** Runs count inserts in one transaction at the given JDBC batch size; returns the elapsed nanoseconds. */
+    private long insert(int jdbcBatchSize, int count, BiConsumer<EntityManager, Integer> persist) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            long start = System.nanoTime();
+            em.getTransaction().begin();
+            for (int i = 0; i < count; i++) {
+                persist.accept(em, i);
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            return System.nanoTime() - start;
+        } finally {
+            em.close();
+        }
+    }
+
+    private static void report(String label, int insertedRows, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%-50s %7d rows in %6.2f s = %9.0f rows/s%n",
+                label, insertedRows, seconds, insertedRows / seconds);
+    }
+}
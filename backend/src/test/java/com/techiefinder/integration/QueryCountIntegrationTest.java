@@ -0,0 +1,238 @@
+package com.techiefinder.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Pins down how many SQL statements each read endpoint issues, so a lazy
+ * association touched in a mapper (or a list that goes back to loading
+ * entities row by row) shows up as a failing count with the offending SQL,
+ * not as a slow page in production. Every list is filled with several rows
+ * first: the counts must not depend on how many there are.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+// A distinct spring.datasource.url keeps this test's Spring context (which differs
+// from the default context due to the property override below) from colliding with
+// other contexts over the same named/shared H2 in-memory database. Statements are
+// counted per thread, so background jobs never leak into a request's count.
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:test-query-count-${random.uuid}",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.techiefinder.integration.QueryCountIntegrationTest$StatementCounter"
+})
+class QueryCountIntegrationTest {
+
+    private static final int ROWS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String customerToken;
+    private String technicianToken;
+    private long technicianId;
+    private long bookingId;
+    private long conversationId;
+
+    @BeforeEach
+    void createRows() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        customerToken = register("count-customer-" + suffix + "@example.com", "USER").get("accessToken").asText();
+        JsonNode technician = register("count-tech-" + suffix + "@example.com", "TECHNICIAN");
+        technicianToken = technician.get("accessToken").asText();
+        technicianId = json(post("/api/technicians/create/" + technician.get("userId").asLong())
+                .header("Authorization", "Bearer " + technicianToken)).get("id").asLong();
+
+        for (String category : List.of("plumbing", "electrical", "carpentry")) {
+            json(post("/api/technicians/me/services")
+                    .header("Authorization", "Bearer " + technicianToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                            "categorySlug", category, "serviceName", "Service " + category,
+                            "basePrice", 5000, "pricingType", "FIXED"))));
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            bookingId = json(post("/api/bookings")
+                    .header("Authorization", "Bearer " + customerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of(
+                            "technicianId", technicianId, "scheduledDateTime", "2026-09-01T10:00:00",
+                            "serviceDescription", "Job " + i, "serviceAddress", "1 Broad St",
+                            "city", "Lagos", "state", "Lagos", "estimatedPrice", 10000)))).get("id").asLong();
+            for (String status : List.of("CONFIRMED", "IN_PROGRESS", "COMPLETED")) {
+                json(patch("/api/bookings/" + bookingId + "/status")
+                        .header("Authorization", "Bearer " + technicianToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("status", status))));
+            }
+            json(post("/api/ratings")
+                    .header("Authorization", "Bearer " + customerToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("bookingId", bookingId, "rating", 4))));
+        }
+
+        conversationId = json(post("/api/conversations/with-technician/" + technicianId)
+                .header("Authorization", "Bearer " + customerToken)).get("id").asLong();
+        for (int i = 0; i < ROWS; i++) {
+            json(post("/api/conversations/" + conversationId + "/messages")
+                    .header("Authorization", "Bearer " + (i % 2 == 0 ? customerToken : technicianToken))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("content", "Message " + i))));
+        }
+    }
+
+    @Test
+    void bookingReadsTakeOneQueryPerPage() throws Exception {
+        assertStatements(1, get("/api/bookings/my").header("Authorization", "Bearer " + customerToken));
+        // The caller's technician profile, then the page.
+        assertStatements(2, get("/api/bookings/technician/my").header("Authorization", "Bearer " + technicianToken));
+        assertStatements(1, get("/api/bookings/" + bookingId).header("Authorization", "Bearer " + customerToken));
+    }
+
+    @Test
+    void technicianProfileReadsTakeOneQueryEach() throws Exception {
+        assertStatements(1, get("/api/technicians/" + technicianId).header("Authorization", "Bearer " + customerToken));
+        assertStatements(1, get("/api/technicians/" + technicianId + "/services")
+                .header("Authorization", "Bearer " + customerToken));
+        assertStatements(1, get("/api/ratings/technician/" + technicianId)
+                .header("Authorization", "Bearer " + customerToken));
+    }
+
+    @Test
+    void conversationReadsDoNotLoadParticipantsPerMessage() throws Exception {
+        assertStatements(1, get("/api/conversations/my").header("Authorization", "Bearer " + technicianToken));
+        // The participant check, then the page.
+        assertStatements(2, get("/api/conversations/" + conversationId + "/messages")
+                .header("Authorization", "Bearer " + customerToken));
+    }
+
+    @Test
+    void cachedReadsSkipTheDatabaseUntilTheRowsChange() throws Exception {
+        assertStatements(1, get("/api/technicians/" + technicianId).header("Authorization", "Bearer " + customerToken));
+        assertStatements(0, get("/api/technicians/" + technicianId).header("Authorization", "Bearer " + customerToken));
+        assertStatements(1, get("/api/technicians/" + technicianId + "/services"));
+        assertStatements(0, get("/api/technicians/" + technicianId + "/services"));
+        json(get("/api/public/categories"));
+        assertStatements(0, get("/api/public/categories"));
+
+        // Completing a job updates the technician row; the next read sees it.
+        long completedBefore = json(get("/api/technicians/" + technicianId)).get("completedJobs").asLong();
+        long newBookingId = json(post("/api/bookings")
+                .header("Authorization", "Bearer " + customerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "technicianId", technicianId, "scheduledDateTime", "2026-09-02T10:00:00",
+                        "serviceDescription", "One more job", "serviceAddress", "1 Broad St",
+                        "city", "Lagos", "state", "Lagos", "estimatedPrice", 10000)))).get("id").asLong();
+        for (String status : List.of("CONFIRMED", "IN_PROGRESS", "COMPLETED")) {
+            json(patch("/api/bookings/" + newBookingId + "/status")
+                    .header("Authorization", "Bearer " + technicianToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(Map.of("status", status))));
+        }
+        assertThat(json(get("/api/technicians/" + technicianId)).get("completedJobs").asLong())
+                .isEqualTo(completedBefore + 1);
+
+        json(post("/api/technicians/me/services")
+                .header("Authorization", "Bearer " + technicianToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "categorySlug", "auto-mechanic", "serviceName", "Brake check",
+                        "basePrice", 3000, "pricingType", "FIXED"))));
+        assertThat(json(get("/api/technicians/" + technicianId + "/services"))).hasSize(4);
+    }
+
+    @Test
+    void conditionalGetsAnswerNotModifiedWithoutTheDatabase() throws Exception {
+        List<String> urls = List.of("/api/public/categories", "/api/technicians/" + technicianId,
+                "/api/technicians/" + technicianId + "/services", "/api/technicians/" + technicianId + "/portfolio",
+                "/api/technicians/" + technicianId + "/certifications");
+        for (String url : urls) {
+            MvcResult first = mockMvc.perform(get(url)).andReturn();
+            String etag = first.getResponse().getHeader("ETag");
+            assertThat(etag).as(url).startsWith("\"");
+            assertThat(first.getResponse().getHeader("Cache-Control")).isEqualTo("no-cache");
+
+            StatementCounter.reset();
+            MvcResult revalidated = mockMvc.perform(get(url).header("If-None-Match", etag)).andReturn();
+            assertThat(revalidated.getResponse().getStatus()).as(url).isEqualTo(304);
+            assertThat(revalidated.getResponse().getContentAsString()).isEmpty();
+            assertThat(StatementCounter.statements()).as("SQL issued for " + url).isEmpty();
+        }
+
+        String certificationsUrl = "/api/technicians/" + technicianId + "/certifications";
+        String etag = mockMvc.perform(get(certificationsUrl)).andReturn().getResponse().getHeader("ETag");
+        json(multipart("/api/technicians/me/certifications")
+                .param("name", "Gas Safe")
+                .param("issuingOrganization", "Gas Safe Register")
+                .header("Authorization", "Bearer " + technicianToken));
+        MvcResult changed = mockMvc.perform(get(certificationsUrl).header("If-None-Match", etag)).andReturn();
+        assertThat(changed.getResponse().getStatus()).isEqualTo(200);
+        assertThat(changed.getResponse().getHeader("ETag")).isNotEqualTo(etag);
+        assertThat(objectMapper.readTree(changed.getResponse().getContentAsString())).hasSize(1);
+    }
+
+    private void assertStatements(int expected, RequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        MvcResult result = mockMvc.perform(request).andReturn();
+        List<String> statements = StatementCounter.statements();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(statements).as("SQL issued").hasSize(expected);
+    }
+
+    private JsonNode register(String email, String role) throws Exception {
+        return json(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "email", email, "password", "password123",
+                        "firstName", "Query", "lastName", "Count", "role", role))));
+    }
+
+    private JsonNode json(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    /** Records the SQL Hibernate prepares on the current thread; wired in through the property above. */
+    public static class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        static void reset() {
+            STATEMENTS.get().clear();
+        }
+
+        static List<String> statements() {
+            return new ArrayList<>(STATEMENTS.get());
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+    }
+}
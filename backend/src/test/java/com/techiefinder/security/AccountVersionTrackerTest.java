@@ -0,0 +1,43 @@
+package com.techiefinder.security;
+
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AccountVersionTrackerTest {
+
+    @Autowired
+    private AccountVersionTracker accountVersionTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void aVersionBumpedElsewhereIsPickedUpByThePoll() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .email("version-" + suffix + "@example.com")
+                .firstName("Version")
+                .lastName(suffix)
+                .role(User.UserRole.USER)
+                .build());
+        assertThat(accountVersionTracker.isCurrent(user.getId(), 0)).isTrue();
+
+        // As another instance would: straight to the database, without telling this tracker.
+        user.setTokenVersion(1L);
+        userRepository.save(user);
+        assertThat(accountVersionTracker.isCurrent(user.getId(), 0)).isTrue();
+
+        accountVersionTracker.poll();
+
+        assertThat(accountVersionTracker.isCurrent(user.getId(), 0)).isFalse();
+        assertThat(accountVersionTracker.isCurrent(user.getId(), 1)).isTrue();
+    }
+}
@@ -0,0 +1,148 @@
+package com.techiefinder.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+// The @SpyBean gives this class its own context; its own database keeps its
+// create-drop schema from being dropped under the shared context's feet.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-principal-cache-${random.uuid}")
+class JwtPrincipalCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtPrincipalCache principalCache;
+
+    @SpyBean
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private AccountVersionTracker accountVersionTracker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String registerAndGetToken() throws Exception {
+        return register().get("accessToken").asText();
+    }
+
+    private JsonNode register() throws Exception {
+        Map<String, Object> body = Map.of(
+                "email", "cache-" + UUID.randomUUID() + "@example.com", "password", "password123",
+                "firstName", "Cache", "lastName", "User", "role", "USER");
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void trustsAnAccessTokensOwnClaimsWithoutLookingTheUserUp() throws Exception {
+        String token = registerAndGetToken();
+        clearInvocations(userDetailsService);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void looksUpATokenWithoutClaimsOnlyOnTheFirstRequest() throws Exception {
+        // Tokens issued before uid/role/ver were added carry just the email.
+        String legacyToken = tokenProvider.generateRefreshToken(register().get("email").asText());
+        clearInvocations(userDetailsService);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + legacyToken))
+                    .andExpect(status().isOk());
+        }
+
+        verify(userDetailsService, times(1)).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void aTamperedTokenIsNeverServedFromTheCache() throws Exception {
+        String token = registerAndGetToken();
+        mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + tampered))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void aSuspensionMadeOnAnotherInstanceReachesACachedTokenWithinOnePoll() throws Exception {
+        JsonNode registered = register();
+        String token = registered.get("accessToken").asText();
+        mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // As another instance would: straight to the database, so nothing here is evicted.
+        User user = userRepository.findByEmail(registered.get("email").asText()).orElseThrow();
+        user.setActive(false);
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        accountVersionTracker.poll();
+
+        mockMvc.perform(get("/api/notifications/my").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void entriesExpireWithTheTokenAndAreEvictedPerUser() {
+        CustomUserDetails alice = new CustomUserDetails(-1L, "alice@example.com", null, User.UserRole.USER, true, 0L);
+        CustomUserDetails bob = new CustomUserDetails(-2L, "bob@example.com", null, User.UserRole.USER, true, 0L);
+
+        principalCache.put("expired-token", alice, new Date(System.currentTimeMillis() - 1));
+        principalCache.put("alice-token", alice, null);
+        principalCache.put("bob-token", bob, null);
+
+        assertThat(principalCache.get("expired-token")).isNull();
+        assertThat(principalCache.get("alice-token")).isSameAs(alice);
+
+        principalCache.evictUser(-1L);
+
+        assertThat(principalCache.get("alice-token")).isNull();
+        assertThat(principalCache.get("bob-token")).isSameAs(bob);
+    }
+}
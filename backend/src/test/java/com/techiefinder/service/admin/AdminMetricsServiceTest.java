@@ -0,0 +1,116 @@
+package com.techiefinder.service.admin;
+
+import com.techiefinder.dto.admin.MetricPointDto;
+import com.techiefinder.model.admin.MetricRollup;
+import com.techiefinder.repository.admin.MetricEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class AdminMetricsServiceTest {
+
+    @Autowired
+    private AdminMetricsService metricsService;
+
+    @Autowired
+    private MetricEventRepository metricEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Count and amount summed over the buckets either side of now, so an hour/day rollover mid-test can't matter. */
+    private MetricPointDto totalAroundNow(MetricRollup.Metric metric, MetricRollup.Granularity granularity) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MetricPointDto> points = granularity == MetricRollup.Granularity.HOUR
+                ? metricsService.getTimeSeries(metric, granularity, now.minusHours(1), now.plusHours(1))
+                : metricsService.getTimeSeries(metric, granularity, now.minusDays(1), now.plusDays(1));
+        MetricPointDto total = new MetricPointDto(null, 0, BigDecimal.ZERO);
+        for (MetricPointDto point : points) {
+            total.setCount(total.getCount() + point.getCount());
+            total.setAmount(total.getAmount().add(point.getAmount()));
+        }
+        return total;
+    }
+
+    @Test
+    void rollsEventsUpIntoHourlyAndDailyBuckets() {
+        MetricPointDto hourBefore = totalAroundNow(MetricRollup.Metric.REVENUE, MetricRollup.Granularity.HOUR);
+        MetricPointDto dayBefore = totalAroundNow(MetricRollup.Metric.REVENUE, MetricRollup.Granularity.DAY);
+
+        metricsService.record(MetricRollup.Metric.REVENUE, new BigDecimal("100.00"));
+        metricsService.flush();
+        // The second event lands on the row the first flush created.
+        metricsService.record(MetricRollup.Metric.REVENUE, new BigDecimal("50.50"));
+
+        MetricPointDto hourAfter = totalAroundNow(MetricRollup.Metric.REVENUE, MetricRollup.Granularity.HOUR);
+        MetricPointDto dayAfter = totalAroundNow(MetricRollup.Metric.REVENUE, MetricRollup.Granularity.DAY);
+
+        assertThat(hourAfter.getCount() - hourBefore.getCount()).isEqualTo(2);
+        assertThat(hourAfter.getAmount().subtract(hourBefore.getAmount())).isEqualByComparingTo("150.50");
+        assertThat(dayAfter.getCount() - dayBefore.getCount()).isEqualTo(2);
+        assertThat(dayAfter.getAmount().subtract(dayBefore.getAmount())).isEqualByComparingTo("150.50");
+    }
+
+    @Test
+    void readsStagedEventsWithoutFoldingThem() {
+        long before = totalAroundNow(MetricRollup.Metric.RATINGS, MetricRollup.Granularity.HOUR).getCount();
+        metricsService.record(MetricRollup.Metric.RATINGS);
+        long staged = metricEventRepository.count();
+
+        assertThat(totalAroundNow(MetricRollup.Metric.RATINGS, MetricRollup.Granularity.HOUR).getCount())
+                .isEqualTo(before + 1);
+        assertThat(metricEventRepository.count()).isEqualTo(staged);
+    }
+
+    @Test
+    void zeroFillsEmptyBuckets() {
+        LocalDateTime to = LocalDateTime.of(2001, 1, 1, 5, 30);
+
+        List<MetricPointDto> points = metricsService.getTimeSeries(
+                MetricRollup.Metric.BOOKINGS_CREATED, MetricRollup.Granularity.HOUR, to.minusHours(5), to);
+
+        assertThat(points).hasSize(6);
+        assertThat(points.get(0).getBucketStart()).isEqualTo(LocalDateTime.of(2001, 1, 1, 0, 0));
+        assertThat(points).allSatisfy(point -> assertThat(point.getCount()).isZero());
+    }
+
+    @Test
+    void ignoresEventsFromARolledBackTransaction() {
+        long before = totalAroundNow(MetricRollup.Metric.CERTIFICATIONS_REJECTED, MetricRollup.Granularity.HOUR).getCount();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            metricsService.record(MetricRollup.Metric.CERTIFICATIONS_REJECTED);
+            status.setRollbackOnly();
+        });
+
+        assertThat(totalAroundNow(MetricRollup.Metric.CERTIFICATIONS_REJECTED, MetricRollup.Granularity.HOUR).getCount())
+                .isEqualTo(before);
+    }
+
+    @Test
+    void stagesEventsInTheirOwnTransactionUntilTheyAreFolded() {
+        long before = totalAroundNow(MetricRollup.Metric.NEW_USERS, MetricRollup.Granularity.DAY).getCount();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            long staged = metricEventRepository.count();
+            metricsService.record(MetricRollup.Metric.NEW_USERS);
+            assertThat(metricEventRepository.count()).isEqualTo(staged + 1);
+        });
+        assertThat(metricEventRepository.count()).isPositive();
+
+        metricsService.flush();
+
+        assertThat(metricEventRepository.count()).isZero();
+        assertThat(totalAroundNow(MetricRollup.Metric.NEW_USERS, MetricRollup.Granularity.DAY).getCount())
+                .isEqualTo(before + 1);
+    }
+}
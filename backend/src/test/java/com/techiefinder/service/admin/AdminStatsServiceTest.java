@@ -0,0 +1,99 @@
+package com.techiefinder.service.admin;
+
+import com.techiefinder.dto.admin.AdminStatsDto;
+import com.techiefinder.model.booking.Booking;
+import com.techiefinder.model.technician.Technician;
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.booking.BookingRepository;
+import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.technician.TechnicianAccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dashboard totals come from aggregate queries; these check they still add
+ * up to what the old load-everything-and-count version reported.
+ */
+@SpringBootTest
+class AdminStatsServiceTest {
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private TechnicianAccountService technicianAccountService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User newUser(User.UserRole role) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .email("stats-" + suffix + "@example.com")
+                .firstName("Stats")
+                .lastName(suffix)
+                .role(role)
+                .build());
+    }
+
+    private void book(User customer, Technician technician, Booking.BookingStatus status,
+                      Booking.PaymentStatus paymentStatus, String estimatedPrice, String finalPrice) {
+        bookingRepository.save(Booking.builder()
+                .bookingNumber("BK-STATS-" + UUID.randomUUID())
+                .user(customer)
+                .technician(technician)
+                .status(status)
+                .paymentStatus(paymentStatus)
+                .scheduledDateTime(LocalDateTime.now().plusDays(1))
+                .serviceDescription("Stats check")
+                .serviceAddress("1 Test Street")
+                .city("Lagos")
+                .state("Lagos")
+                .estimatedPrice(new BigDecimal(estimatedPrice))
+                .finalPrice(finalPrice != null ? new BigDecimal(finalPrice) : null)
+                .build());
+    }
+
+    @Test
+    void countsAndRevenueMatchTheRowsAdded() {
+        AdminStatsDto before = adminStatsService.getStats();
+
+        User customer = newUser(User.UserRole.USER);
+        User technicianUser = newUser(User.UserRole.TECHNICIAN);
+        Technician technician = technicianRepository.findById(
+                technicianAccountService.createTechnician(technicianUser.getId()).getId()).orElseThrow();
+
+        book(customer, technician, Booking.BookingStatus.PENDING, Booking.PaymentStatus.PENDING, "100.00", null);
+        book(customer, technician, Booking.BookingStatus.COMPLETED, Booking.PaymentStatus.PAID, "200.00", "250.00");
+        book(customer, technician, Booking.BookingStatus.COMPLETED, Booking.PaymentStatus.PAID, "80.00", null);
+        book(customer, technician, Booking.BookingStatus.CANCELLED, Booking.PaymentStatus.REFUNDED, "60.00", null);
+        book(customer, technician, Booking.BookingStatus.REJECTED, Booking.PaymentStatus.PENDING, "40.00", null);
+
+        AdminStatsDto after = adminStatsService.getStats();
+
+        assertThat(after.getTotalUsers() - before.getTotalUsers()).isEqualTo(2);
+        assertThat(after.getTotalCustomers() - before.getTotalCustomers()).isEqualTo(1);
+        assertThat(after.getTotalTechnicians() - before.getTotalTechnicians()).isEqualTo(1);
+        assertThat(after.getPendingTechnicianVerifications() - before.getPendingTechnicianVerifications()).isEqualTo(1);
+        assertThat(after.getTotalBookings() - before.getTotalBookings()).isEqualTo(5);
+        assertThat(after.getPendingBookings() - before.getPendingBookings()).isEqualTo(1);
+        assertThat(after.getCompletedBookings() - before.getCompletedBookings()).isEqualTo(2);
+        assertThat(after.getCancelledBookings() - before.getCancelledBookings()).isEqualTo(2);
+        // Final price where set, otherwise the estimate; only PAID bookings count.
+        assertThat(after.getTotalRevenue().subtract(before.getTotalRevenue())).isEqualByComparingTo("330.00");
+    }
+}
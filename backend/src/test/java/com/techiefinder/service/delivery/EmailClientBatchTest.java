@@ -0,0 +1,178 @@
+package com.techiefinder.service.delivery;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * sendBatch against a real JavaMailSenderImpl talking to a minimal in-process
+ * SMTP server, so what's checked is what actually goes over the wire: how many
+ * SMTP sessions a batch opens and which messages get through.
+ */
+class EmailClientBatchTest {
+
+    private FakeSmtpServer smtp;
+    private EmailClient emailClient;
+
+    @BeforeEach
+    void start() throws IOException {
+        smtp = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+
+        emailClient = new EmailClient();
+        ReflectionTestUtils.setField(emailClient, "mailSender", mailSender);
+        ReflectionTestUtils.setField(emailClient, "fromAddress", "real-sender@techiefinder.com");
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void sendsAWholeBatchOverOneSmtpSession() {
+        List<Boolean> sent = emailClient.sendBatch(List.of(
+                new EmailClient.Email("a@example.com", "Booking confirmed", "Body"),
+                new EmailClient.Email("b@example.com", "Booking confirmed", "Body"),
+                new EmailClient.Email("c@example.com", "Booking confirmed", "Body")));
+
+        assertThat(sent).containsExactly(true, true, true);
+        assertThat(smtp.connections.get()).isEqualTo(1);
+        assertThat(smtp.delivered).containsExactly("a@example.com", "b@example.com", "c@example.com");
+    }
+
+    @Test
+    void aRejectedRecipientFailsOnlyItsOwnMessage() {
+        List<Boolean> sent = emailClient.sendBatch(List.of(
+                new EmailClient.Email("a@example.com", "Subject", "Body"),
+                new EmailClient.Email("bounce@example.com", "Subject", "Body"),
+                new EmailClient.Email(" ", "Subject", "Body"),
+                new EmailClient.Email("c@example.com", "Subject", "Body")));
+
+        // The blank address is never attempted.
+        assertThat(sent).containsExactly(true, false, false, true);
+        assertThat(smtp.connections.get()).isEqualTo(1);
+        assertThat(smtp.delivered).containsExactly("a@example.com", "c@example.com");
+    }
+
+    @Test
+    void tellsIdenticalEmailsApartWhenOnlyOneIsRejected() {
+        List<Boolean> sent = emailClient.sendBatch(List.of(
+                new EmailClient.Email("once@example.com", "Reminder", "Body"),
+                new EmailClient.Email("once@example.com", "Reminder", "Body"),
+                new EmailClient.Email("bounce@example.com", "Reminder", "Body"),
+                new EmailClient.Email("bounce@example.com", "Reminder", "Body")));
+
+        // Each duplicate goes out in a second session; the second "once" is accepted.
+        assertThat(sent).containsExactly(false, true, false, false);
+        assertThat(smtp.connections.get()).isEqualTo(2);
+        assertThat(smtp.delivered).containsExactly("once@example.com");
+    }
+
+    @Test
+    void failsTheWholeBatchWhenTheServerIsUnreachable() throws IOException {
+        smtp.close();
+
+        assertThat(emailClient.sendBatch(List.of(
+                new EmailClient.Email("a@example.com", "Subject", "Body"),
+                new EmailClient.Email("b@example.com", "Subject", "Body"))))
+                .containsExactly(false, false);
+    }
+
+    /**
+     * Just enough SMTP for JavaMail: no TLS or AUTH, and it rejects any recipient
+     * starting "bounce", and one starting "once" the first time it's seen.
+     */
+    private static final class FakeSmtpServer {
+        private final ServerSocket socket = new ServerSocket(0);
+        private final AtomicInteger connections = new AtomicInteger();
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+        private FakeSmtpServer() throws IOException {
+            Thread acceptor = new Thread(() -> {
+                while (!socket.isClosed()) {
+                    try (Socket client = socket.accept()) {
+                        connections.incrementAndGet();
+                        serve(client);
+                    } catch (IOException e) {
+                        // Closed by the test.
+                    }
+                }
+            }, "fake-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        private int getPort() {
+            return socket.getLocalPort();
+        }
+
+        private void close() throws IOException {
+            socket.close();
+        }
+
+        private void serve(Socket client) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = client.getOutputStream();
+            reply(out, "220 localhost ESMTP");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 localhost");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipient = null;
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    String address = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    if (address.startsWith("bounce") || (address.startsWith("once") && seen.add(address))) {
+                        reply(out, "550 No such user");
+                    } else {
+                        recipient = address;
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // Message content isn't checked.
+                    }
+                    delivered.add(recipient);
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // RSET, NOOP
+                    reply(out, "250 OK");
+                }
+            }
+        }
+
+        private static void reply(OutputStream out, String line) throws IOException {
+            out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.techiefinder.service.delivery;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.SendResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch sending against a mocked FirebaseMessaging -- a real service account
+ * would mean real Google Cloud credentials and real pushes.
+ */
+class PushNotificationClientTest {
+
+    private final FirebaseMessaging messaging = mock(FirebaseMessaging.class);
+    private final PushNotificationClient client = new PushNotificationClient();
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(client, "messaging", messaging);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsInSendEachBatchesOfAtMost500() throws Exception {
+        SendResponse success = success();
+        BatchResponse full = batchOf(Collections.nCopies(500, success));
+        BatchResponse rest = batchOf(List.of(success));
+        when(messaging.sendEach(anyList())).thenReturn(full, rest);
+        List<PushNotificationClient.Push> pushes = IntStream.range(0, 501)
+                .mapToObj(i -> new PushNotificationClient.Push("token-" + i, "Title", "Body"))
+                .collect(Collectors.toList());
+
+        List<DeliveryResult> results = client.sendBatch(pushes);
+
+        assertThat(results).hasSize(501).containsOnly(DeliveryResult.SENT);
+        ArgumentCaptor<List<Message>> batches = ArgumentCaptor.forClass(List.class);
+        verify(messaging, times(2)).sendEach(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(500, 1);
+    }
+
+    @Test
+    void reportsEachPushInABatchSeparately() throws Exception {
+        BatchResponse batch = batchOf(List.of(
+                success(), failure(MessagingErrorCode.UNREGISTERED), failure(MessagingErrorCode.UNAVAILABLE)));
+        when(messaging.sendEach(anyList())).thenReturn(batch);
+
+        List<DeliveryResult> results = client.sendBatch(List.of(
+                new PushNotificationClient.Push("good", "Title", "Body"),
+                new PushNotificationClient.Push("", "Title", "Body"),
+                new PushNotificationClient.Push("uninstalled", "Title", "Body"),
+                new PushNotificationClient.Push("unlucky", "Title", "Body")));
+
+        // The blank token never reaches FCM, so the three responses line up with the other three.
+        assertThat(results).containsExactly(
+                DeliveryResult.SENT,
+                DeliveryResult.INVALID_RECIPIENT,
+                DeliveryResult.INVALID_RECIPIENT,
+                DeliveryResult.FAILED);
+    }
+
+    @Test
+    void keepsATokenWhenFcmRejectsOnlyThePayload() throws Exception {
+        BatchResponse batch = batchOf(List.of(
+                failure(MessagingErrorCode.INVALID_ARGUMENT, "Message is too big"),
+                failure(MessagingErrorCode.INVALID_ARGUMENT, "The registration token is not a valid FCM registration token"),
+                failure(MessagingErrorCode.SENDER_ID_MISMATCH)));
+        when(messaging.sendEach(anyList())).thenReturn(batch);
+
+        List<DeliveryResult> results = client.sendBatch(List.of(
+                new PushNotificationClient.Push("good", "Title", "A very long body"),
+                new PushNotificationClient.Push("garbled", "Title", "Body"),
+                new PushNotificationClient.Push("other-project", "Title", "Body")));
+
+        assertThat(results).containsExactly(
+                DeliveryResult.FAILED,
+                DeliveryResult.INVALID_RECIPIENT,
+                DeliveryResult.INVALID_RECIPIENT);
+    }
+
+    @Test
+    void failsTheWholeBatchWhenFcmCannotBeReached() throws Exception {
+        when(messaging.sendEach(anyList())).thenThrow(mock(FirebaseMessagingException.class));
+
+        assertThat(client.sendBatch(List.of(
+                new PushNotificationClient.Push("a", "Title", "Body"),
+                new PushNotificationClient.Push("b", "Title", "Body"))))
+                .containsExactly(DeliveryResult.FAILED, DeliveryResult.FAILED);
+    }
+
+    @Test
+    void sendsNothingWhenUnconfigured() throws Exception {
+        ReflectionTestUtils.setField(client, "messaging", null);
+
+        assertThat(client.sendBatch(List.of(new PushNotificationClient.Push("a", "Title", "Body"))))
+                .containsExactly(DeliveryResult.FAILED);
+        verify(messaging, never()).sendEach(anyList());
+    }
+
+    private static BatchResponse batchOf(List<SendResponse> responses) {
+        int failures = (int) responses.stream().filter(response -> !response.isSuccessful()).count();
+        BatchResponse batch = mock(BatchResponse.class);
+        when(batch.getResponses()).thenReturn(new ArrayList<>(responses));
+        when(batch.getFailureCount()).thenReturn(failures);
+        return batch;
+    }
+
+    private static SendResponse success() {
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(true);
+        return response;
+    }
+
+    private static SendResponse failure(MessagingErrorCode code) {
+        return failure(code, null);
+    }
+
+    private static SendResponse failure(MessagingErrorCode code, String message) {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(code);
+        when(exception.getMessage()).thenReturn(message);
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(false);
+        when(response.getException()).thenReturn(exception);
+        return response;
+    }
+}
@@ -0,0 +1,127 @@
+package com.techiefinder.service.messaging;
+
+import com.techiefinder.dto.messaging.MessageDto;
+import com.techiefinder.model.messaging.Conversation;
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.messaging.ConversationRepository;
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.technician.TechnicianAccountService;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Messages in a conversation commit in id order, so syncing "after" the newest
+ * one a client has never skips one; the denormalized inbox columns only ever
+ * move to a newer message, and the boot-time backfill leaves nothing to do on a
+ * database that's already filled in.
+ */
+@SpringBootTest
+// Its own database: the spied repository gives this class a context of its own.
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:test-messaging-${random.uuid}")
+class MessagingServiceTest {
+
+    @Autowired
+    private MessagingService messagingService;
+
+    @SpyBean
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private TechnicianAccountService technicianAccountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User newUser(User.UserRole role) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(User.builder()
+                .email("messaging-" + suffix + "@example.com")
+                .firstName("Messaging")
+                .lastName(suffix)
+                .role(role)
+                .build());
+    }
+
+    private Long newConversation(User customer) {
+        Long technicianId = technicianAccountService.createTechnician(newUser(User.UserRole.TECHNICIAN).getId()).getId();
+        return messagingService.getOrCreateConversation(customer.getId(), technicianId).getId();
+    }
+
+    @Test
+    void aSendThatStartsLaterCommitsAfterOneStillInProgress() throws Exception {
+        User customer = newUser(User.UserRole.USER);
+        Long conversationId = newConversation(customer);
+        // The first send stops between inserting its message and updating the conversation.
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // A spied repository proxy has no real method to call; its default answer delegates to it.
+        Answer<?> delegate = mockingDetails(conversationRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            inserted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return delegate.answer(invocation);
+        }).doAnswer(delegate).when(conversationRepository).recordMessageFromUser(eq(conversationId),
+                anyLong(), anyString(), anyLong(), any());
+
+        CompletableFuture<MessageDto> first = CompletableFuture.supplyAsync(() ->
+                messagingService.sendMessage(conversationId, customer.getId(), "First"));
+        assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MessageDto> second = CompletableFuture.supplyAsync(() ->
+                messagingService.sendMessage(conversationId, customer.getId(), "Second"));
+        Thread.sleep(300);
+        assertThat(second).isNotDone();
+
+        release.countDown();
+        assertThat(second.get(5, TimeUnit.SECONDS).getId()).isGreaterThan(first.get(5, TimeUnit.SECONDS).getId());
+        assertThat(messagingService.getMessagesAfter(conversationId, customer.getId(), 0, null).getItems())
+                .extracting(MessageDto::getContent).containsExactly("First", "Second");
+    }
+
+    @Test
+    void anOlderMessageCommittingLateCountsButKeepsTheNewerLastMessage() {
+        User customer = newUser(User.UserRole.USER);
+        Long conversationId = newConversation(customer);
+        Long newer = messagingService.sendMessage(conversationId, customer.getId(), "Are you free tomorrow?").getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                conversationRepository.recordMessageFromUser(conversationId, newer - 1, "Hello",
+                        customer.getId(), LocalDateTime.now()));
+
+        Conversation conversation = conversationRepository.findById(conversationId).orElseThrow();
+        assertThat(conversation.getUnreadCountTechnician()).isEqualTo(2);
+        assertThat(conversation.getLastMessageId()).isEqualTo(newer);
+        assertThat(conversation.getLastMessagePreview()).isEqualTo("Are you free tomorrow?");
+    }
+
+    @Test
+    void backfillSkipsConversationsWithNoMessages() {
+        newConversation(newUser(User.UserRole.USER));
+
+        messagingService.backfillInboxColumns();
+
+        assertThat(messagingService.backfillInboxColumns()).isZero();
+    }
+}
@@ -1,29 +1,47 @@
 package com.techiefinder.service.notification;
 
 import com.techiefinder.model.notification.Notification;
+import com.techiefinder.model.notification.NotificationDelivery;
 import com.techiefinder.model.user.User;
 import com.techiefinder.model.user.UserProfile;
+import com.techiefinder.repository.notification.NotificationDeliveryRepository;
 import com.techiefinder.repository.notification.NotificationRepository;
 import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.delivery.DeliveryResult;
+import com.techiefinder.service.delivery.PushNotificationClient;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.TestPropertySource;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
- * Confirms NotificationService actually flips sentViaEmail once a real email
- * channel is configured, and that the in-app notification row is still saved
- * regardless -- delivery is additive, never a precondition for the core
- * in-app notification feature.
+ * Confirms NotificationService queues an email delivery once a real email
+ * channel is configured, that NotificationDispatcher sends it and flips
+ * sentViaEmail, and that a failed send is retried with backoff rather than
+ * lost -- while the in-app notification row is saved regardless. Delivery is
+ * additive, never a precondition for the core in-app notification feature.
  */
 @SpringBootTest
 // A distinct spring.datasource.url keeps this test's Spring context (which differs
@@ -32,12 +50,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 // management.health.mail.enabled=false: Actuator's mail health indicator wants a
 // real JavaMailSenderImpl bean; @MockBean-ing JavaMailSender below leaves it with
 // none, which fails context startup ("Beans must not be empty") unless disabled.
+// The dispatcher's schedule is pushed out of the way so each test drives it itself.
 @TestPropertySource(properties = {
         "spring.mail.username=real-sender@techiefinder.com",
         "spring.datasource.url=jdbc:h2:mem:test-notify-${random.uuid}",
-        "management.health.mail.enabled=false"
+        "management.health.mail.enabled=false",
+        "notification.dispatch.interval-ms=3600000",
+        "notification.dispatch.max-attempts=2",
+        "notification.dispatch.backoff-ms=60000"
 })
-@Transactional
 class NotificationServiceDeliveryTest {
 
     @Autowired
@@ -46,6 +67,12 @@ class NotificationServiceDeliveryTest {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationDeliveryRepository notificationDeliveryRepository;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -55,6 +82,10 @@ class NotificationServiceDeliveryTest {
     @MockBean
     private JavaMailSender mailSender;
 
+    // Unconfigured (no push deliveries) unless a test says otherwise.
+    @MockBean
+    private PushNotificationClient pushNotificationClient;
+
     @Test
     void marksSentViaEmailWhenARealEmailChannelIsConfigured() {
         User user = User.builder()
@@ -79,8 +110,19 @@ class NotificationServiceDeliveryTest {
 
         List<Notification> saved = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
         assertThat(saved).hasSize(1);
-        assertThat(saved.get(0).getSentViaEmail()).isTrue();
-        assertThat(saved.get(0).getSentViaSms()).isFalse(); // SMS still unconfigured in this test
+        // Nothing is sent inline -- only queued.
+        assertThat(saved.get(0).getSentViaEmail()).isFalse();
+        List<NotificationDelivery> deliveries = notificationDeliveryRepository.findByNotificationId(saved.get(0).getId());
+        assertThat(deliveries).extracting(NotificationDelivery::getChannel)
+                .containsExactly(NotificationDelivery.Channel.EMAIL); // push/SMS still unconfigured in this test
+
+        NotificationDelivery delivery = dispatchAndAwait(deliveries.get(0).getId());
+
+        assertThat(delivery.getStatus()).isEqualTo(NotificationDelivery.Status.SENT);
+        assertThat(delivery.getAttempts()).isEqualTo(1);
+        Notification notification = notificationRepository.findById(saved.get(0).getId()).orElseThrow();
+        assertThat(notification.getSentViaEmail()).isTrue();
+        assertThat(notification.getSentViaSms()).isFalse();
     }
 
     @Test
@@ -108,5 +150,152 @@ class NotificationServiceDeliveryTest {
         List<Notification> saved = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
         assertThat(saved).hasSize(1);
         assertThat(saved.get(0).getSentViaEmail()).isFalse();
+        assertThat(notificationDeliveryRepository.findByNotificationId(saved.get(0).getId())).isEmpty();
+    }
+
+    @Test
+    void retriesAFailedSendWithBackoffThenGivesUp() {
+        doThrow(new MailSendException("SMTP unavailable")).when(mailSender).send(any(SimpleMailMessage[].class));
+        User user = userRepository.save(User.builder()
+                .email("notify-retry-" + UUID.randomUUID() + "@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Notify")
+                .lastName("Retry")
+                .role(User.UserRole.USER)
+                .build());
+
+        notificationService.notify(user, Notification.NotificationType.SYSTEM_ANNOUNCEMENT, "Welcome", "Thanks for joining", null);
+
+        Notification notification = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).get(0);
+        Long deliveryId = notificationDeliveryRepository.findByNotificationId(notification.getId()).get(0).getId();
+
+        NotificationDelivery delivery = dispatchAndAwait(deliveryId);
+        assertThat(delivery.getStatus()).isEqualTo(NotificationDelivery.Status.PENDING);
+        assertThat(delivery.getAttempts()).isEqualTo(1);
+        // backoff-ms=60000, less at most 20% jitter.
+        assertThat(delivery.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(40));
+
+        // Not due yet, so another pass leaves it alone...
+        notificationDispatcher.dispatchDue();
+        assertThat(notificationDeliveryRepository.findById(deliveryId).orElseThrow().getAttempts()).isEqualTo(1);
+
+        // ...and once it is, the second failure reaches max-attempts=2.
+        delivery.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        notificationDeliveryRepository.save(delivery);
+        delivery = dispatchAndAwait(deliveryId);
+        assertThat(delivery.getStatus()).isEqualTo(NotificationDelivery.Status.FAILED);
+        assertThat(delivery.getAttempts()).isEqualTo(2);
+        assertThat(notificationRepository.findById(notification.getId()).orElseThrow().getSentViaEmail()).isFalse();
+    }
+
+    @Test
+    void leavesADeliveryToTheDispatcherThatTookOverItsLapsedClaim() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("notify-lease-" + UUID.randomUUID() + "@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Notify")
+                .lastName("Lease")
+                .role(User.UserRole.USER)
+                .build());
+        notificationService.notify(user, Notification.NotificationType.SYSTEM_ANNOUNCEMENT, "Welcome", "Thanks for joining", null);
+        Notification notification = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).get(0);
+        Long deliveryId = notificationDeliveryRepository.findByNotificationId(notification.getId()).get(0).getId();
+
+        // The send outlives its lease, and another dispatcher claims the delivery meanwhile.
+        LocalDateTime otherLease = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        CountDownLatch sent = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            NotificationDelivery taken = notificationDeliveryRepository.findById(deliveryId).orElseThrow();
+            taken.setNextAttemptAt(otherLease);
+            notificationDeliveryRepository.save(taken);
+            sent.countDown();
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        notificationDispatcher.dispatchDue();
+        assertThat(sent.await(10, TimeUnit.SECONDS)).isTrue();
+        awaitIdle();
+
+        NotificationDelivery delivery = notificationDeliveryRepository.findById(deliveryId).orElseThrow();
+        assertThat(delivery.getStatus()).isEqualTo(NotificationDelivery.Status.IN_PROGRESS);
+        assertThat(delivery.getNextAttemptAt()).isEqualTo(otherLease);
+        assertThat(delivery.getAttempts()).isZero();
+        assertThat(notificationRepository.findById(notification.getId()).orElseThrow().getSentViaEmail()).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsPushesAsOneBatchAndForgetsTokensFcmRejects() {
+        when(pushNotificationClient.isConfigured()).thenReturn(true);
+        when(pushNotificationClient.sendBatch(anyList())).thenAnswer(invocation ->
+                ((List<PushNotificationClient.Push>) invocation.getArgument(0)).stream()
+                        .map(push -> push.getToken().startsWith("valid")
+                                ? DeliveryResult.SENT
+                                : DeliveryResult.INVALID_RECIPIENT)
+                        .collect(Collectors.toList()));
+        User valid = pushUser("valid-" + UUID.randomUUID());
+        User stale = pushUser("stale-" + UUID.randomUUID());
+
+        notificationService.notify(valid, Notification.NotificationType.PROMOTION, "Sale", "20% off", null);
+        notificationService.notify(stale, Notification.NotificationType.PROMOTION, "Sale", "20% off", null);
+
+        Long validDelivery = pushDeliveryOf(valid);
+        Long staleDelivery = pushDeliveryOf(stale);
+        dispatchAndAwait(validDelivery);
+        dispatchAndAwait(staleDelivery);
+
+        verify(pushNotificationClient, times(1)).sendBatch(anyList());
+        assertThat(notificationDeliveryRepository.findById(validDelivery).orElseThrow().getStatus())
+                .isEqualTo(NotificationDelivery.Status.SENT);
+        assertThat(userRepository.findById(valid.getId()).orElseThrow().getFcmToken()).isEqualTo(valid.getFcmToken());
+
+        // An invalid token isn't retried, and the user no longer has it.
+        NotificationDelivery rejected = notificationDeliveryRepository.findById(staleDelivery).orElseThrow();
+        assertThat(rejected.getStatus()).isEqualTo(NotificationDelivery.Status.FAILED);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(userRepository.findById(stale.getId()).orElseThrow().getFcmToken()).isNull();
+    }
+
+    private User pushUser(String fcmToken) {
+        return userRepository.save(User.builder()
+                .email("notify-push-" + UUID.randomUUID() + "@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .firstName("Notify")
+                .lastName("Push")
+                .role(User.UserRole.USER)
+                .fcmToken(fcmToken)
+                .build());
+    }
+
+    private Long pushDeliveryOf(User user) {
+        Notification notification = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId()).get(0);
+        return notificationDeliveryRepository.findByNotificationId(notification.getId()).stream()
+                .filter(delivery -> delivery.getChannel() == NotificationDelivery.Channel.PUSH)
+                .findFirst().orElseThrow().getId();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!notificationDispatcher.isIdle() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    /** Runs one dispatch pass and waits for the worker to record the delivery's outcome. */
+    private NotificationDelivery dispatchAndAwait(Long deliveryId) {
+        notificationDispatcher.dispatchDue();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            NotificationDelivery delivery = notificationDeliveryRepository.findById(deliveryId).orElseThrow();
+            if (delivery.getStatus() != NotificationDelivery.Status.IN_PROGRESS || System.currentTimeMillis() > deadline) {
+                return delivery;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return delivery;
+            }
+        }
     }
 }
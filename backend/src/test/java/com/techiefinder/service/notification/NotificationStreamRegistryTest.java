@@ -0,0 +1,130 @@
+package com.techiefinder.service.notification;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A client that stops reading (a phone that lost its network, a buffering
+ * proxy) only ever stalls its own stream: other users keep getting events, and
+ * the stalled stream is closed once its write passes the deadline or its queue
+ * fills up. No Spring context; the emitters stand in for the connections.
+ */
+class NotificationStreamRegistryTest {
+
+    private NotificationStreamRegistry registry;
+
+    @BeforeEach
+    void createRegistry() {
+        UnreadNotificationCounter unreadCounter = mock(UnreadNotificationCounter.class);
+        when(unreadCounter.get(any())).thenReturn(0L);
+        registry = new NotificationStreamRegistry();
+        ReflectionTestUtils.setField(registry, "unreadCounter", unreadCounter);
+        ReflectionTestUtils.setField(registry, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(registry, "maxPerUser", 5);
+        ReflectionTestUtils.setField(registry, "queueCapacity", 3);
+        ReflectionTestUtils.setField(registry, "senderThreads", 1);
+        ReflectionTestUtils.setField(registry, "writeTimeoutMs", 100L);
+        registry.init();
+    }
+
+    @AfterEach
+    void shutdown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void aStalledClientIsClosedWithoutHoldingUpOtherUsers() throws Exception {
+        StalledEmitter stalled = new StalledEmitter();
+        registry.register(1L, stalled);
+        assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The only sender is stuck writing to user 1.
+        RecordingEmitter other = new RecordingEmitter();
+        registry.register(2L, other);
+        Thread.sleep(200);
+        registry.closeStalledStreams();
+
+        assertThat(other.awaitEvents(1)).isTrue();
+        registry.unreadCountChanged(2L);
+        assertThat(other.awaitEvents(2)).isTrue();
+        assertThat(registry.hasStreams(1L)).isFalse();
+
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void aClientThatFallsTooFarBehindIsClosed() throws Exception {
+        StalledEmitter stalled = new StalledEmitter();
+        registry.register(1L, stalled);
+        assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 3; i++) {
+            registry.unreadCountChanged(1L);
+            assertThat(registry.hasStreams(1L)).isTrue();
+        }
+        registry.unreadCountChanged(1L);
+        assertThat(registry.hasStreams(1L)).isFalse();
+
+        stalled.release.countDown();
+        assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /** Blocks its first write until released, like a connection whose client stopped reading. */
+    private static class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder);
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < count) {
+                if (System.currentTimeMillis() > deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+    }
+}
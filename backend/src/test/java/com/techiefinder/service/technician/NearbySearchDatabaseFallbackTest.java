@@ -0,0 +1,114 @@
+package com.techiefinder.service.technician;
+
+import com.techiefinder.dto.technician.TechnicianDto;
+import com.techiefinder.model.technician.Technician;
+import com.techiefinder.model.technician.TechnicianLocation;
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.technician.TechnicianLocationRepository;
+import com.techiefinder.repository.technician.TechnicianRepository;
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.technician.geo.TechnicianGeoIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With the in-memory geo index turned off, nearby search goes through the
+ * database's bounding-box query (or the plain radius query where no box fits)
+ * -- this runs both against H2 to make sure the native SQL actually executes
+ * and agrees with the index's results.
+ */
+@SpringBootTest
+// A distinct spring.datasource.url keeps this test's Spring context (which differs
+// from the default context due to the property override below) from colliding with
+// other contexts over the same named/shared H2 in-memory database.
+@TestPropertySource(properties = {
+        "technician.geo-index.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:test-nearby-db-${random.uuid}"
+})
+class NearbySearchDatabaseFallbackTest {
+
+    @Autowired
+    private TechnicianAccountService technicianAccountService;
+
+    @Autowired
+    private TechnicianGeoIndex geoIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TechnicianRepository technicianRepository;
+
+    @Autowired
+    private TechnicianLocationRepository technicianLocationRepository;
+
+    private long technicianAt(double latitude, double longitude, int serviceRadiusKm) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .email("nearby-" + suffix + "@example.com")
+                .firstName("Nearby")
+                .lastName(suffix)
+                .role(User.UserRole.TECHNICIAN)
+                .build());
+        Technician technician = technicianRepository.save(Technician.builder()
+                .user(user)
+                .technicianId("TF-" + suffix.toUpperCase())
+                .build());
+        technicianLocationRepository.save(TechnicianLocation.builder()
+                .technician(technician)
+                .address("1 Test St")
+                .city("Test")
+                .state("Test")
+                .latitude(latitude)
+                .longitude(longitude)
+                .serviceRadiusKm(serviceRadiusKm)
+                .build());
+        return technician.getId();
+    }
+
+    private static List<Long> idsOf(List<TechnicianDto> technicians) {
+        return technicians.stream().map(TechnicianDto::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void answersFromTheDatabaseThroughTheBoundingBoxQueryNearestFirst() {
+        long ikeja = technicianAt(6.6018, 3.3515, 20);
+        long lagosIsland = technicianAt(6.4541, 3.3947, 20);
+        long abuja = technicianAt(9.0765, 7.3986, 20);
+
+        assertThat(geoIndex.isLoaded()).isFalse();
+
+        List<Long> found = idsOf(technicianAccountService.findNearby(6.61, 3.35, 20.0, null));
+        assertThat(found).containsSubsequence(ikeja, lagosIsland);
+        assertThat(found).doesNotContain(abuja);
+
+        // Ikeja is ~1km from the search point, so it's always the single nearest.
+        assertThat(idsOf(technicianAccountService.findNearby(6.6018, 3.3515, 20.0, 1))).containsExactly(ikeja);
+    }
+
+    @Test
+    void fallsBackToThePlainRadiusQueryAcrossTheAntimeridian() {
+        long east = technicianAt(-16.5, 179.98, 10);
+        long west = technicianAt(-16.5, -179.98, 10);
+
+        assertThat(idsOf(technicianAccountService.findNearby(-16.5, 179.99, 10.0, null))).contains(east, west);
+    }
+
+    @Test
+    void leavesOutTechniciansWhoseServiceRadiusFallsShortOfTheCustomer() {
+        long localOnly = technicianAt(7.3775, 3.9470, 5);    // Ibadan
+        long travels = technicianAt(7.3775, 3.9470, 25);
+
+        List<Long> found = idsOf(technicianAccountService.findNearby(7.25, 3.95, 30.0, null));
+        assertThat(found).contains(travels);
+        assertThat(found).doesNotContain(localOnly);
+    }
+}
@@ -0,0 +1,143 @@
+package com.techiefinder.service.technician.geo;
+
+import com.techiefinder.repository.technician.TechnicianLocationPoint;
+import com.techiefinder.repository.technician.TechnicianLocationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises the grid index directly (no Spring context, no database) against
+ * real coordinates, including the cases a naive cell lookup gets wrong: a
+ * location that moves between cells, a service area that spans several cells,
+ * and one that straddles the antimeridian -- plus the periodic reload, with
+ * the repository stubbed.
+ */
+class TechnicianGeoIndexTest {
+
+    private static List<Long> idsOf(List<GeoHit> hits) {
+        return hits.stream().map(GeoHit::getTechnicianId).collect(Collectors.toList());
+    }
+
+    private static TechnicianLocationPoint point(long technicianId, double latitude, double longitude, int serviceRadiusKm) {
+        return new TechnicianLocationPoint() {
+            @Override
+            public Long getTechnicianId() {
+                return technicianId;
+            }
+
+            @Override
+            public Double getLatitude() {
+                return latitude;
+            }
+
+            @Override
+            public Double getLongitude() {
+                return longitude;
+            }
+
+            @Override
+            public Integer getServiceRadiusKm() {
+                return serviceRadiusKm;
+            }
+        };
+    }
+
+    private static TechnicianGeoIndex loadedIndex(TechnicianLocationRepository repository) {
+        TechnicianGeoIndex index = new TechnicianGeoIndex();
+        ReflectionTestUtils.setField(index, "technicianLocationRepository", repository);
+        index.load();
+        return index;
+    }
+
+    @Test
+    void findsTechniciansWithinTheRadius() {
+        TechnicianGeoIndex index = new TechnicianGeoIndex();
+        index.put(1L, 6.6018, 3.3515, 20);  // Ikeja
+        index.put(2L, 6.4541, 3.3947, 20);  // Lagos Island, ~17km from Ikeja
+        index.put(3L, 9.0765, 7.3986, 20);  // Abuja
+
+        List<GeoHit> hits = index.findServing(6.61, 3.35, 20);
+
+        assertThat(idsOf(hits)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(hits).filteredOn(hit -> hit.getTechnicianId() == 1L)
+                .singleElement().satisfies(hit -> assertThat(hit.getDistanceKm()).isLessThan(2.0));
+        assertThat(idsOf(index.findServing(6.61, 3.35, 5))).containsExactly(1L);
+    }
+
+    @Test
+    void onlyFindsTechniciansWhoseServiceAreaReachesThePoint() {
+        TechnicianGeoIndex index = new TechnicianGeoIndex();
+        index.put(1L, 6.6018, 3.3515, 5);   // Ikeja, stays local
+        index.put(2L, 6.4541, 3.3947, 30);  // Lagos Island, travels across the city
+        index.put(3L, 9.0765, 7.3986, 600); // Abuja, too wide to register cell by cell
+
+        // ~20km from Lagos Island, ~500km from Abuja, out of Ikeja's 5km reach.
+        assertThat(idsOf(index.findServing(6.60, 3.50, 1000))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(idsOf(index.findServing(6.60, 3.50, 10))).isEmpty();
+        assertThat(idsOf(index.findServing(6.61, 3.35, 1000))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        // Accra is ~900km from Abuja, beyond even the widest service area.
+        assertThat(index.findServing(5.60, -0.19, 2000)).isEmpty();
+    }
+
+    @Test
+    void aMovedLocationIsOnlyFoundAtItsNewPosition() {
+        TechnicianGeoIndex index = new TechnicianGeoIndex();
+        index.put(1L, 6.6018, 3.3515, 20);
+        index.put(1L, 9.0765, 7.3986, 20);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findServing(6.61, 3.35, 20)).isEmpty();
+        assertThat(idsOf(index.findServing(9.07, 7.40, 20))).containsExactly(1L);
+    }
+
+    @Test
+    void searchesAcrossTheAntimeridian() {
+        TechnicianGeoIndex index = new TechnicianGeoIndex();
+        index.put(1L, -16.5, 179.98, 10);
+        index.put(2L, -16.5, -179.98, 10);
+
+        assertThat(idsOf(index.findServing(-16.5, 179.99, 10))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(idsOf(index.findServing(-16.5, -179.95, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void reloadPicksUpLocationsChangedOnOtherInstances() {
+        TechnicianLocationRepository repository = mock(TechnicianLocationRepository.class);
+        when(repository.findAllPoints()).thenReturn(List.of(point(1L, 6.6018, 3.3515, 20), point(2L, 6.4541, 3.3947, 20)));
+        TechnicianGeoIndex index = loadedIndex(repository);
+        assertThat(idsOf(index.findServing(6.61, 3.35, 20))).containsExactlyInAnyOrder(1L, 2L);
+
+        // Technician 1 moved to Abuja and technician 2's location is gone.
+        when(repository.findAllPoints()).thenReturn(List.of(point(1L, 9.0765, 7.3986, 20)));
+        index.reload();
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findServing(6.61, 3.35, 20)).isEmpty();
+        assertThat(idsOf(index.findServing(9.07, 7.40, 20))).containsExactly(1L);
+    }
+
+    @Test
+    void reloadNeverOverwritesALocationPutWhileItWasReading() {
+        TechnicianLocationRepository repository = mock(TechnicianLocationRepository.class);
+        when(repository.findAllPoints()).thenReturn(List.of(point(1L, 6.6018, 3.3515, 20)));
+        TechnicianGeoIndex index = loadedIndex(repository);
+
+        when(repository.findAllPoints()).thenAnswer(invocation -> {
+            // Committed after the snapshot below was read: the snapshot is older.
+            index.put(1L, 9.0765, 7.3986, 20);
+            index.put(2L, 6.4541, 3.3947, 20);
+            return List.of(point(1L, 6.6018, 3.3515, 20));
+        });
+        index.reload();
+
+        assertThat(idsOf(index.findServing(9.07, 7.40, 20))).containsExactly(1L);
+        assertThat(idsOf(index.findServing(6.45, 3.39, 20))).containsExactly(2L);
+    }
+}
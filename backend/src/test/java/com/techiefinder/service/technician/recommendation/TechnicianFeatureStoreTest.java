@@ -0,0 +1,100 @@
+package com.techiefinder.service.technician.recommendation;
+
+import com.techiefinder.model.technician.Technician;
+import com.techiefinder.model.user.User;
+import com.techiefinder.repository.user.UserRepository;
+import com.techiefinder.service.technician.TechnicianAccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The feature store only picks up a change once the transaction that made it
+ * commits -- so a rolled-back write never shows up in recommendations -- and
+ * its periodic reconcile picks up writes it was never told about (another
+ * instance's).
+ */
+@SpringBootTest
+class TechnicianFeatureStoreTest {
+
+    @Autowired
+    private TechnicianFeatureStore featureStore;
+
+    @Autowired
+    private TechnicianAccountService technicianAccountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long newTechnician() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .email("features-" + suffix + "@example.com")
+                .firstName("Features")
+                .lastName(suffix)
+                .role(User.UserRole.TECHNICIAN)
+                .build());
+        return technicianAccountService.createTechnician(user.getId()).getId();
+    }
+
+    /** Null if the store has no slot for the technician. */
+    private Boolean isVerified(long technicianId) {
+        return featureStore.read(features -> {
+            for (int slot = 0; slot < features.size(); slot++) {
+                if (features.technicianId(slot) == technicianId) {
+                    return features.isVerified(slot);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void appliesAChangeOnlyOnceItsTransactionCommits() {
+        long technicianId = newTechnician();
+        assertThat(isVerified(technicianId)).isFalse();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            technicianAccountService.updateVerificationStatus(technicianId, Technician.VerificationStatus.VERIFIED);
+            assertThat(isVerified(technicianId)).isFalse();
+        });
+
+        assertThat(isVerified(technicianId)).isTrue();
+    }
+
+    @Test
+    void ignoresAChangeThatRollsBack() {
+        long technicianId = newTechnician();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            technicianAccountService.updateVerificationStatus(technicianId, Technician.VerificationStatus.VERIFIED);
+            status.setRollbackOnly();
+        });
+
+        assertThat(isVerified(technicianId)).isFalse();
+    }
+
+    @Test
+    void reconcilePicksUpAChangeMadeElsewhere() {
+        long technicianId = newTechnician();
+        jdbcTemplate.update("UPDATE technicians SET verification_status = 'VERIFIED' WHERE id = ?", technicianId);
+        assertThat(isVerified(technicianId)).isFalse();
+
+        featureStore.reconcile();
+
+        assertThat(isVerified(technicianId)).isTrue();
+    }
+}
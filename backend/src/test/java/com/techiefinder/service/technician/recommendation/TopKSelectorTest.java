@@ -0,0 +1,38 @@
+package com.techiefinder.service.technician.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+    @Test
+    void keepsTheSameTopKAsAFullSort() {
+        List<Integer> candidates = new Random(42).ints(10_000, 0, 1_000_000).boxed().collect(Collectors.toList());
+        Comparator<Integer> largestFirst = Comparator.reverseOrder();
+
+        List<Integer> expected = candidates.stream().sorted(largestFirst).limit(10).collect(Collectors.toList());
+
+        assertThat(TopKSelector.select(candidates, 10, largestFirst)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void returnsEverythingInOrderWhenThereAreFewerThanK() {
+        assertThat(TopKSelector.select(List.of(3, 1, 2), 10, Comparator.<Integer>naturalOrder()))
+                .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void selectsNothingForANonPositiveK() {
+        List<Integer> candidates = IntStream.range(0, 5).boxed().collect(Collectors.toList());
+
+        assertThat(TopKSelector.select(candidates, 0, Comparator.<Integer>naturalOrder())).isEmpty();
+        assertThat(TopKSelector.select(candidates, -1, Comparator.<Integer>naturalOrder())).isEmpty();
+    }
+}
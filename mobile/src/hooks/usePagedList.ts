@@ -0,0 +1,36 @@
+import { useCallback, useRef, useState } from 'react';
+import { getPage } from '../services/api';
+
+/**
+ * A paginated list endpoint's rows: reload() fetches the first page again,
+ * loadMore() appends the next one while nextCursor is set. FlatList can call
+ * loadMore from onEndReached as often as it likes -- a page already on its
+ * way isn't asked for twice.
+ */
+export function usePagedList<T>(url: string) {
+  const [items, setItems] = useState<T[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const loadingMore = useRef(false);
+
+  const reload = useCallback(async () => {
+    const page = await getPage<T>(url);
+    setItems(page.items);
+    setNextCursor(page.nextCursor);
+  }, [url]);
+
+  const loadMore = useCallback(async () => {
+    if (!nextCursor || loadingMore.current) return;
+    loadingMore.current = true;
+    try {
+      const page = await getPage<T>(url, nextCursor);
+      setItems((prev) => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error loading more:', error);
+    } finally {
+      loadingMore.current = false;
+    }
+  }, [url, nextCursor]);
+
+  return { items, setItems, nextCursor, reload, loadMore };
+}
@@ -14,6 +14,12 @@ import { Ionicons } from '@expo/vector-icons';
 import { useAuth } from '../contexts/AuthContext';
 import api from '../services/api';
 
+// Overlapping polls (say, one right after sending) may both return the same messages.
+function appendNewer(current: any[], fetched: any[]) {
+  const lastId = current.length > 0 ? current[current.length - 1].id : 0;
+  return [...current, ...fetched.filter((message) => message.id > lastId)];
+}
+
 export default function ChatScreen({ route, navigation }: any) {
   const { conversationId, technicianName } = route.params;
   const { user } = useAuth();
@@ -22,19 +28,38 @@ export default function ChatScreen({ route, navigation }: any) {
   const [text, setText] = useState('');
   const [sending, setSending] = useState(false);
   const listRef = useRef<FlatList>(null);
+  const lastIdRef = useRef<number | null>(null);
 
+  // After the first page, only messages newer than the last one shown are
+  // fetched, so polling costs next to nothing on a metered connection.
   const loadMessages = useCallback(async () => {
     try {
-      const response = await api.get(`/conversations/${conversationId}/messages`);
-      setMessages(response.data);
+      let hasMore = true;
+      while (hasMore) {
+        const after = lastIdRef.current;
+        const response = await api.get(`/conversations/${conversationId}/messages`, {
+          params: after === null ? {} : { after },
+        });
+        const fetched: any[] = response.data;
+        if (fetched.length > 0) {
+          lastIdRef.current = fetched[fetched.length - 1].id;
+          // One call marks everything shown so far read, however many messages that is.
+          if (fetched.some((message) => message.senderId !== user?.id && !message.read)) {
+            api.patch(`/conversations/${conversationId}/read`, null, { params: { upTo: lastIdRef.current } }).catch(() => {});
+          }
+          setMessages((current) => (after === null ? fetched : appendNewer(current, fetched)));
+        }
+        hasMore = after !== null && response.headers['x-has-more'] === 'true';
+      }
     } catch (error) {
       console.error('Error loading messages:', error);
     } finally {
       setLoading(false);
     }
-  }, [conversationId]);
+  }, [conversationId, user?.id]);
 
   useEffect(() => {
+    lastIdRef.current = null;
     loadMessages();
     const interval = setInterval(loadMessages, 5000);
     return () => clearInterval(interval);
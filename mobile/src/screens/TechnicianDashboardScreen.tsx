@@ -14,6 +14,7 @@ import { Ionicons } from '@expo/vector-icons';
 import * as Location from 'expo-location';
 import { useAuth } from '../contexts/AuthContext';
 import api, { apiErrorMessage } from '../services/api';
+import { usePagedList } from '../hooks/usePagedList';
 import BiometricUnlockToggle from '../components/BiometricUnlockToggle';
 
 const STATUS_COLORS: Record<string, string> = {
@@ -30,8 +31,10 @@ export default function TechnicianDashboardScreen() {
   const { user, logout } = useAuth();
   const [tab, setTab] = useState<'jobs' | 'profile' | 'notifications'>('jobs');
   const [profile, setProfile] = useState<any>(null);
-  const [bookings, setBookings] = useState<any[]>([]);
-  const [notifications, setNotifications] = useState<any[]>([]);
+  const bookings = usePagedList<any>('/bookings/technician/my');
+  const notifications = usePagedList<any>('/notifications/my');
+  const { reload: reloadBookings } = bookings;
+  const { reload: reloadNotifications } = notifications;
   const [categories, setCategories] = useState<any[]>([]);
   const [offerings, setOfferings] = useState<any[]>([]);
   const [loading, setLoading] = useState(true);
@@ -68,14 +71,12 @@ export default function TechnicianDashboardScreen() {
     try {
       const technicianProfile = await ensureProfile();
       setProfile(technicianProfile);
-      const [bookingsResponse, notificationsResponse, categoriesResponse, offeringsResponse] = await Promise.all([
-        api.get('/bookings/technician/my'),
-        api.get('/notifications/my'),
+      const [categoriesResponse, offeringsResponse] = await Promise.all([
         api.get('/public/categories'),
         api.get('/technicians/me/services'),
+        reloadBookings(),
+        reloadNotifications(),
       ]);
-      setBookings(bookingsResponse.data);
-      setNotifications(notificationsResponse.data);
       setCategories(categoriesResponse.data);
       setOfferings(offeringsResponse.data);
       if (categoriesResponse.data.length > 0 && !serviceForm.categorySlug) {
@@ -88,7 +89,7 @@ export default function TechnicianDashboardScreen() {
       setRefreshing(false);
     }
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [ensureProfile]);
+  }, [ensureProfile, reloadBookings, reloadNotifications]);
 
   useEffect(() => {
     load();
@@ -202,7 +203,7 @@ export default function TechnicianDashboardScreen() {
         {(['jobs', 'profile', 'notifications'] as const).map((t) => (
           <TouchableOpacity key={t} style={[styles.tab, tab === t && styles.tabActive]} onPress={() => setTab(t)}>
             <Text style={[styles.tabText, tab === t && styles.tabTextActive]}>
-              {t === 'jobs' ? 'Jobs' : t === 'profile' ? 'Profile' : `Notifications${notifications.filter((n) => !n.read).length > 0 ? ` (${notifications.filter((n) => !n.read).length})` : ''}`}
+              {t === 'jobs' ? 'Jobs' : t === 'profile' ? 'Profile' : `Notifications${notifications.items.filter((n) => !n.read).length > 0 ? ` (${notifications.items.filter((n) => !n.read).length})` : ''}`}
             </Text>
           </TouchableOpacity>
         ))}
@@ -210,8 +211,9 @@ export default function TechnicianDashboardScreen() {
 
       {tab === 'jobs' && (
         <FlatList
-          data={bookings}
+          data={bookings.items}
           keyExtractor={(item) => String(item.id)}
+          onEndReached={bookings.loadMore}
           contentContainerStyle={{ padding: 16 }}
           refreshControl={<RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={['#1B8B4D']} />}
           ListEmptyComponent={<Text style={styles.emptyText}>No jobs yet. Add your services and location so customers can find you.</Text>}
@@ -255,8 +257,9 @@ export default function TechnicianDashboardScreen() {
 
       {tab === 'notifications' && (
         <FlatList
-          data={notifications}
+          data={notifications.items}
           keyExtractor={(item) => String(item.id)}
+          onEndReached={notifications.loadMore}
           contentContainerStyle={{ padding: 16 }}
           refreshControl={<RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={['#1B8B4D']} />}
           ListEmptyComponent={<Text style={styles.emptyText}>No notifications yet.</Text>}
@@ -15,6 +15,7 @@ import { Ionicons } from '@expo/vector-icons';
 import * as WebBrowser from 'expo-web-browser';
 import { useAuth } from '../contexts/AuthContext';
 import api, { apiErrorMessage } from '../services/api';
+import { usePagedList } from '../hooks/usePagedList';
 import BiometricUnlockToggle from '../components/BiometricUnlockToggle';
 
 const STATUS_COLORS: Record<string, string> = {
@@ -29,8 +30,10 @@ const STATUS_COLORS: Record<string, string> = {
 export default function UserDashboardScreen() {
   const { user, logout } = useAuth();
   const [tab, setTab] = useState<'bookings' | 'notifications'>('bookings');
-  const [bookings, setBookings] = useState<any[]>([]);
-  const [notifications, setNotifications] = useState<any[]>([]);
+  const bookings = usePagedList<any>('/bookings/my');
+  const notifications = usePagedList<any>('/notifications/my');
+  const { reload: reloadBookings } = bookings;
+  const { reload: reloadNotifications, setItems: setNotifications } = notifications;
   const [loading, setLoading] = useState(true);
   const [refreshing, setRefreshing] = useState(false);
   const [ratingBooking, setRatingBooking] = useState<any>(null);
@@ -39,19 +42,14 @@ export default function UserDashboardScreen() {
 
   const load = useCallback(async () => {
     try {
-      const [bookingsResponse, notificationsResponse] = await Promise.all([
-        api.get('/bookings/my'),
-        api.get('/notifications/my'),
-      ]);
-      setBookings(bookingsResponse.data);
-      setNotifications(notificationsResponse.data);
+      await Promise.all([reloadBookings(), reloadNotifications()]);
     } catch (error) {
       console.error('Error loading dashboard:', error);
     } finally {
       setLoading(false);
       setRefreshing(false);
     }
-  }, []);
+  }, [reloadBookings, reloadNotifications]);
 
   useEffect(() => {
     load();
@@ -163,15 +161,16 @@ export default function UserDashboardScreen() {
         </TouchableOpacity>
         <TouchableOpacity style={[styles.tab, tab === 'notifications' && styles.tabActive]} onPress={() => setTab('notifications')}>
           <Text style={[styles.tabText, tab === 'notifications' && styles.tabTextActive]}>
-            Notifications{notifications.filter((n) => !n.read).length > 0 ? ` (${notifications.filter((n) => !n.read).length})` : ''}
+            Notifications{notifications.items.filter((n) => !n.read).length > 0 ? ` (${notifications.items.filter((n) => !n.read).length})` : ''}
           </Text>
         </TouchableOpacity>
       </View>
 
       {tab === 'bookings' ? (
         <FlatList
-          data={bookings}
+          data={bookings.items}
           keyExtractor={(item) => String(item.id)}
+          onEndReached={bookings.loadMore}
           contentContainerStyle={{ padding: 16 }}
           refreshControl={<RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={['#1B8B4D']} />}
           ListEmptyComponent={<Text style={styles.emptyText}>No bookings yet. Find a technician to get started.</Text>}
@@ -208,8 +207,9 @@ export default function UserDashboardScreen() {
         />
       ) : (
         <FlatList
-          data={notifications}
+          data={notifications.items}
           keyExtractor={(item) => String(item.id)}
+          onEndReached={notifications.loadMore}
           contentContainerStyle={{ padding: 16 }}
           refreshControl={<RefreshControl refreshing={refreshing} onRefresh={onRefresh} colors={['#1B8B4D']} />}
           ListEmptyComponent={<Text style={styles.emptyText}>No notifications yet.</Text>}
@@ -0,0 +1,30 @@
+import { useState } from 'react';
+
+export default function LoadMoreButton({ hasMore, onLoadMore }: { hasMore: boolean; onLoadMore: () => Promise<void> }) {
+  const [loading, setLoading] = useState(false);
+
+  if (!hasMore) return null;
+
+  const handleClick = async () => {
+    setLoading(true);
+    try {
+      await onLoadMore();
+    } catch (err) {
+      console.error('Error loading more:', err);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  return (
+    <div className="mt-4 text-center">
+      <button
+        onClick={handleClick}
+        disabled={loading}
+        className="rounded-md bg-neutral-100 px-4 py-2 text-sm font-medium text-neutral-700 hover:bg-neutral-200 disabled:opacity-60"
+      >
+        {loading ? 'Loading...' : 'Load more'}
+      </button>
+    </div>
+  );
+}
@@ -42,4 +42,17 @@ export function apiErrorMessage(error: unknown, fallback: string): string {
   return axiosError?.response?.data?.message || fallback;
 }
 
+/** One page of a list endpoint, and the cursor for the next (null on the last page). */
+export interface Page<T> {
+  items: T[];
+  nextCursor: string | null;
+}
+
+// List endpoints return at most one page of rows (50 unless `size` says
+// otherwise) and carry the cursor for the next page in X-Next-Cursor.
+export async function getPage<T>(url: string, cursor?: string | null): Promise<Page<T>> {
+  const response = await api.get<T[]>(url, { params: cursor ? { cursor } : undefined });
+  return { items: response.data, nextCursor: response.headers?.['x-next-cursor'] ?? null };
+}
+
 export default api;
@@ -0,0 +1,26 @@
+import { useCallback, useState } from 'react';
+import { getPage } from './api';
+
+/**
+ * A paginated list endpoint's rows: reload() fetches the first page again,
+ * loadMore() appends the next one while nextCursor is set.
+ */
+export function usePagedList<T>(url: string) {
+  const [items, setItems] = useState<T[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+
+  const reload = useCallback(async () => {
+    const page = await getPage<T>(url);
+    setItems(page.items);
+    setNextCursor(page.nextCursor);
+  }, [url]);
+
+  const loadMore = useCallback(async () => {
+    if (!nextCursor) return;
+    const page = await getPage<T>(url, nextCursor);
+    setItems((prev) => [...prev, ...page.items]);
+    setNextCursor(page.nextCursor);
+  }, [url, nextCursor]);
+
+  return { items, setItems, nextCursor, reload, loadMore };
+}
@@ -1,5 +1,7 @@
 import { useCallback, useEffect, useState } from 'react';
+import LoadMoreButton from '../components/LoadMoreButton';
 import api, { apiErrorMessage } from '../lib/api';
+import { usePagedList } from '../lib/usePagedList';
 
 interface Stats {
   totalUsers: number;
@@ -72,36 +74,36 @@ const VERIFICATION_STATUSES = ['PENDING', 'VERIFIED', 'REJECTED', 'SUSPENDED'];
 export default function AdminDashboard() {
   const [tab, setTab] = useState<Tab>('overview');
   const [stats, setStats] = useState<Stats | null>(null);
-  const [users, setUsers] = useState<AdminUser[]>([]);
-  const [technicians, setTechnicians] = useState<AdminTechnician[]>([]);
-  const [bookings, setBookings] = useState<AdminBooking[]>([]);
-  const [ratings, setRatings] = useState<AdminRating[]>([]);
+  const users = usePagedList<AdminUser>('/admin/users');
+  const technicians = usePagedList<AdminTechnician>('/admin/technicians');
+  const bookings = usePagedList<AdminBooking>('/admin/bookings');
+  const ratings = usePagedList<AdminRating>('/admin/ratings');
+  const { reload: reloadUsers } = users;
+  const { reload: reloadTechnicians } = technicians;
+  const { reload: reloadBookings } = bookings;
+  const { reload: reloadRatings } = ratings;
   const [certifications, setCertifications] = useState<AdminCertification[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
 
   const load = useCallback(async () => {
     try {
-      const [statsRes, usersRes, techniciansRes, bookingsRes, ratingsRes, certificationsRes] = await Promise.all([
+      const [statsRes, certificationsRes] = await Promise.all([
         api.get('/admin/stats'),
-        api.get('/admin/users'),
-        api.get('/admin/technicians'),
-        api.get('/admin/bookings'),
-        api.get('/admin/ratings'),
         api.get('/admin/certifications'),
+        reloadUsers(),
+        reloadTechnicians(),
+        reloadBookings(),
+        reloadRatings(),
       ]);
       setStats(statsRes.data);
-      setUsers(usersRes.data);
-      setTechnicians(techniciansRes.data);
-      setBookings(bookingsRes.data);
-      setRatings(ratingsRes.data);
       setCertifications(certificationsRes.data);
     } catch (err) {
       console.error('Error loading admin dashboard:', err);
     } finally {
       setLoading(false);
     }
-  }, []);
+  }, [reloadUsers, reloadTechnicians, reloadBookings, reloadRatings]);
 
   useEffect(() => {
     load();
@@ -200,7 +202,7 @@ export default function AdminDashboard() {
               </tr>
             </thead>
             <tbody className="divide-y divide-neutral-100">
-              {users.map((u) => (
+              {users.items.map((u) => (
                 <tr key={u.id}>
                   <td className="px-4 py-3 font-medium text-neutral-900">{u.firstName} {u.lastName}</td>
                   <td className="px-4 py-3 text-neutral-600">{u.email}</td>
@@ -222,11 +224,12 @@ export default function AdminDashboard() {
                   </td>
                 </tr>
               ))}
-              {users.length === 0 && (
+              {users.items.length === 0 && (
                 <tr><td colSpan={5} className="px-4 py-6 text-center text-neutral-500">No users yet.</td></tr>
               )}
             </tbody>
           </table>
+          <LoadMoreButton hasMore={users.nextCursor != null} onLoadMore={users.loadMore} />
         </div>
       )}
 
@@ -243,7 +246,7 @@ export default function AdminDashboard() {
               </tr>
             </thead>
             <tbody className="divide-y divide-neutral-100">
-              {technicians.map((t) => (
+              {technicians.items.map((t) => (
                 <tr key={t.id}>
                   <td className="px-4 py-3 font-medium text-neutral-900">{t.firstName} {t.lastName}</td>
                   <td className="px-4 py-3 text-neutral-600">{t.technicianId}</td>
@@ -262,11 +265,12 @@ export default function AdminDashboard() {
                   </td>
                 </tr>
               ))}
-              {technicians.length === 0 && (
+              {technicians.items.length === 0 && (
                 <tr><td colSpan={5} className="px-4 py-6 text-center text-neutral-500">No technicians yet.</td></tr>
               )}
             </tbody>
           </table>
+          <LoadMoreButton hasMore={technicians.nextCursor != null} onLoadMore={technicians.loadMore} />
         </div>
       )}
 
@@ -284,7 +288,7 @@ export default function AdminDashboard() {
               </tr>
             </thead>
             <tbody className="divide-y divide-neutral-100">
-              {bookings.map((b) => (
+              {bookings.items.map((b) => (
                 <tr key={b.id}>
                   <td className="px-4 py-3 text-neutral-600">{b.bookingNumber}</td>
                   <td className="px-4 py-3 font-medium text-neutral-900">{b.customerName}</td>
@@ -294,17 +298,18 @@ export default function AdminDashboard() {
                   <td className="px-4 py-3 text-neutral-600">{b.paymentStatus}</td>
                 </tr>
               ))}
-              {bookings.length === 0 && (
+              {bookings.items.length === 0 && (
                 <tr><td colSpan={6} className="px-4 py-6 text-center text-neutral-500">No bookings yet.</td></tr>
               )}
             </tbody>
           </table>
+          <LoadMoreButton hasMore={bookings.nextCursor != null} onLoadMore={bookings.loadMore} />
         </div>
       )}
 
       {tab === 'reviews' && (
         <div className="mt-6 space-y-3">
-          {ratings.map((r) => (
+          {ratings.items.map((r) => (
             <div key={r.id} className="rounded-lg border border-neutral-200 bg-white p-4">
               <div className="flex items-center justify-between">
                 <p className="font-semibold text-neutral-900">
@@ -321,7 +326,8 @@ export default function AdminDashboard() {
               </button>
             </div>
           ))}
-          {ratings.length === 0 && <p className="text-neutral-500">No reviews yet.</p>}
+          {ratings.items.length === 0 && <p className="text-neutral-500">No reviews yet.</p>}
+          <LoadMoreButton hasMore={ratings.nextCursor != null} onLoadMore={ratings.loadMore} />
         </div>
       )}
 
@@ -7,6 +7,13 @@ interface Message {
   id: number;
   senderId: number;
   content: string;
+  read: boolean;
+}
+
+// Overlapping polls (say, one right after sending) may both return the same messages.
+function appendNewer(current: Message[], fetched: Message[]) {
+  const lastId = current.length > 0 ? current[current.length - 1].id : 0;
+  return [...current, ...fetched.filter((message) => message.id > lastId)];
 }
 
 export default function Conversation() {
@@ -17,16 +24,37 @@ export default function Conversation() {
   const [text, setText] = useState('');
   const [loading, setLoading] = useState(true);
   const bottomRef = useRef<HTMLDivElement>(null);
+  const lastIdRef = useRef<number | null>(null);
 
-  const load = useCallback(() => {
-    api
-      .get(`/conversations/${id}/messages`)
-      .then((res) => setMessages(res.data))
-      .catch((error) => console.error('Error loading messages:', error))
-      .finally(() => setLoading(false));
-  }, [id]);
+  // The first call loads the latest page; after that only messages newer than
+  // the last one shown are fetched and appended.
+  const load = useCallback(async () => {
+    try {
+      let hasMore = true;
+      while (hasMore) {
+        const after = lastIdRef.current;
+        const res = await api.get(`/conversations/${id}/messages`, { params: after === null ? {} : { after } });
+        const fetched: Message[] = res.data;
+        if (fetched.length > 0) {
+          lastIdRef.current = fetched[fetched.length - 1].id;
+          // One call marks everything shown so far read, however many messages that is.
+          if (fetched.some((message) => message.senderId !== user?.id && !message.read)) {
+            api.patch(`/conversations/${id}/read`, null, { params: { upTo: lastIdRef.current } }).catch(() => {});
+          }
+          setMessages((current) => (after === null ? fetched : appendNewer(current, fetched)));
+        }
+        hasMore = after !== null && res.headers['x-has-more'] === 'true';
+      }
+    } catch (error) {
+      console.error('Error loading messages:', error);
+    } finally {
+      setLoading(false);
+    }
+  }, [id, user?.id]);
 
   useEffect(() => {
+    lastIdRef.current = null;
+    setMessages([]);
     load();
     const interval = setInterval(load, 5000);
     return () => clearInterval(interval);
@@ -1,5 +1,7 @@
 import { useCallback, useEffect, useState } from 'react';
+import LoadMoreButton from '../components/LoadMoreButton';
 import api, { apiErrorMessage } from '../lib/api';
+import { usePagedList } from '../lib/usePagedList';
 import { useAuth } from '../contexts/AuthContext';
 
 interface Booking {
@@ -63,8 +65,10 @@ export default function TechnicianDashboard() {
   const { user } = useAuth();
   const [tab, setTab] = useState<'jobs' | 'profile' | 'portfolio' | 'notifications'>('jobs');
   const [profile, setProfile] = useState<any>(null);
-  const [bookings, setBookings] = useState<Booking[]>([]);
-  const [notifications, setNotifications] = useState<Notification[]>([]);
+  const bookings = usePagedList<Booking>('/bookings/technician/my');
+  const notifications = usePagedList<Notification>('/notifications/my');
+  const { reload: reloadBookings } = bookings;
+  const { reload: reloadNotifications } = notifications;
   const [categories, setCategories] = useState<Category[]>([]);
   const [offerings, setOfferings] = useState<Offering[]>([]);
   const [portfolio, setPortfolio] = useState<PortfolioItem[]>([]);
@@ -105,16 +109,14 @@ export default function TechnicianDashboard() {
     try {
       const technicianProfile = await ensureProfile();
       setProfile(technicianProfile);
-      const [bookingsRes, notificationsRes, categoriesRes, offeringsRes, portfolioRes, certificationsRes] = await Promise.all([
-        api.get('/bookings/technician/my'),
-        api.get('/notifications/my'),
+      const [categoriesRes, offeringsRes, portfolioRes, certificationsRes] = await Promise.all([
         api.get('/public/categories'),
         api.get('/technicians/me/services'),
         api.get(`/technicians/${technicianProfile.id}/portfolio`),
         api.get(`/technicians/${technicianProfile.id}/certifications`),
+        reloadBookings(),
+        reloadNotifications(),
       ]);
-      setBookings(bookingsRes.data);
-      setNotifications(notificationsRes.data);
       setCategories(categoriesRes.data);
       setOfferings(offeringsRes.data);
       setPortfolio(portfolioRes.data);
@@ -126,7 +128,7 @@ export default function TechnicianDashboard() {
     } finally {
       setLoading(false);
     }
-  }, [ensureProfile]);
+  }, [ensureProfile, reloadBookings, reloadNotifications]);
 
   useEffect(() => {
     load();
@@ -246,7 +248,7 @@ export default function TechnicianDashboard() {
     }
   };
 
-  const unreadCount = notifications.filter((n) => !n.read).length;
+  const unreadCount = notifications.items.filter((n) => !n.read).length;
 
   if (loading) return <p className="p-10 text-center text-neutral-500">Loading...</p>;
 
@@ -270,8 +272,8 @@ export default function TechnicianDashboard() {
 
       {tab === 'jobs' && (
         <div className="mt-6 space-y-3">
-          {bookings.length === 0 && <p className="text-neutral-500">No jobs yet. Add your services and location so customers can find you.</p>}
-          {bookings.map((booking) => (
+          {bookings.items.length === 0 && <p className="text-neutral-500">No jobs yet. Add your services and location so customers can find you.</p>}
+          {bookings.items.map((booking) => (
             <div key={booking.id} className="rounded-lg border border-neutral-200 bg-white p-4">
               <div className="flex items-center justify-between">
                 <span className="text-xs text-neutral-400">{booking.bookingNumber}</span>
@@ -300,18 +302,20 @@ export default function TechnicianDashboard() {
               </div>
             </div>
           ))}
+          <LoadMoreButton hasMore={bookings.nextCursor != null} onLoadMore={bookings.loadMore} />
         </div>
       )}
 
       {tab === 'notifications' && (
         <div className="mt-6 space-y-3">
-          {notifications.length === 0 && <p className="text-neutral-500">No notifications yet.</p>}
-          {notifications.map((notification) => (
+          {notifications.items.length === 0 && <p className="text-neutral-500">No notifications yet.</p>}
+          {notifications.items.map((notification) => (
             <div key={notification.id} className={`rounded-lg border p-4 ${notification.read ? 'border-neutral-200 bg-white' : 'border-emerald-600 bg-emerald-50'}`}>
               <p className="font-semibold text-neutral-900">{notification.title}</p>
               <p className="text-sm text-neutral-600">{notification.message}</p>
             </div>
           ))}
+          <LoadMoreButton hasMore={notifications.nextCursor != null} onLoadMore={notifications.loadMore} />
         </div>
       )}
 
@@ -1,5 +1,7 @@
 import { useCallback, useEffect, useState } from 'react';
+import LoadMoreButton from '../components/LoadMoreButton';
 import api, { apiErrorMessage } from '../lib/api';
+import { usePagedList } from '../lib/usePagedList';
 
 interface Booking {
   id: number;
@@ -29,8 +31,10 @@ const STATUS_COLORS: Record<string, string> = {
 
 export default function UserDashboard() {
   const [tab, setTab] = useState<'bookings' | 'notifications'>('bookings');
-  const [bookings, setBookings] = useState<Booking[]>([]);
-  const [notifications, setNotifications] = useState<Notification[]>([]);
+  const bookings = usePagedList<Booking>('/bookings/my');
+  const notifications = usePagedList<Notification>('/notifications/my');
+  const { reload: reloadBookings } = bookings;
+  const { reload: reloadNotifications, setItems: setNotifications } = notifications;
   const [loading, setLoading] = useState(true);
   const [ratingBooking, setRatingBooking] = useState<Booking | null>(null);
   const [ratingValue, setRatingValue] = useState(5);
@@ -38,13 +42,9 @@ export default function UserDashboard() {
   const [error, setError] = useState('');
 
   const load = useCallback(() => {
-    Promise.all([api.get('/bookings/my'), api.get('/notifications/my')])
-      .then(([bookingsRes, notificationsRes]) => {
-        setBookings(bookingsRes.data);
-        setNotifications(notificationsRes.data);
-      })
+    Promise.all([reloadBookings(), reloadNotifications()])
       .finally(() => setLoading(false));
-  }, []);
+  }, [reloadBookings, reloadNotifications]);
 
   useEffect(() => {
     load();
@@ -98,7 +98,7 @@ export default function UserDashboard() {
     setNotifications((prev) => prev.map((n) => (n.id === notificationId ? { ...n, read: true } : n)));
   };
 
-  const unreadCount = notifications.filter((n) => !n.read).length;
+  const unreadCount = notifications.items.filter((n) => !n.read).length;
 
   if (loading) return <p className="p-10 text-center text-neutral-500">Loading...</p>;
 
@@ -119,8 +119,8 @@ export default function UserDashboard() {
 
       {tab === 'bookings' ? (
         <div className="mt-6 space-y-3">
-          {bookings.length === 0 && <p className="text-neutral-500">No bookings yet. Find a technician to get started.</p>}
-          {bookings.map((booking) => (
+          {bookings.items.length === 0 && <p className="text-neutral-500">No bookings yet. Find a technician to get started.</p>}
+          {bookings.items.map((booking) => (
             <div key={booking.id} className="rounded-lg border border-neutral-200 bg-white p-4">
               <div className="flex items-center justify-between">
                 <span className="text-xs text-neutral-400">{booking.bookingNumber}</span>
@@ -152,11 +152,12 @@ export default function UserDashboard() {
               </div>
             </div>
           ))}
+          <LoadMoreButton hasMore={bookings.nextCursor != null} onLoadMore={bookings.loadMore} />
         </div>
       ) : (
         <div className="mt-6 space-y-3">
-          {notifications.length === 0 && <p className="text-neutral-500">No notifications yet.</p>}
-          {notifications.map((notification) => (
+          {notifications.items.length === 0 && <p className="text-neutral-500">No notifications yet.</p>}
+          {notifications.items.map((notification) => (
             <button
               key={notification.id}
               onClick={() => !notification.read && markRead(notification.id)}
@@ -166,6 +167,7 @@ export default function UserDashboard() {
               <p className="text-sm text-neutral-600">{notification.message}</p>
             </button>
           ))}
+          <LoadMoreButton hasMore={notifications.nextCursor != null} onLoadMore={notifications.loadMore} />
         </div>
       )}
 